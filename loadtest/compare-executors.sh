@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# 같은 JVM(Java 21 이상)에서 플랫폼 스레드(기본)와 가상 스레드(virtual 프로필)로 각각 기동해
+# /accounts/use 부하 테스트 결과(RPS, p99)를 비교하고 loadtest/results/executor-comparison.md 에 남긴다.
+# 필요: java 21+, k6, jq, 로컬 Redis(6379)
+#   ./loadtest/compare-executors.sh
+#   VUS=5000 DURATION=120s ./loadtest/compare-executors.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+OUT=build/reports/loadtest
+BASE_URL=${BASE_URL:-http://localhost:8080}
+mkdir -p "$OUT"
+
+./gradlew -q bootJar
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)
+
+run() {
+    local name=$1
+    local profile=$2
+    java -Djdk.tracePinnedThreads=short -jar "$JAR" --spring.profiles.active="$profile" \
+        --spring.jpa.show-sql=false > "$OUT/$name-app.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+
+    until curl -sf "$BASE_URL/actuator/health" > /dev/null; do
+        sleep 1
+    done
+
+    k6 run -e BASE_URL="$BASE_URL" -e VUS="${VUS:-5000}" -e DURATION="${DURATION:-60s}" \
+        --summary-export="$OUT/$name.json" loadtest/use-balance.js
+
+    kill "$pid"
+    wait "$pid" || true
+    trap - EXIT
+}
+
+run platform default
+run virtual virtual
+
+RESULT=loadtest/results/executor-comparison.md
+{
+    echo "# 플랫폼 스레드 / 가상 스레드 /accounts/use 비교"
+    echo
+    echo "- commit: $(git rev-parse --short HEAD)"
+    echo "- 측정일: $(date -u +%Y-%m-%dT%H:%MZ)"
+    echo "- JVM: $(java -version 2>&1 | head -n 1)"
+    echo "- CPU: $(nproc) cores, VUS=${VUS:-5000}, DURATION=${DURATION:-60s}"
+    echo
+    echo "| executor | req/s | p99(ms) | failed | pinned |"
+    echo "|---|---:|---:|---:|---:|"
+    for name in platform virtual; do
+        # -Djdk.tracePinnedThreads=short 는 고정될 때마다 VirtualThread 스택을 남긴다
+        pinned=$(grep -c 'VirtualThread' "$OUT/$name-app.log" || true)
+        jq -r --arg name "$name" --arg pinned "$pinned" \
+            '"| \($name) | \(.metrics.http_reqs.rate | floor) | \(.metrics.http_req_duration["p(99)"] | . * 10 | floor / 10) | \(.metrics.http_req_failed.value * 100 | floor)% | \($pinned) |"' \
+            "$OUT/$name.json"
+    done
+} > "$RESULT"
+
+cat "$RESULT"
+# 고정을 일으킨 프레임(의존성 포함)을 모아 pinning-audit.txt 갱신
+./loadtest/pinning-audit.sh > /dev/null
+echo "고정(pinning) 프레임: loadtest/results/pinning-audit.txt"
@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# 가상 스레드 고정(pinning) 점검: 모니터(synchronized, wait/notify, ConcurrentHashMap.compute* 의 버킷 락) 안에서
+# 블로킹하면 carrier 스레드가 고정된다 (Java 21).
+# 1) 우리 코드 정적 점검: 모니터 사용, 모니터 안의 I/O, 블로킹 지점
+# 2) 의존성(H2, HikariCP, Lettuce, MySQL Connector/J 등) 포함 실행 점검: compare-executors.sh 가 virtual 프로필을
+#    -Djdk.tracePinnedThreads=short 로 부하를 주며 남긴 로그에서 고정을 일으킨 프레임(<== monitors)을 모은다.
+# 결과는 loadtest/results/pinning-audit.txt 에 남긴다.
+#   ./loadtest/compare-executors.sh && ./loadtest/pinning-audit.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+OUT=loadtest/results/pinning-audit.txt
+TRACE_LOG=${TRACE_LOG:-build/reports/loadtest/virtual-app.log}
+mkdir -p "$(dirname "$OUT")"
+
+section() {
+    local title=$1
+    shift
+    echo "## $title"
+    echo "\$ $*"
+    "$@" || echo "(없음)"
+    echo
+}
+
+# 고정을 일으킨 프레임별 횟수 (라이브러리별로 묶어 보기 쉽게 패키지 순 정렬)
+pinned_frames() {
+    if [ ! -s "$TRACE_LOG" ]; then
+        echo "(실행 기록 없음: Java 21 환경에서 ./loadtest/compare-executors.sh 를 실행한 뒤 다시 실행)"
+        return 0
+    fi
+    grep '<== monitors' "$TRACE_LOG" | sed -E 's/^[[:space:]]+//' | sort | uniq -c | sort -k2 || echo "(고정 없음)"
+}
+
+{
+    echo "# 가상 스레드 고정(pinning) 점검"
+    # 점검 대상(src/main/java)을 마지막으로 바꾼 커밋 (이후 커밋이 src/main/java 를 바꾸면 다시 실행)
+    echo "src/main/java commit: $(git log -1 --format=%h -- src/main/java)"
+    if [ -n "$(git status --porcelain -- src/main/java)" ]; then
+        echo "커밋하지 않은 변경 포함: $(git status --porcelain -- src/main/java | awk '{print $2}' | tr '\n' ' ')"
+    fi
+    echo
+    echo "# 1. 우리 코드 (정적)"
+    echo
+    section "synchronized 메서드/블록" grep -rn "synchronized" src/main/java
+    section "Object.wait / notify" grep -rnE "\.wait\(|\.notify(All)?\(" src/main/java
+    section "ConcurrentHashMap compute/merge 람다 안의 DB·Redis 호출 (버킷 락을 잡은 채 I/O)" \
+        grep -rnE "\.(computeIfAbsent|computeIfPresent|compute|merge)\(.*(Template|Repository|redis|execute\()" src/main/java
+    section "ConcurrentHashMap compute/merge 사용 지점 (람다가 메모리 연산만 하는지 확인용)" \
+        grep -rnE "\.(computeIfAbsent|computeIfPresent|compute|merge)\(" src/main/java
+    section "블로킹 지점 (ReentrantLock, BlockingQueue, Thread.sleep, 고정되지 않음)" \
+        grep -rnE "ReentrantLock|BlockingQueue<|Thread\.sleep" src/main/java
+    echo "# 2. 의존성 포함 실행 점검 (-Djdk.tracePinnedThreads=short, virtual 프로필 부하)"
+    echo
+    echo "## 고정을 일으킨 프레임 (횟수, 프레임)"
+    echo "\$ grep '<== monitors' $TRACE_LOG | sort | uniq -c"
+    pinned_frames
+} > "$OUT"
+
+cat "$OUT"
@@ -0,0 +1,50 @@
+// /accounts/use 부하 테스트 (k6)
+//   k6 run loadtest/use-balance.js
+//   k6 run -e VUS=5000 -e DURATION=60s --summary-export=result.json loadtest/use-balance.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = Number(__ENV.VUS || 5000);
+const DURATION = __ENV.DURATION || '60s';
+// DataInitializer 가 만드는 사용자 (사용자당 계좌는 최대 10개)
+const USER_IDS = (__ENV.USER_IDS || '1,2').split(',').map(Number);
+const ACCOUNTS_PER_USER = Number(__ENV.ACCOUNTS_PER_USER || 10);
+
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+    scenarios: {
+        use: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+// 테스트용 계좌를 잔액을 충분히 채워 생성
+export function setup() {
+    const accounts = [];
+    for (const userId of USER_IDS) {
+        for (let i = 0; i < ACCOUNTS_PER_USER; i++) {
+            const res = http.post(`${BASE_URL}/accounts/createAccount`,
+                JSON.stringify({ userId, initialBalance: 1000000000000000 }), JSON_HEADERS);
+            if (res.status === 200) {
+                accounts.push({ userId, accountNumber: res.json('accountNumber') });
+            }
+        }
+    }
+    if (accounts.length === 0) {
+        throw new Error('테스트 계좌를 생성하지 못했습니다.');
+    }
+    return { accounts };
+}
+
+export default function (data) {
+    const account = data.accounts[(__VU + __ITER) % data.accounts.length];
+    const res = http.post(`${BASE_URL}/accounts/use`,
+        JSON.stringify({ userId: account.userId, accountNumber: account.accountNumber, amount: 1 }), JSON_HEADERS);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
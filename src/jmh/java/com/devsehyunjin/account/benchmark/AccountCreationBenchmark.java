@@ -0,0 +1,115 @@
+package com.devsehyunjin.account.benchmark;
+
+import com.devsehyunjin.account.AccountSystemSpringbootApplication;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.CreateAccountResponse;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountNumberAllocator;
+import com.devsehyunjin.account.service.AccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 계좌 수에 따른 createAccount 지연 시간.
+ * 계좌번호 발급에 중복 확인 쿼리가 없으므로 계좌 수가 늘어도 지연 시간이 일정해야 한다.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountCreationBenchmark {
+
+    private static final int MAX_ACCOUNTS_PER_USER = 10;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    // 시퀀스로 발급되는 ID와 겹치지 않도록 충분히 큰 값에서 시작
+    private static final long SEED_ID_OFFSET = 1_000_000_000_000L;
+
+    @Param({"0", "100000", "1000000"})
+    public int existingAccounts;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private UserRepository userRepository;
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AccountSystemSpringbootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        accountService = context.getBean(AccountService.class);
+        userRepository = context.getBean(UserRepository.class);
+        accountNumberAllocator = context.getBean(AccountNumberAllocator.class);
+        seedAccounts(context.getBean(JdbcTemplate.class), accountNumberAllocator);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // 발급기로 번호를 받아 기존 계좌를 JDBC 배치로 채움
+    private void seedAccounts(JdbcTemplate jdbcTemplate, AccountNumberAllocator allocator) {
+        int userCount = (existingAccounts + MAX_ACCOUNTS_PER_USER - 1) / MAX_ACCOUNTS_PER_USER;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> users = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < userCount; i++) {
+            users.add(new Object[]{SEED_ID_OFFSET + i, "seed", now});
+            if (users.size() == INSERT_BATCH_SIZE || i == userCount - 1) {
+                jdbcTemplate.batchUpdate("insert into users (id, name, created_at) values (?, ?, ?)", users);
+                users.clear();
+            }
+        }
+
+        List<Object[]> accounts = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < existingAccounts; i++) {
+            accounts.add(new Object[]{SEED_ID_OFFSET + i, allocator.allocate(),
+                    SEED_ID_OFFSET + i / MAX_ACCOUNTS_PER_USER, 0L, false, now, 0, 0L});
+            if (accounts.size() == INSERT_BATCH_SIZE || i == existingAccounts - 1) {
+                jdbcTemplate.batchUpdate("insert into account (id, account_number, user_id, balance, is_deleted, created_at, status, version, fence_token) " +
+                        "values (?, ?, ?, ?, ?, ?, ?, ?, 0)", accounts);
+                accounts.clear();
+            }
+        }
+    }
+
+    // 계좌 생성용 사용자: 계좌 한도(10개)에 도달하면 새 사용자로 교체
+    @State(Scope.Thread)
+    public static class AccountOwner {
+        Long userId;
+        int createdAccounts = MAX_ACCOUNTS_PER_USER;
+
+        @Setup(Level.Invocation)
+        public void setUp(AccountCreationBenchmark benchmark) {
+            if (createdAccounts == MAX_ACCOUNTS_PER_USER) {
+                userId = benchmark.userRepository.save(new User("benchmark")).getId();
+                createdAccounts = 0;
+            }
+            createdAccounts++;
+        }
+    }
+
+    @Benchmark
+    public CreateAccountResponse createAccount(AccountOwner owner) {
+        return accountService.createAccount(new CreateAccountRequest(owner.userId, 0L));
+    }
+
+    @Benchmark
+    public String allocateAccountNumber() {
+        return accountNumberAllocator.allocate();
+    }
+}
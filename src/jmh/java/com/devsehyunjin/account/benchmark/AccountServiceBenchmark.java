@@ -0,0 +1,148 @@
+package com.devsehyunjin.account.benchmark;
+
+import com.devsehyunjin.account.AccountSystemSpringbootApplication;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.*;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AccountService 주요 경로 벤치마크 (application.yml 의 H2 데이터소스 사용).
+ * HOT: 모든 스레드가 한 계좌에 몰림, SPREAD: 스레드마다 서로 다른 계좌 사용.
+ * 스레드 수는 ./gradlew jmh 가 1, 8, 64로 바꿔가며 실행한다.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountServiceBenchmark {
+
+    private static final int ACCOUNT_COUNT = 64;
+    private static final int MAX_ACCOUNTS_PER_USER = 10;
+    private static final long INITIAL_BALANCE = 1_000_000_000_000_000L;
+
+    @Param({"HOT", "SPREAD"})
+    public String distribution;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private UserRepository userRepository;
+
+    private final List<Long> accountUserIds = new ArrayList<>();
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(AccountSystemSpringbootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        accountService = context.getBean(AccountService.class);
+        userRepository = context.getBean(UserRepository.class);
+
+        Long userId = null;
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            if (i % MAX_ACCOUNTS_PER_USER == 0) {
+                userId = newUser();
+            }
+            accountUserIds.add(userId);
+            accountNumbers.add(accountService.createAccount(new CreateAccountRequest(userId, INITIAL_BALANCE))
+                    .getAccountNumber());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    Long newUser() {
+        return userRepository.save(new User("benchmark")).getId();
+    }
+
+    // 스레드별 대상 계좌
+    @State(Scope.Thread)
+    public static class TargetAccount {
+        Long userId;
+        String accountNumber;
+        Long transactionId;
+
+        @Setup(Level.Trial)
+        public void setUp(AccountServiceBenchmark benchmark, ThreadParams threadParams) {
+            int index = "HOT".equals(benchmark.distribution)
+                    ? 0
+                    : threadParams.getThreadIndex() % ACCOUNT_COUNT;
+            userId = benchmark.accountUserIds.get(index);
+            accountNumber = benchmark.accountNumbers.get(index);
+            transactionId = benchmark.accountService
+                    .useBalance(new TransactionRequest(userId, accountNumber, 1L))
+                    .getTransactionId();
+        }
+    }
+
+    // 취소 대상 거래를 호출마다 새로 만든다 (측정 시간에는 포함되지 않음)
+    @State(Scope.Thread)
+    public static class CancelTarget {
+        Long transactionId;
+
+        @Setup(Level.Invocation)
+        public void setUp(AccountServiceBenchmark benchmark, TargetAccount target) {
+            transactionId = benchmark.accountService
+                    .useBalance(new TransactionRequest(target.userId, target.accountNumber, 1L))
+                    .getTransactionId();
+        }
+    }
+
+    // 계좌 생성용 사용자: 계좌 한도(10개)에 도달하면 새 사용자로 교체
+    @State(Scope.Thread)
+    public static class AccountOwner {
+        Long userId;
+        int createdAccounts = MAX_ACCOUNTS_PER_USER;
+
+        @Setup(Level.Invocation)
+        public void setUp(AccountServiceBenchmark benchmark) {
+            if (createdAccounts == MAX_ACCOUNTS_PER_USER) {
+                userId = benchmark.newUser();
+                createdAccounts = 0;
+            }
+            createdAccounts++;
+        }
+    }
+
+    @Benchmark
+    public TransactionResponse useBalance(TargetAccount target) {
+        return accountService.useBalance(new TransactionRequest(target.userId, target.accountNumber, 1L));
+    }
+
+    @Benchmark
+    public TransactionResponse cancelBalance(TargetAccount target, CancelTarget cancelTarget) {
+        return accountService.cancelBalance(
+                new CancelTransactionRequest(cancelTarget.transactionId, target.accountNumber, 1L));
+    }
+
+    @Benchmark
+    public List<CheckAccountResponse> getUserAccounts(TargetAccount target) {
+        return accountService.getUserAccounts(target.userId);
+    }
+
+    @Benchmark
+    public TransactionResponse getTransaction(TargetAccount target) {
+        return accountService.getTransaction(target.transactionId);
+    }
+
+    @Benchmark
+    public CreateAccountResponse createAccount(AccountOwner owner) {
+        return accountService.createAccount(new CreateAccountRequest(owner.userId, 0L));
+    }
+}
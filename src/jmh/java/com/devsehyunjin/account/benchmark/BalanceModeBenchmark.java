@@ -0,0 +1,116 @@
+package com.devsehyunjin.account.benchmark;
+
+import com.devsehyunjin.account.AccountSystemSpringbootApplication;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountService;
+import com.devsehyunjin.account.service.TransactionFacade;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.embedded.RedisServer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔액 저장소별 잔액 사용 처리량과 응답 시간 분포(SampleTime 의 p99) 비교.
+ * database: 요청마다 DB 트랜잭션 (낙관적 락), hot-ledger: 메모리 원장 + 쓰기 지연, redis: Redis Lua 스크립트 + 쓰기 지연.
+ * HOT: 모든 스레드가 한 계좌에 몰림, SPREAD: 스레드마다 서로 다른 계좌 사용.
+ * redis, hot-ledger(인스턴스 리스) 모드는 벤치마크 안에서 임베디드 Redis 를 띄운다.
+ *   ./gradlew jmh -Pjmh.include=BalanceModeBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BalanceModeBenchmark {
+
+    private static final int ACCOUNT_COUNT = 64;
+    private static final int MAX_ACCOUNTS_PER_USER = 10;
+    private static final long INITIAL_BALANCE = 1_000_000_000_000_000L;
+
+    private static final int REDIS_PORT = 16390;
+
+    @Param({"database", "hot-ledger", "redis"})
+    public String mode;
+
+    @Param({"HOT", "SPREAD"})
+    public String distribution;
+
+    private RedisServer redisServer;
+    private ConfigurableApplicationContext context;
+    private TransactionFacade transactionFacade;
+
+    private final List<Long> accountUserIds = new ArrayList<>();
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        if (!"database".equals(mode)) {
+            redisServer = new RedisServer(REDIS_PORT);
+            redisServer.start();
+        }
+        context = new SpringApplicationBuilder(AccountSystemSpringbootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "account.snapshot.cron=-",
+                        "account.outbox.relay.enabled=false",
+                        "account.balance.mode=" + mode,
+                        "spring.data.redis.port=" + REDIS_PORT,
+                        // database 모드는 Redis 락 없이 낙관적 락 (HOT 분포에서 재시도 소진이 없도록 넉넉하게)
+                        "account.concurrency.mode=optimistic",
+                        "account.concurrency.retry.max-attempts=100")
+                .run();
+        transactionFacade = context.getBean(TransactionFacade.class);
+        AccountService accountService = context.getBean(AccountService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+
+        Long userId = null;
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            if (i % MAX_ACCOUNTS_PER_USER == 0) {
+                userId = userRepository.save(new User("benchmark")).getId();
+            }
+            accountUserIds.add(userId);
+            accountNumbers.add(accountService.createAccount(new CreateAccountRequest(userId, INITIAL_BALANCE))
+                    .getAccountNumber());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    // 스레드별 대상 계좌
+    @State(Scope.Thread)
+    public static class TargetAccount {
+        Long userId;
+        String accountNumber;
+
+        @Setup(Level.Trial)
+        public void setUp(BalanceModeBenchmark benchmark, ThreadParams threadParams) {
+            int index = "HOT".equals(benchmark.distribution)
+                    ? 0
+                    : threadParams.getThreadIndex() % ACCOUNT_COUNT;
+            userId = benchmark.accountUserIds.get(index);
+            accountNumber = benchmark.accountNumbers.get(index);
+        }
+    }
+
+    @Benchmark
+    public TransactionResponse useBalance(TargetAccount target) {
+        return transactionFacade.useBalance(new TransactionRequest(target.userId, target.accountNumber, 1L));
+    }
+}
@@ -0,0 +1,101 @@
+package com.devsehyunjin.account.benchmark;
+
+import com.devsehyunjin.account.AccountSystemSpringbootApplication;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountService;
+import com.devsehyunjin.account.service.TransactionFacade;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시성 제어 방식별 잔액 사용 처리량 비교: 낙관적 락(@Version + 재시도) vs SELECT ... FOR UPDATE.
+ * HOT: 모든 스레드가 한 계좌에 몰림 (충돌 최대), SPREAD: 스레드마다 서로 다른 계좌 사용 (충돌 없음).
+ * lock 모드는 Redis 가 필요하므로 여기서는 비교하지 않는다.
+ *   ./gradlew jmh -Pjmh.include=ConcurrencyModeBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrencyModeBenchmark {
+
+    private static final int ACCOUNT_COUNT = 64;
+    private static final int MAX_ACCOUNTS_PER_USER = 10;
+    private static final long INITIAL_BALANCE = 1_000_000_000_000_000L;
+
+    @Param({"optimistic", "pessimistic"})
+    public String mode;
+
+    @Param({"HOT", "SPREAD"})
+    public String distribution;
+
+    private ConfigurableApplicationContext context;
+    private TransactionFacade transactionFacade;
+
+    private final List<Long> accountUserIds = new ArrayList<>();
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(AccountSystemSpringbootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "account.snapshot.cron=-",
+                        "account.concurrency.mode=" + mode,
+                        // HOT 분포에서 재시도 소진으로 인한 실패가 처리량을 왜곡하지 않도록 넉넉하게
+                        "account.concurrency.retry.max-attempts=100")
+                .run();
+        transactionFacade = context.getBean(TransactionFacade.class);
+        AccountService accountService = context.getBean(AccountService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+
+        Long userId = null;
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            if (i % MAX_ACCOUNTS_PER_USER == 0) {
+                userId = userRepository.save(new User("benchmark")).getId();
+            }
+            accountUserIds.add(userId);
+            accountNumbers.add(accountService.createAccount(new CreateAccountRequest(userId, INITIAL_BALANCE))
+                    .getAccountNumber());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    // 스레드별 대상 계좌
+    @State(Scope.Thread)
+    public static class TargetAccount {
+        Long userId;
+        String accountNumber;
+
+        @Setup(Level.Trial)
+        public void setUp(ConcurrencyModeBenchmark benchmark, ThreadParams threadParams) {
+            int index = "HOT".equals(benchmark.distribution)
+                    ? 0
+                    : threadParams.getThreadIndex() % ACCOUNT_COUNT;
+            userId = benchmark.accountUserIds.get(index);
+            accountNumber = benchmark.accountNumbers.get(index);
+        }
+    }
+
+    @Benchmark
+    public TransactionResponse useBalance(TargetAccount target) {
+        return transactionFacade.useBalance(new TransactionRequest(target.userId, target.accountNumber, 1L));
+    }
+}
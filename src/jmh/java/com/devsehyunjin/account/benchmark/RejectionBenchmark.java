@@ -0,0 +1,94 @@
+package com.devsehyunjin.account.benchmark;
+
+import com.devsehyunjin.account.AccountSystemSpringbootApplication;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업무 거절(잔액 부족) 경로의 할당량 비교. 할당량은 GC 프로파일러로 확인한다.
+ *   ./gradlew jmhThreads1 -Pjmh.include=RejectionBenchmark -Pjmh.prof=gc   (gc.alloc.rate.norm = 호출당 바이트)
+ *
+ * legacyRejection: 이전 방식 (호출마다 new RuntimeException, 호출 깊이만큼 스택 트레이스 수집)
+ * typedRejection: ErrorCode 의 미리 만든 스택 없는 예외
+ * useBalanceRejected: 실제 AccountService 잔액 부족 경로 전체
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RejectionBenchmark {
+
+    // 컨트롤러 → 프록시 → 서비스까지의 호출 깊이를 흉내
+    @Param({"20", "120"})
+    public int depth;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private TransactionRequest rejectedRequest;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(AccountSystemSpringbootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        accountService = context.getBean(AccountService.class);
+        Long userId = context.getBean(UserRepository.class).save(new User("benchmark")).getId();
+        String accountNumber = accountService.createAccount(new CreateAccountRequest(userId, 0L)).getAccountNumber();
+        rejectedRequest = new TransactionRequest(userId, accountNumber, 1_000L);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object legacyRejection() {
+        try {
+            return throwAt(depth, false);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object typedRejection() {
+        try {
+            return throwAt(depth, true);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object useBalanceRejected() {
+        try {
+            return accountService.useBalance(rejectedRequest);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static Object throwAt(int remaining, boolean typed) {
+        if (remaining > 0) {
+            return throwAt(remaining - 1, typed);
+        }
+        if (typed) {
+            throw ErrorCode.INSUFFICIENT_BALANCE.exception();
+        }
+        throw new RuntimeException("잔액이 부족합니다.");
+    }
+}
@@ -0,0 +1,110 @@
+package com.devsehyunjin.account.benchmark;
+
+import com.devsehyunjin.account.AccountSystemSpringbootApplication;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.CheckAccountResponse;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountService;
+import com.devsehyunjin.account.service.TransactionFacade;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 샤드 수별 처리량 비교.
+ * useBalance: 스레드마다 서로 다른 계좌를 사용하므로 샤드가 늘면 DB 하나에 몰리던 쓰기가 나뉜다.
+ * getUserAccounts: 사용자의 계좌가 여러 샤드에 흩어져 있어 샤드 수만큼 조회가 늘어나는 비용.
+ * 샤드는 각각 별도의 H2 인메모리 DB 와 커넥션 풀을 사용한다.
+ *   ./gradlew jmh -Pjmh.include=ShardingBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShardingBenchmark {
+
+    private static final int ACCOUNT_COUNT = 64;
+    private static final int MAX_ACCOUNTS_PER_USER = 10;
+    private static final long INITIAL_BALANCE = 1_000_000_000_000_000L;
+
+    @Param({"1", "2", "4"})
+    public int shards;
+
+    private ConfigurableApplicationContext context;
+    private TransactionFacade transactionFacade;
+    private AccountService accountService;
+
+    private final List<Long> accountUserIds = new ArrayList<>();
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        List<String> shardUrls = new ArrayList<>();
+        for (int shard = 1; shard < shards; shard++) {
+            shardUrls.add("jdbc:h2:mem:benchmark_shard" + shard + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        }
+
+        context = new SpringApplicationBuilder(AccountSystemSpringbootApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "account.snapshot.cron=-",
+                        "account.outbox.relay.enabled=false",
+                        // 샤드 간 비교만 보기 위해 Redis 락 대신 낙관적 락 사용
+                        "account.concurrency.mode=optimistic",
+                        "account.sharding.shard-urls=" + String.join(",", shardUrls))
+                .run();
+        transactionFacade = context.getBean(TransactionFacade.class);
+        accountService = context.getBean(AccountService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+
+        Long userId = null;
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            if (i % MAX_ACCOUNTS_PER_USER == 0) {
+                userId = userRepository.save(new User("benchmark")).getId();
+            }
+            accountUserIds.add(userId);
+            accountNumbers.add(accountService.createAccount(new CreateAccountRequest(userId, INITIAL_BALANCE))
+                    .getAccountNumber());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    // 스레드별 대상 계좌
+    @State(Scope.Thread)
+    public static class TargetAccount {
+        Long userId;
+        String accountNumber;
+
+        @Setup(Level.Trial)
+        public void setUp(ShardingBenchmark benchmark, ThreadParams threadParams) {
+            int index = threadParams.getThreadIndex() % ACCOUNT_COUNT;
+            userId = benchmark.accountUserIds.get(index);
+            accountNumber = benchmark.accountNumbers.get(index);
+        }
+    }
+
+    @Benchmark
+    public TransactionResponse useBalance(TargetAccount target) {
+        return transactionFacade.useBalance(new TransactionRequest(target.userId, target.accountNumber, 1L));
+    }
+
+    @Benchmark
+    public List<CheckAccountResponse> getUserAccounts(TargetAccount target) {
+        return accountService.getUserAccounts(target.userId);
+    }
+}
@@ -0,0 +1,60 @@
+package com.devsehyunjin.account.benchmark;
+
+import com.devsehyunjin.account.AccountSystemSpringbootApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.embedded.RedisServer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기본 프로필과 빠른 기동 프로필(prod)의 콜드 스타트 시간 비교 (웹 서버 기동까지 포함).
+ * 포크마다 새 JVM 에서 한 번만 기동해 측정하므로 클래스 로딩·JIT 가 데워지지 않은 실제 기동 시간에 가깝다.
+ * CDS 아카이브 효과는 벤치마크 클래스패스가 달라 여기서는 잴 수 없고, ./gradlew cdsArchive 후 jar 실행 로그로 비교한다.
+ *   ./gradlew jmhThreads1 -Pjmh.include=StartupBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private static final int REDIS_PORT = 16391;
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private RedisServer redisServer;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void startRedis() {
+        redisServer = new RedisServer(REDIS_PORT);
+        redisServer.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeContext() {
+        context.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopRedis() {
+        redisServer.stop();
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        context = new SpringApplicationBuilder(AccountSystemSpringbootApplication.class)
+                .profiles(profile)
+                .properties("server.port=0",
+                        "logging.level.root=WARN",
+                        "account.snapshot.cron=-",
+                        "spring.data.redis.port=" + REDIS_PORT)
+                .run();
+        return context;
+    }
+}
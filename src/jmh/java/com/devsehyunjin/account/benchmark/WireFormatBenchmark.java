@@ -0,0 +1,81 @@
+package com.devsehyunjin.account.benchmark;
+
+import com.devsehyunjin.account.config.BinaryFormatConfig;
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거래 요청·응답 DTO 의 형식별 변환 시간과 크기 비교 (컨트롤러가 쓰는 것과 같은 ObjectMapper 설정).
+ * 메시지 하나의 바이트 수는 시작할 때 출력한다.
+ *   ./gradlew jmhThreads1 -Pjmh.include=WireFormatBenchmark -Pjmh.prof=gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private TransactionRequest request;
+    private TransactionResponse response;
+    private byte[] encodedRequest;
+    private byte[] encodedResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        switch (format) {
+            case "cbor" -> objectMapper = BinaryFormatConfig.binaryObjectMapper(new Jackson2ObjectMapperBuilder(), new CBORFactory());
+            case "smile" -> objectMapper = BinaryFormatConfig.binaryObjectMapper(new Jackson2ObjectMapperBuilder(), new SmileFactory());
+            default -> objectMapper = new Jackson2ObjectMapperBuilder().build();
+        }
+        request = new TransactionRequest(1_234L, "1234567890", 15_000L);
+        response = TransactionResponse.builder()
+                .accountNumber("1234567890")
+                .transactionResult(TransactionResult.SUCCESS)
+                .transactionId(1_099_511_627_776L)
+                .amount(15_000L)
+                .transactionDate(LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000))
+                .transactionType(TransactionType.USE)
+                .build();
+        encodedRequest = objectMapper.writeValueAsBytes(request);
+        encodedResponse = objectMapper.writeValueAsBytes(response);
+        System.out.printf("%n[%s] TransactionRequest %d bytes, TransactionResponse %d bytes%n",
+                format, encodedRequest.length, encodedResponse.length);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public TransactionResponse decodeResponse() throws IOException {
+        return objectMapper.readValue(encodedResponse, TransactionResponse.class);
+    }
+
+    @Benchmark
+    public byte[] encodeRequest() throws IOException {
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public TransactionRequest decodeRequest() throws IOException {
+        return objectMapper.readValue(encodedRequest, TransactionRequest.class);
+    }
+}
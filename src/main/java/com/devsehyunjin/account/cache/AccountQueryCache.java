@@ -0,0 +1,206 @@
+package com.devsehyunjin.account.cache;
+
+import com.devsehyunjin.account.dto.CheckAccountResponse;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.devsehyunjin.account.event.AccountChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 조회 API용 2단계 캐시 (L1: 로컬 Caffeine, L2: Redis).
+ * 쓰기 경로가 커밋되면 AccountChangedEvent 로 무효화하고, 다른 노드의 L1은 Redis Pub/Sub 으로 무효화한다.
+ * DB에서 읽는 도중 무효화가 일어나면 읽은 값을 캐시에 넣지 않도록 키별 세대(generation)를 비교한다.
+ */
+@Slf4j
+@Component
+public class AccountQueryCache {
+
+    public static final String INVALIDATION_CHANNEL = "account:cache:invalidation";
+
+    private static final String USER_ACCOUNTS_KEY_PREFIX = "account:cache:user-accounts:";
+    private static final String TRANSACTION_KEY_PREFIX = "account:cache:transaction:";
+    private static final String GENERATION_KEY_SUFFIX = ":generation";
+    private static final long GENERATION_TTL_SECONDS = 3600;
+
+    // 적재를 시작할 때의 세대가 그대로일 때만 저장
+    private static final RedisScript<Long> PUT_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('get', KEYS[2]) or '0' " +
+                    "if current == ARGV[2] then " +
+                    "redis.call('set', KEYS[1], ARGV[1], 'EX', ARGV[3]) " +
+                    "return 1 " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    // 세대를 올리고 값을 지운 뒤 다른 노드에 알림
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('incr', KEYS[2]) " +
+                    "redis.call('expire', KEYS[2], ARGV[1]) " +
+                    "redis.call('del', KEYS[1]) " +
+                    "redis.call('publish', ARGV[2], KEYS[1]) " +
+                    "return 1",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration redisTtl;
+
+    private final Cache<String, Object> localCache;
+    // 키별 로컬 무효화 횟수 (적재 중 무효화 감지용)
+    private final Cache<String, Long> localGenerations;
+
+    private final JavaType userAccountsType;
+    private final JavaType transactionType;
+
+    // 캐시별 요청 수 카운터 (조회마다 등록하지 않도록 미리 등록)
+    private final RequestCounters userAccountsCounters;
+    private final RequestCounters transactionCounters;
+
+    public AccountQueryCache(RedisTemplate<String, Object> redisTemplate,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${account.cache.local.maximum-size:10000}") long localMaximumSize,
+                             @Value("${account.cache.local.ttl:5s}") Duration localTtl,
+                             @Value("${account.cache.redis.ttl:60s}") Duration redisTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisTtl = redisTtl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        this.localGenerations = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(GENERATION_TTL_SECONDS))
+                .build();
+        this.userAccountsType = objectMapper.getTypeFactory().constructCollectionType(List.class, CheckAccountResponse.class);
+        this.transactionType = objectMapper.getTypeFactory().constructType(TransactionResponse.class);
+        this.userAccountsCounters = new RequestCounters(meterRegistry, "user-accounts");
+        this.transactionCounters = new RequestCounters(meterRegistry, "transaction");
+    }
+
+    public List<CheckAccountResponse> getUserAccounts(Long userId, Supplier<List<CheckAccountResponse>> loader) {
+        return get(userAccountsCounters, USER_ACCOUNTS_KEY_PREFIX + userId, userAccountsType, loader);
+    }
+
+    public TransactionResponse getTransaction(Long transactionId, Supplier<TransactionResponse> loader) {
+        return get(transactionCounters, TRANSACTION_KEY_PREFIX + transactionId, transactionType, loader);
+    }
+
+    // 쓰기 트랜잭션이 커밋된 직후(응답 전) 무효화
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        evict(USER_ACCOUNTS_KEY_PREFIX + event.getUserId());
+    }
+
+    // 다른 노드에서 발행한 무효화 메시지 처리
+    public void evictLocal(String key) {
+        localCache.asMap().compute(key, (k, value) -> {
+            localGenerations.asMap().merge(k, 1L, Long::sum);
+            return null;
+        });
+    }
+
+    private void evict(String key) {
+        evictLocal(key);
+        try {
+            redisTemplate.execute(INVALIDATE_SCRIPT, List.of(key, key + GENERATION_KEY_SUFFIX),
+                    GENERATION_TTL_SECONDS, INVALIDATION_CHANNEL);
+        } catch (RuntimeException e) {
+            log.warn("Redis 캐시 무효화 실패, TTL 만료까지 이전 값이 남을 수 있습니다. key={}", key, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(RequestCounters counters, String key, JavaType type, Supplier<T> loader) {
+        // L1
+        Object local = localCache.getIfPresent(key);
+        if (local != null) {
+            counters.localHit.increment();
+            return (T) local;
+        }
+        counters.localMiss.increment();
+        long localGeneration = localGenerations.asMap().getOrDefault(key, 0L);
+
+        // L2
+        String redisGeneration = "0";
+        try {
+            Object cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                counters.redisHit.increment();
+                T value = objectMapper.readValue((String) cached, type);
+                putLocal(key, value, localGeneration);
+                return value;
+            }
+            counters.redisMiss.increment();
+            Object generation = redisTemplate.opsForValue().get(key + GENERATION_KEY_SUFFIX);
+            redisGeneration = generation != null ? generation.toString() : "0";
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Redis 캐시 조회 실패, DB에서 조회합니다. key={}", key, e);
+            redisGeneration = null;
+        }
+
+        // DB
+        T value = loader.get();
+        if (redisGeneration != null) {
+            putRedis(key, value, redisGeneration);
+        }
+        putLocal(key, value, localGeneration);
+        return value;
+    }
+
+    // 적재하는 동안 로컬 무효화가 없었을 때만 저장 (무효화와 같은 키 잠금 안에서 비교)
+    private void putLocal(String key, Object value, long observedGeneration) {
+        localCache.asMap().compute(key, (k, current) ->
+                localGenerations.asMap().getOrDefault(k, 0L) == observedGeneration ? value : current);
+    }
+
+    private void putRedis(String key, Object value, String observedGeneration) {
+        try {
+            redisTemplate.execute(PUT_SCRIPT, List.of(key, key + GENERATION_KEY_SUFFIX),
+                    objectMapper.writeValueAsString(value), observedGeneration, redisTtl.toSeconds());
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Redis 캐시 저장 실패. key={}", key, e);
+        }
+    }
+
+    private static class RequestCounters {
+        private final Counter localHit;
+        private final Counter localMiss;
+        private final Counter redisHit;
+        private final Counter redisMiss;
+
+        private RequestCounters(MeterRegistry meterRegistry, String cacheName) {
+            this.localHit = counter(meterRegistry, cacheName, "local", "hit");
+            this.localMiss = counter(meterRegistry, cacheName, "local", "miss");
+            this.redisHit = counter(meterRegistry, cacheName, "redis", "hit");
+            this.redisMiss = counter(meterRegistry, cacheName, "redis", "miss");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String cacheName, String level, String result) {
+            return Counter.builder("account.cache.requests")
+                    .description("조회 캐시 요청 수 (적중률 = hit / 전체)")
+                    .tag("cache", cacheName)
+                    .tag("level", level)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.devsehyunjin.account.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * 서비스 간 대량 호출용 바이너리 요청·응답 형식 (JSON 과 함께 Accept / Content-Type 으로 선택).
+ * - application/cbor: CBOR
+ * - application/x-jackson-smile: Smile (반복되는 필드 이름을 참조로 줄임)
+ * JSON 과 같은 ObjectMapper 설정을 쓰되, 날짜는 ISO 문자열 대신 숫자 배열로 써서 크기와 변환 비용을 줄인다.
+ * 형식별 크기와 변환 시간은 WireFormatBenchmark 로 비교한다.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    // MVC 기본 CBOR/Smile 변환기를 같은 타입의 빈으로 대체 (Spring Boot 설정이 적용된 ObjectMapper 사용)
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryObjectMapper(builder, new CBORFactory()));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryObjectMapper(builder, new SmileFactory()));
+    }
+
+    public static ObjectMapper binaryObjectMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
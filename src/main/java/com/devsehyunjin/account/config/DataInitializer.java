@@ -5,6 +5,7 @@ import com.devsehyunjin.account.repository.AccountRepository;
 import com.devsehyunjin.account.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,7 +17,9 @@ public class DataInitializer {
 
     private final UserRepository userRepository;
 
+    // 운영(prod) 프로필은 예시 데이터를 넣지 않음
     @Bean
+    @ConditionalOnProperty(name = "account.seed.enabled", havingValue = "true", matchIfMissing = true)
     public ApplicationRunner initializeData() {
         return args -> {
             // 사용자 초기화
@@ -1,5 +1,6 @@
 package com.devsehyunjin.account.config;
 
+import com.devsehyunjin.account.cache.AccountQueryCache;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,9 +9,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import redis.embedded.RedisServer;
 
+import java.nio.charset.StandardCharsets;
+
 @Slf4j
 @Configuration
 public class RedisConfig {
@@ -57,6 +62,21 @@ public class RedisConfig {
         template.setConnectionFactory(connectionFactory);
         template.setKeySerializer(new GenericToStringSerializer<>(String.class));
         template.setValueSerializer(new GenericToStringSerializer<>(Object.class));
+        // 스트림 메시지 필드(거래 이벤트)도 문자열로 저장
+        template.setHashKeySerializer(new GenericToStringSerializer<>(Object.class));
+        template.setHashValueSerializer(new GenericToStringSerializer<>(Object.class));
         return template;
     }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       AccountQueryCache accountQueryCache) {
+        // 다른 노드에서 발생한 캐시 무효화를 로컬 캐시에 반영
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> accountQueryCache.evictLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(AccountQueryCache.INVALIDATION_CHANNEL));
+        return container;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.devsehyunjin.account.config;
+
+import com.devsehyunjin.account.replica.ReplicaDataSource;
+import com.devsehyunjin.account.replica.ReplicaRouter;
+import com.devsehyunjin.account.shard.ShardRouter;
+import com.devsehyunjin.account.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 샤드(account.sharding.shard-urls)나 복제본(account.replica.urls)이 설정된 경우에만 라우팅 데이터소스를 등록한다.
+ * 0번 샤드는 spring.datasource 설정을 그대로 쓰고, 추가 샤드와 복제본은 0번과 같은 풀 설정에 URL 만 바꿔 만든다.
+ * 복제본이 있는 샤드는 LazyConnectionDataSourceProxy 로 감싸 읽기 전용 트랜잭션의 커넥션을 복제본에서 연다.
+ */
+@Configuration
+@Conditional(RoutingDataSourceConfig.RoutingEnabledCondition.class)
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource globalShardDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource globalShardDataSource,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${account.sharding.shard-urls:}") String shardUrls,
+                                 @Value("${account.replica.selection:round-robin}") String selection,
+                                 @Value("${account.replica.probe-interval:1s}") Duration probeInterval,
+                                 @Value("${account.replica.failure-cooldown:5s}") Duration failureCooldown) {
+        List<String> urls = ShardRouter.parseShardUrls(shardUrls);
+        Map<Integer, List<String>> replicaUrls = ReplicaRouter.replicaUrls(environment);
+        Map<Object, Object> targets = new HashMap<>();
+        List<AutoCloseable> owned = new ArrayList<>();
+
+        for (int shard = 0; shard <= urls.size(); shard++) {
+            HikariDataSource primary = shard == 0
+                    ? globalShardDataSource
+                    : copyPool(globalShardDataSource, urls.get(shard - 1), "shard-" + shard, false);
+            if (shard > 0) {
+                owned.add(primary);
+            }
+
+            List<String> replicas = replicaUrls.getOrDefault(shard, List.of());
+            if (replicas.isEmpty()) {
+                targets.put(shard, primary);
+                continue;
+            }
+
+            List<HikariDataSource> replicaPools = new ArrayList<>(replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                replicaPools.add(copyPool(globalShardDataSource, replicas.get(i), "shard-" + shard + "-replica-" + i, true));
+            }
+            ReplicaDataSource replicaDataSource = new ReplicaDataSource(shard, primary, replicaPools,
+                    ReplicaDataSource.Selection.from(selection), probeInterval, failureCooldown, meterRegistry);
+            owned.add(replicaDataSource);
+
+            // 트랜잭션이 setReadOnly(true) 를 호출하면 첫 쿼리 시점에 복제본 쪽 커넥션을 연다
+            LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+            proxy.setReadOnlyDataSource(replicaDataSource);
+            targets.put(shard, proxy);
+        }
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(owned);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(targets.get(0));
+        return routing;
+    }
+
+    private static HikariDataSource copyPool(HikariDataSource source, String jdbcUrl, String poolName, boolean readOnly) {
+        HikariConfig config = new HikariConfig();
+        source.copyStateTo(config);
+        config.setJdbcUrl(jdbcUrl);
+        config.setPoolName(poolName);
+        config.setReadOnly(readOnly);
+        return new HikariDataSource(config);
+    }
+
+    static class RoutingEnabledCondition extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            Environment environment = context.getEnvironment();
+            if (!ShardRouter.parseShardUrls(environment.getProperty("account.sharding.shard-urls", "")).isEmpty()) {
+                return ConditionOutcome.match("account.sharding.shard-urls 설정됨");
+            }
+            if (!ReplicaRouter.replicaUrls(environment).isEmpty()) {
+                return ConditionOutcome.match("account.replica.urls 설정됨");
+            }
+            return ConditionOutcome.noMatch("샤드와 복제본 설정 없음");
+        }
+    }
+}
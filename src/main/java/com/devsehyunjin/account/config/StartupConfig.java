@@ -0,0 +1,30 @@
+package com.devsehyunjin.account.config;
+
+import com.devsehyunjin.account.ledger.HotLedgerInstanceLease;
+import com.devsehyunjin.account.ledger.LedgerWriteBehindWriter;
+import com.devsehyunjin.account.ledger.RedisLedgerDrainer;
+import com.devsehyunjin.account.outbox.TransactionOutboxRelay;
+import com.devsehyunjin.account.service.AccountBalanceSnapshotService;
+import com.devsehyunjin.account.shard.ShardSchemaInitializer;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 지연 초기화(spring.main.lazy-initialization, prod 프로필)에서도 기동 시 생성해야 하는 빈.
+ * 요청이 없어도 돌아야 하는 스케줄 작업·백그라운드 작성기는 지연시키면 첫 요청 전까지 시작되지 않는다.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter backgroundWorkerLazyExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                ShardSchemaInitializer.class,
+                AccountBalanceSnapshotService.class,
+                TransactionOutboxRelay.class,
+                LedgerWriteBehindWriter.class,
+                HotLedgerInstanceLease.class,
+                RedisLedgerDrainer.class);
+    }
+}
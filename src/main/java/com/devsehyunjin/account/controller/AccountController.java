@@ -1,12 +1,24 @@
 package com.devsehyunjin.account.controller;
 
+import com.devsehyunjin.account.config.BinaryFormatConfig;
+import com.devsehyunjin.account.domain.enums.TransactionType;
 import com.devsehyunjin.account.dto.*;
+import com.devsehyunjin.account.idempotency.IdempotencyManager;
+import com.devsehyunjin.account.service.AccountQueryFacade;
 import com.devsehyunjin.account.service.AccountService;
+import com.devsehyunjin.account.service.TransactionExportService;
+import com.devsehyunjin.account.service.TransactionFacade;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,46 +27,110 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
+    private final TransactionFacade transactionFacade;
+    private final AccountQueryFacade accountQueryFacade;
+    private final TransactionExportService transactionExportService;
+    private final IdempotencyManager idempotencyManager;
 
     // 계좌 생성
-    @PostMapping(value = "/createAccount", produces = org.springframework.http.MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping(value = "/createAccount", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE})
     public ResponseEntity<CreateAccountResponse> createAccount(@RequestBody CreateAccountRequest request) {
         CreateAccountResponse response = accountService.createAccount(request);
         return ResponseEntity.ok(response);
     }
 
     // 계좌 해지
-    @PostMapping(value = "/close", produces = org.springframework.http.MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping(value = "/close", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE})
     public ResponseEntity<CloseAccountResponse> closeAccount(@RequestBody CloseAccountRequest request) {
-        CloseAccountResponse closeAccountResponse = accountService.closeAccount(request);
+        CloseAccountResponse closeAccountResponse = transactionFacade.closeAccount(request);
         return ResponseEntity.ok(closeAccountResponse);
     }
 
     // 특정 사용자 계좌 조회
-    @GetMapping(value = "/user", produces = org.springframework.http.MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(value = "/user", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE})
     public ResponseEntity<List<CheckAccountResponse>> getUserAccounts(@RequestParam("userId") Long userId) {
-        List<CheckAccountResponse> checkAccountsResponse = accountService.getUserAccounts(userId);
+        List<CheckAccountResponse> checkAccountsResponse = accountQueryFacade.getUserAccounts(userId);
         return ResponseEntity.ok(checkAccountsResponse);
     }
 
-    // 잔액 사용
+    // 잔액 사용 (Idempotency-Key 가 같은 재시도는 처음 응답을 그대로 반환)
     @PostMapping("/use")
-    public ResponseEntity<TransactionResponse> useBalance(@RequestBody @Valid TransactionRequest request) {
-        TransactionResponse response = accountService.useBalance(request);
+    public ResponseEntity<TransactionResponse> useBalance(
+            @RequestHeader(value = IdempotencyManager.HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid TransactionRequest request) {
+        TransactionResponse response = idempotencyManager.execute(idempotencyKey, "use", request,
+                TransactionResponse.class, () -> transactionFacade.useBalance(request));
         return ResponseEntity.ok(response);
     }
 
-    // 잔액 사용 취소
+    // 잔액 사용 취소 (Idempotency-Key 가 같은 재시도는 처음 응답을 그대로 반환)
     @PostMapping("/cancel")
-    public ResponseEntity<TransactionResponse> cancelBalance(@RequestBody @Valid CancelTransactionRequest request) {
-        TransactionResponse response = accountService.cancelBalance(request);
+    public ResponseEntity<TransactionResponse> cancelBalance(
+            @RequestHeader(value = IdempotencyManager.HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid CancelTransactionRequest request) {
+        TransactionResponse response = idempotencyManager.execute(idempotencyKey, "cancel", request,
+                TransactionResponse.class, () -> transactionFacade.cancelBalance(request));
+        return ResponseEntity.ok(response);
+    }
+
+    // 잔액 사용 일괄 처리
+    @PostMapping("/use/batch")
+    public ResponseEntity<BatchTransactionResponse> useBalances(@RequestBody @Valid BatchTransactionRequest request) {
+        BatchTransactionResponse response = transactionFacade.useBalances(request);
+        return ResponseEntity.ok(response);
+    }
+
+    // 잔액 사용 취소 일괄 처리
+    @PostMapping("/cancel/batch")
+    public ResponseEntity<BatchTransactionResponse> cancelBalances(@RequestBody @Valid BatchCancelTransactionRequest request) {
+        BatchTransactionResponse response = transactionFacade.cancelBalances(request);
+        return ResponseEntity.ok(response);
+    }
+
+    // 특정 시점 잔액 조회
+    @GetMapping("/balance")
+    public ResponseEntity<BalanceAsOfResponse> getBalanceAsOf(
+            @RequestParam("accountNumber") String accountNumber,
+            @RequestParam("asOf") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        BalanceAsOfResponse response = accountQueryFacade.getBalanceAsOf(accountNumber, asOf);
         return ResponseEntity.ok(response);
     }
 
     // 거래 확인
     @GetMapping("/check")
     public ResponseEntity<TransactionResponse> getTransaction(@RequestParam("transactionId") Long transactionId) {
-        TransactionResponse response = accountService.getTransaction(transactionId);
+        TransactionResponse response = accountQueryFacade.getTransaction(transactionId);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    // 계좌별 거래 내역 조회 (cursor 는 이전 응답의 nextCursor)
+    @GetMapping("/transactions")
+    public ResponseEntity<TransactionHistoryResponse> getTransactionHistory(
+            @RequestParam("accountNumber") String accountNumber,
+            @RequestParam(value = "transactionType", required = false) TransactionType transactionType,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        TransactionHistoryResponse response = accountQueryFacade.getTransactionHistory(
+                accountNumber, transactionType, from, to, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    // 하루치 거래 내보내기 (NDJSON 또는 CSV 스트리밍)
+    @GetMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(value = "format", defaultValue = "NDJSON") TransactionExportService.Format format) {
+        StreamingResponseBody body = out -> transactionExportService.export(date, format, out);
+        boolean csv = format == TransactionExportService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=transactions-" + date + (csv ? ".csv" : ".ndjson"))
+                .body(body);
+    }
+}
@@ -1,6 +1,7 @@
 package com.devsehyunjin.account.domain;
 
 import com.devsehyunjin.account.domain.enums.AccountStatus;
+import com.devsehyunjin.account.exception.ErrorCode;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -13,14 +14,16 @@ import java.time.LocalDateTime;
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq_generator")
+    @SequenceGenerator(name = "account_seq_generator", sequenceName = "account_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false, length = 10)
     private String accountNumber;
 
+    // 사용자는 0번 샤드에만 있고 계좌는 계좌번호 해시로 샤드에 나뉘므로 DB FK 는 두지 않는다
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user;
 
     @Column(nullable = false)
@@ -35,6 +38,15 @@ public class Account {
 
     private AccountStatus status;
 
+    // 낙관적 락 버전 (잔액·상태 변경 시 증가, 커밋 시 다른 트랜잭션이 먼저 바꿨으면 충돌)
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // 마지막으로 이 계좌를 쓴 락 보유자의 펜싱 토큰 (lock 모드에서 더 오래된 토큰의 쓰기를 거절)
+    @Column(nullable = false)
+    private Long fenceToken = 0L;
+
     // 계좌가 해지된 상태인지 확인
     public boolean isClosed() {
         return this.status == AccountStatus.CLOSED;
@@ -48,6 +60,7 @@ public class Account {
         this.balance = initialBalance;
         this.createdAt = LocalDateTime.now();
         this.isDeleted = false;
+        this.fenceToken = 0L;
         this.status = AccountStatus.ACTIVE; // 계좌 생성 시 초기 상태 설정
     }
 
@@ -69,10 +82,10 @@ public class Account {
 
     public void updateBalanceForCancel(Long amount) {
         if (this.isDeleted) {
-            throw new IllegalStateException("해지된 계좌에는 잔액을 변경할 수 없습니다.");
+            throw ErrorCode.ACCOUNT_CLOSED.exception();
         }
         if (this.balance + amount < 0) {
-            throw new IllegalStateException("잔액이 부족합니다.");
+            throw ErrorCode.INSUFFICIENT_BALANCE.exception();
         }
         this.balance += amount;
     }
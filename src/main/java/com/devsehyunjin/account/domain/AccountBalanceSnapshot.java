@@ -0,0 +1,47 @@
+package com.devsehyunjin.account.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 계좌별 일말(해당 일자 24시 기준) 잔액 스냅샷.
+ * AccountBalanceSnapshotJdbcRepository 가 전날 스냅샷 + 당일 거래로 하루 단위로 만든다.
+ */
+@Entity
+@Table(name = "account_balance_snapshot",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_snapshot_account_date", columnNames = {"account_id", "snapshot_date"})
+        },
+        indexes = {
+                // 월말 정산 등 특정 일자 전체 계좌 조회
+                @Index(name = "idx_snapshot_date", columnList = "snapshot_date")
+        })
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class AccountBalanceSnapshot {
+
+    // 스냅샷은 JDBC 집합 연산(INSERT ... SELECT)으로만 저장하므로 DB 시퀀스 값을 그대로 사용
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_balance_snapshot_seq_generator")
+    @SequenceGenerator(name = "account_balance_snapshot_seq_generator",
+            sequenceName = "account_balance_snapshot_seq", allocationSize = 1)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    // snapshotDate 가 끝나는 시점(다음 날 00:00)의 잔액
+    @Column(nullable = false)
+    private Long balance;
+
+    private LocalDateTime createdAt;
+}
@@ -2,6 +2,7 @@ package com.devsehyunjin.account.domain;
 
 import com.devsehyunjin.account.domain.enums.TransactionResult;
 import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.exception.ErrorCode;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,13 +10,27 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Table(name = "transaction", indexes = {
+        // 계좌별 거래 내역 키셋 페이지네이션 (transaction_date, id) 순서 탐색
+        @Index(name = "idx_transaction_account_date_id", columnList = "account_id, transaction_date, id"),
+        // 일자별 거래 집계 (잔액 스냅샷, 거래 내보내기)
+        @Index(name = "idx_transaction_date", columnList = "transaction_date"),
+        // 원거래별 취소 거래 조회
+        @Index(name = "idx_transaction_original", columnList = "original_transaction_id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
 public class Transaction {
+
+    // 시퀀스 한 번 호출로 확보하는 ID 개수 (TransactionIdAllocator 와 동일해야 함)
+    public static final int ID_ALLOCATION_SIZE = 100;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq_generator")
+    @SequenceGenerator(name = "transaction_seq_generator", sequenceName = "transaction_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -32,5 +47,38 @@ public class Transaction {
     @Column(nullable = false)
     private TransactionResult transactionResult;
 
-   private LocalDateTime transactionDate;
+    @Column(name = "transaction_date")
+    private LocalDateTime transactionDate;
+
+    // 취소 거래가 취소한 원거래 (사용 거래는 비어 있음)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "original_transaction_id")
+    private Transaction originalTransaction;
+
+    // 아직 취소할 수 있는 금액 (성공한 사용 거래만 금액에서 시작해 취소할 때마다 줄어듦, 그 외 거래는 0)
+    // 취소 검증은 기본 키로 읽은 이 값 하나만 보므로 취소 내역을 훑지 않는다
+    @Column(name = "cancellable_amount", nullable = false)
+    private Long cancellableAmount;
+
+    // 새 거래의 취소 가능 금액
+    public static long initialCancellableAmount(TransactionType transactionType, TransactionResult transactionResult,
+                                                long amount) {
+        return transactionType == TransactionType.USE && transactionResult == TransactionResult.SUCCESS ? amount : 0L;
+    }
+
+    // 취소 요청 검증 (실제 차감은 TransactionRepository.deductCancellableAmount 의 조건부 UPDATE 로 원자적으로 수행)
+    public void validateCancel(Long cancelAmount) {
+        if (transactionType != TransactionType.USE || transactionResult != TransactionResult.SUCCESS) {
+            throw ErrorCode.NOT_CANCELLABLE_TRANSACTION.exception();
+        }
+        if (cancelAmount == null || cancelAmount <= 0) {
+            throw ErrorCode.INVALID_AMOUNT.exception();
+        }
+        if (cancellableAmount == 0) {
+            throw ErrorCode.TRANSACTION_ALREADY_CANCELLED.exception();
+        }
+        if (cancelAmount > cancellableAmount) {
+            throw ErrorCode.CANCEL_AMOUNT_EXCEEDED.exception();
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package com.devsehyunjin.account.domain;
+
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래 이벤트 아웃박스.
+ * 거래를 저장하는 DB 트랜잭션 안에서 함께 기록하고, TransactionOutboxRelay 가 Redis Stream 으로 발행한 뒤 삭제한다.
+ * 발행이 끝난 행은 바로 지우므로 테이블에는 아직 발행되지 않은 이벤트만 남는다.
+ */
+@Entity
+@Table(name = "transaction_outbox")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class TransactionOutbox {
+
+    // JDBC 배치 저장(TransactionJdbcRepository)과 함께 쓰므로 DB 가 ID 를 부여 (발행 순서 = ID 순서)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long transactionId;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private Long amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType transactionType;
+
+    @Column(nullable = false)
+    private TransactionResult transactionResult;
+
+    private LocalDateTime transactionDate;
+
+    private LocalDateTime createdAt;
+
+    public static TransactionOutbox of(Transaction transaction) {
+        return TransactionOutbox.builder()
+                .transactionId(transaction.getId())
+                .accountId(transaction.getAccount().getId())
+                .amount(transaction.getAmount())
+                .transactionType(transaction.getTransactionType())
+                .transactionResult(transaction.getTransactionResult())
+                .transactionDate(transaction.getTransactionDate())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
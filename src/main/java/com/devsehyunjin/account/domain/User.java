@@ -15,8 +15,12 @@ import java.util.List;
 @AllArgsConstructor
 public class User {
 
+    // 사용자당 만들 수 있는 계좌 수 (해지한 계좌 포함)
+    public static final int MAX_ACCOUNT_COUNT = 10;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq_generator")
+    @SequenceGenerator(name = "users_seq_generator", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -25,6 +29,11 @@ public class User {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // 만든 계좌 수 (계좌는 여러 샤드에 흩어져 있으므로 사용자 행에 따로 센다)
+    // UserRepository 의 조건부 UPDATE 로만 바뀐다
+    @Column(nullable = false)
+    private int accountCount;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private final List<Account> accounts = new ArrayList<>();
 
@@ -33,12 +42,4 @@ public class User {
         this.name = name;
         this.createdAt = LocalDateTime.now();
     }
-
-    // 계좌 등록 비즈니스 메서드
-    public void addAccount(Account account) {
-        if (this.accounts.size() >= 10) {
-            throw new IllegalStateException("사용자는 최대 10개의 계좌만 가질 수 있습니다.");
-        }
-        this.accounts.add(account);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.devsehyunjin.account.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class BalanceAsOfResponse {
+    private String accountNumber;
+    private LocalDateTime asOf;
+    private Long balance;
+    // 계산 기준으로 사용한 스냅샷 일자 (스냅샷 없이 현재 잔액에서 역산했으면 null)
+    private LocalDate snapshotDate;
+}
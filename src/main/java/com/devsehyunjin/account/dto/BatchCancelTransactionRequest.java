@@ -0,0 +1,27 @@
+package com.devsehyunjin.account.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCancelTransactionRequest {
+
+    // 한 요청의 최대 항목 수 (배치 전체가 계좌 락과 DB 트랜잭션 하나를 점유하므로 제한)
+    public static final int MAX_SIZE = 1_000;
+
+    @NotEmpty
+    @Size(max = MAX_SIZE)
+    private List<@NotNull @Valid CancelTransactionRequest> requests;
+
+    // true 이면 하나라도 실패할 경우 전체를 반영하지 않음
+    private boolean allOrNothing;
+}
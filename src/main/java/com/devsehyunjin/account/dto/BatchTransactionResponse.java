@@ -0,0 +1,23 @@
+package com.devsehyunjin.account.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class BatchTransactionResponse {
+    private int successCount;
+    private int failureCount;
+    private List<BatchTransactionResult> results;
+
+    public static BatchTransactionResponse of(List<BatchTransactionResult> results) {
+        int successCount = (int) results.stream().filter(BatchTransactionResult::isSuccess).count();
+        return BatchTransactionResponse.builder()
+                .successCount(successCount)
+                .failureCount(results.size() - successCount)
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.devsehyunjin.account.dto;
+
+import com.devsehyunjin.account.exception.ErrorCode;
+import lombok.Builder;
+import lombok.Getter;
+
+// 일괄 요청의 항목별 처리 결과
+@Getter
+@Builder
+public class BatchTransactionResult {
+    private int index;
+    private boolean success;
+    private TransactionResponse transaction;
+    private String errorCode;
+    private String errorMessage;
+
+    public static BatchTransactionResult success(int index, TransactionResponse transaction) {
+        return BatchTransactionResult.builder()
+                .index(index)
+                .success(true)
+                .transaction(transaction)
+                .build();
+    }
+
+    public static BatchTransactionResult failure(int index, ErrorCode errorCode) {
+        return BatchTransactionResult.builder()
+                .index(index)
+                .success(false)
+                .errorCode(errorCode.name())
+                .errorMessage(errorCode.getMessage())
+                .build();
+    }
+
+    public static BatchTransactionResult failure(int index, String errorMessage) {
+        return BatchTransactionResult.builder()
+                .index(index)
+                .success(false)
+                .errorMessage(errorMessage)
+                .build();
+    }
+}
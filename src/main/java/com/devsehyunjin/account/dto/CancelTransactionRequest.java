@@ -1,5 +1,7 @@
 package com.devsehyunjin.account.dto;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -8,7 +10,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CancelTransactionRequest {
+    @NotNull
     private Long transactionId;
+    @NotBlank
     private String accountNumber;
+    @NotNull
     private Long amount;
 }
@@ -2,9 +2,11 @@ package com.devsehyunjin.account.dto;
 
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 @Getter
 @Builder
+@Jacksonized
 public class CheckAccountResponse {
     private String accountNumber;
     private Long balance;
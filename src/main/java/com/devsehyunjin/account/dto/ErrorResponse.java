@@ -0,0 +1,29 @@
+package com.devsehyunjin.account.dto;
+
+import com.devsehyunjin.account.exception.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class ErrorResponse {
+
+    // 응답 본문도 오류 코드별로 하나만 만들어 재사용
+    private static final Map<ErrorCode, ErrorResponse> RESPONSES = new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            RESPONSES.put(errorCode, new ErrorResponse(errorCode.name(), errorCode.getMessage()));
+        }
+    }
+
+    private final String code;
+    private final String message;
+
+    public static ErrorResponse of(ErrorCode errorCode) {
+        return RESPONSES.get(errorCode);
+    }
+}
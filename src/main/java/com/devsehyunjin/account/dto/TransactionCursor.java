@@ -0,0 +1,36 @@
+package com.devsehyunjin.account.dto;
+
+import com.devsehyunjin.account.exception.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// 거래 내역 페이지 위치 (마지막으로 받은 거래의 거래일시, ID). 클라이언트에는 불투명한 문자열로 전달한다.
+@Getter
+@AllArgsConstructor
+public class TransactionCursor {
+    private static final String DELIMITER = "|";
+
+    private final LocalDateTime transactionDate;
+    private final Long transactionId;
+
+    public String encode() {
+        String raw = transactionDate + DELIMITER + transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(DELIMITER);
+            return new TransactionCursor(LocalDateTime.parse(raw.substring(0, index)),
+                    Long.parseLong(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw ErrorCode.INVALID_CURSOR.exception();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.devsehyunjin.account.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class TransactionHistoryResponse {
+    private String accountNumber;
+    private List<TransactionResponse> transactions;
+    private boolean hasNext;
+    // 다음 페이지 요청 시 cursor 로 전달 (마지막 페이지면 null)
+    private String nextCursor;
+}
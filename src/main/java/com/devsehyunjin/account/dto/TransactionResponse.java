@@ -5,11 +5,13 @@ import com.devsehyunjin.account.domain.enums.TransactionResult;
 import com.devsehyunjin.account.domain.enums.TransactionType;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDateTime;
 
 @Getter
 @Builder
+@Jacksonized
 public class TransactionResponse {
     private String accountNumber;
     private TransactionResult transactionResult;
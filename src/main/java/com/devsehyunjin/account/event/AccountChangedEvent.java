@@ -0,0 +1,12 @@
+package com.devsehyunjin.account.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 계좌 생성/해지 또는 잔액 변경이 일어났음을 알리는 이벤트
+@Getter
+@AllArgsConstructor
+public class AccountChangedEvent {
+    private final Long userId;
+    private final String accountNumber;
+}
@@ -0,0 +1,45 @@
+package com.devsehyunjin.account.event;
+
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 거래 스트림(Redis Stream)으로 전달되는 거래 이벤트 (소비자가 DB 를 다시 읽지 않도록 필요한 값을 모두 담는다)
+@Getter
+@AllArgsConstructor
+public class TransactionEvent {
+    // 적어도 한 번 전달이므로 소비자는 transactionId 로 중복을 걸러야 한다
+    private final Long transactionId;
+    private final String accountNumber;
+    private final TransactionType transactionType;
+    private final TransactionResult transactionResult;
+    private final Long amount;
+    private final LocalDateTime transactionDate;
+
+    // 스트림 메시지 필드로 변환
+    public Map<String, String> toFields() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("transactionId", transactionId.toString());
+        fields.put("accountNumber", accountNumber);
+        fields.put("transactionType", transactionType.name());
+        fields.put("transactionResult", transactionResult.name());
+        fields.put("amount", amount.toString());
+        fields.put("transactionDate", transactionDate.toString());
+        return fields;
+    }
+
+    public static TransactionEvent fromFields(Map<?, ?> fields) {
+        return new TransactionEvent(
+                Long.valueOf(fields.get("transactionId").toString()),
+                fields.get("accountNumber").toString(),
+                TransactionType.valueOf(fields.get("transactionType").toString()),
+                TransactionResult.valueOf(fields.get("transactionResult").toString()),
+                Long.valueOf(fields.get("amount").toString()),
+                LocalDateTime.parse(fields.get("transactionDate").toString()));
+    }
+}
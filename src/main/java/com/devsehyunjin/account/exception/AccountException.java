@@ -0,0 +1,19 @@
+package com.devsehyunjin.account.exception;
+
+import lombok.Getter;
+
+/**
+ * 업무 거절 예외.
+ * 스택 트레이스를 채우지 않고(fillInStackTrace 생략) 불변이므로 ErrorCode 별 인스턴스 하나를 모든 스레드가 공유한다.
+ */
+@Getter
+public class AccountException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    AccountException(ErrorCode errorCode) {
+        // cause = null 로 고정, suppression·스택 트레이스 비활성화
+        super(errorCode.getMessage(), null, false, false);
+        this.errorCode = errorCode;
+    }
+}
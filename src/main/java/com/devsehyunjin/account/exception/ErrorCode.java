@@ -0,0 +1,68 @@
+package com.devsehyunjin.account.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * 업무 오류 코드.
+ * 코드마다 스택 트레이스 없는 예외를 하나씩 미리 만들어 두므로, 거절 응답을 만들 때 객체를 새로 할당하지 않는다.
+ */
+@Getter
+public enum ErrorCode {
+
+    // 요청 값 오류
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST, "요청 값이 유효하지 않습니다."),
+    INVALID_AMOUNT(HttpStatus.BAD_REQUEST, "거래 금액이 유효하지 않습니다."),
+    INVALID_PAGE_SIZE(HttpStatus.BAD_REQUEST, "조회 건수가 유효하지 않습니다."),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "페이지 커서가 유효하지 않습니다."),
+    INVALID_IDEMPOTENCY_KEY(HttpStatus.BAD_REQUEST, "Idempotency-Key 가 유효하지 않습니다."),
+    BATCH_ALL_OR_NOTHING_UNSUPPORTED(HttpStatus.BAD_REQUEST, "현재 잔액 모드에서는 전체 롤백 일괄 처리를 지원하지 않습니다."),
+    BATCH_CROSS_SHARD_ALL_OR_NOTHING(HttpStatus.BAD_REQUEST, "여러 샤드의 계좌를 묶은 일괄 처리는 전체 롤백을 지원하지 않습니다."),
+
+    // 권한
+    OWNER_MISMATCH(HttpStatus.FORBIDDEN, "계좌 소유주가 아닙니다."),
+
+    // 대상 없음
+    USER_NOT_FOUND(HttpStatus.NOT_FOUND, "사용자가 존재하지 않습니다."),
+    ACCOUNT_NOT_FOUND(HttpStatus.NOT_FOUND, "계좌가 존재하지 않습니다."),
+    NO_ACCOUNTS(HttpStatus.NOT_FOUND, "사용자의 계좌가 존재하지 않습니다."),
+    TRANSACTION_NOT_FOUND(HttpStatus.NOT_FOUND, "거래가 존재하지 않습니다."),
+    ACCOUNT_NOT_OPENED_AT(HttpStatus.NOT_FOUND, "해당 시점에 계좌가 존재하지 않습니다."),
+
+    // 동시 처리
+    LOCK_TIMEOUT(HttpStatus.CONFLICT, "다른 거래가 처리 중입니다. 잠시 후 다시 시도해주세요."),
+    LOCK_EXPIRED(HttpStatus.CONFLICT, "계좌 락 보유 시간이 만료되었습니다. 다시 시도해주세요."),
+    IDEMPOTENCY_IN_PROGRESS(HttpStatus.CONFLICT, "동일한 요청을 처리 중입니다. 잠시 후 다시 시도해주세요."),
+    CONCURRENT_MODIFICATION(HttpStatus.CONFLICT, "다른 거래와 동시에 변경되어 처리하지 못했습니다. 다시 시도해주세요."),
+
+    // 업무 규칙 위반
+    ACCOUNT_CLOSED(HttpStatus.UNPROCESSABLE_ENTITY, "이미 해지된 계좌입니다."),
+    INSUFFICIENT_BALANCE(HttpStatus.UNPROCESSABLE_ENTITY, "잔액이 부족합니다."),
+    BALANCE_REMAINING(HttpStatus.UNPROCESSABLE_ENTITY, "잔액이 남아있어 계좌를 해지할 수 없습니다."),
+    ACCOUNT_LIMIT_EXCEEDED(HttpStatus.UNPROCESSABLE_ENTITY, "사용자가 생성 가능한 계좌 수를 초과했습니다."),
+    TRANSACTION_ACCOUNT_MISMATCH(HttpStatus.UNPROCESSABLE_ENTITY, "해당 거래가 계좌와 일치하지 않습니다."),
+    NOT_CANCELLABLE_TRANSACTION(HttpStatus.UNPROCESSABLE_ENTITY, "취소할 수 없는 거래입니다."),
+    TRANSACTION_ALREADY_CANCELLED(HttpStatus.UNPROCESSABLE_ENTITY, "이미 전액 취소된 거래입니다."),
+    CANCEL_AMOUNT_EXCEEDED(HttpStatus.UNPROCESSABLE_ENTITY, "취소 금액이 취소 가능 금액을 초과합니다."),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "같은 Idempotency-Key 로 다른 요청이 전달되었습니다."),
+    BATCH_ROLLED_BACK(HttpStatus.UNPROCESSABLE_ENTITY, "일괄 처리 중 실패한 거래가 있어 반영되지 않았습니다."),
+
+    // 일시적 처리 불가
+    LEDGER_FLUSH_TIMEOUT(HttpStatus.SERVICE_UNAVAILABLE, "밀린 거래를 저장하지 못했습니다. 잠시 후 다시 시도해주세요."),
+    LEDGER_NOT_OWNER(HttpStatus.SERVICE_UNAVAILABLE, "이 인스턴스는 메모리 원장을 사용할 수 없습니다.");
+
+    private final HttpStatus status;
+    private final String message;
+    private final AccountException exception;
+
+    ErrorCode(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+        this.exception = new AccountException(this);
+    }
+
+    // 미리 만든 예외 반환 (throw ErrorCode.X.exception(), orElseThrow(ErrorCode.X::exception))
+    public AccountException exception() {
+        return exception;
+    }
+}
@@ -0,0 +1,248 @@
+package com.devsehyunjin.account.idempotency;
+
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 기반 중복 요청 방지 (Redis).
+ * 처음 도착한 요청이 키를 선점(SET NX)하고 처리 결과를 저장하면, 같은 키의 재시도는 DB를 거치지 않고 저장된 응답을 돌려받는다.
+ * 처리 중에 도착한 중복 요청은 결과가 저장될 때까지 기다린다. 처리에 실패하면 키를 지워 재시도가 다시 처리되도록 한다.
+ * 처리 중에는 선점 TTL 을 주기적으로 연장하므로, 락 대기 등으로 처리가 pending-ttl 보다 길어져도 중복 요청이 키를 가져가지 못한다.
+ * 처리가 성공한 뒤에는 결과 저장에 실패해도 선점을 지우지 않는다 (거래는 이미 커밋되었으므로 재시도가 다시 처리하면 이중 차감).
+ *
+ * 저장 값: 처리 중 "PENDING|요청지문|소유자", 완료 "DONE|요청지문|응답 JSON"
+ */
+@Slf4j
+@Component
+public class IdempotencyManager {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final String KEY_PREFIX = "account:idempotency:";
+    private static final String PENDING = "PENDING";
+    private static final String DONE = "DONE";
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final long POLL_INTERVAL_MILLIS = 20;
+    private static final int STORE_ATTEMPTS = 3;
+    private static final long STORE_RETRY_DELAY_MILLIS = 50;
+
+    // 본인이 선점한 키일 때만 완료 결과로 교체
+    private static final RedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                    "redis.call('set', KEYS[1], ARGV[2], 'PX', ARGV[3]) " +
+                    "return 1 " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    // 본인이 선점한 키만 만료 시간 연장
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                    "return redis.call('pexpire', KEYS[1], ARGV[2]) " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    // 본인이 선점한 키만 삭제
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                    "return redis.call('del', KEYS[1]) " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration pendingTtl;
+    private final Duration waitTime;
+    private final ScheduledExecutorService renewer;
+
+    private final Counter replayedCounter;
+
+    public IdempotencyManager(RedisTemplate<String, Object> redisTemplate,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${account.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${account.idempotency.pending-ttl:30s}") Duration pendingTtl,
+                              @Value("${account.idempotency.wait-time:10s}") Duration waitTime) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.pendingTtl = pendingTtl;
+        this.waitTime = waitTime;
+        this.replayedCounter = Counter.builder("account.idempotency.replayed")
+                .description("저장된 응답으로 돌려준 중복 요청 수")
+                .register(meterRegistry);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("idempotency-renew-");
+        threadFactory.setDaemon(true);
+        this.renewer = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    // 같은 키의 요청은 한 번만 실행 (키가 없으면 그대로 실행)
+    public <T> T execute(String idempotencyKey, String operation, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw ErrorCode.INVALID_IDEMPOTENCY_KEY.exception();
+        }
+
+        String key = KEY_PREFIX + operation + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+        String pendingValue = PENDING + "|" + fingerprint + "|" + UUID.randomUUID();
+
+        long deadline = System.nanoTime() + waitTime.toNanos();
+        while (true) {
+            // Step 1: 키 선점 시도
+            Boolean claimed = redisTemplate.opsForValue().setIfAbsent(key, pendingValue, pendingTtl);
+            if (Boolean.TRUE.equals(claimed)) {
+                return executeAndStore(key, pendingValue, fingerprint, action);
+            }
+
+            // Step 2: 이미 선점된 키 확인 (선점 직후 지워졌으면 다시 선점 시도)
+            Object stored = redisTemplate.opsForValue().get(key);
+            if (stored != null) {
+                String[] parts = stored.toString().split("\\|", 3);
+                if (!parts[1].equals(fingerprint)) {
+                    throw ErrorCode.IDEMPOTENCY_KEY_REUSED.exception();
+                }
+                if (DONE.equals(parts[0])) {
+                    replayedCounter.increment();
+                    return readResponse(parts[2], responseType);
+                }
+            }
+
+            // Step 3: 먼저 도착한 요청이 끝날 때까지 대기
+            if (System.nanoTime() > deadline) {
+                throw ErrorCode.IDEMPOTENCY_IN_PROGRESS.exception();
+            }
+            sleep(POLL_INTERVAL_MILLIS);
+        }
+    }
+
+    private <T> T executeAndStore(String key, String pendingValue, String fingerprint, Supplier<T> action) {
+        // Step 1: 처리하는 동안 선점 TTL 의 1/3 주기로 연장 (응답 저장 전까지 다른 요청이 키를 가져가지 못하도록)
+        long renewIntervalMillis = Math.max(1, pendingTtl.toMillis() / 3);
+        ScheduledFuture<?> renewal = renewer.scheduleAtFixedRate(() -> renew(key, pendingValue, pendingTtl),
+                renewIntervalMillis, renewIntervalMillis, TimeUnit.MILLISECONDS);
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            // 실패한 요청은 기록하지 않으므로 재시도하면 다시 처리된다 (해제 뒤의 연장은 값이 달라 무시된다)
+            release(key, pendingValue);
+            throw e;
+        } finally {
+            renewal.cancel(false);
+        }
+
+        // Step 2: 응답 저장 (실패해도 선점은 남겨 재시도가 다시 차감하지 않도록 한다)
+        store(key, pendingValue, fingerprint, response);
+        return response;
+    }
+
+    private <T> void store(String key, String pendingValue, String fingerprint, T response) {
+        String doneValue;
+        try {
+            doneValue = DONE + "|" + fingerprint + "|" + objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            log.error("Idempotency 응답을 직렬화할 수 없어 처리 중 상태로 남깁니다. key={}", key, e);
+            renew(key, pendingValue, ttl);
+            return;
+        }
+
+        for (int attempt = 1; attempt <= STORE_ATTEMPTS; attempt++) {
+            try {
+                Long completed = redisTemplate.execute(COMPLETE_SCRIPT, List.of(key), pendingValue, doneValue, ttl.toMillis());
+                if (completed == null || completed == 0) {
+                    log.warn("처리 중 Idempotency-Key 선점이 만료되었습니다. key={}", key);
+                }
+                return;
+            } catch (RuntimeException e) {
+                // 거래는 이미 커밋되었으므로 응답은 그대로 반환
+                log.warn("Idempotency 응답 저장 실패 ({}/{}). key={}", attempt, STORE_ATTEMPTS, key, e);
+            }
+            if (attempt < STORE_ATTEMPTS) {
+                sleep(STORE_RETRY_DELAY_MILLIS);
+            }
+        }
+        log.error("Idempotency 응답을 저장하지 못해 처리 중 상태로 남깁니다. key={}", key);
+        renew(key, pendingValue, ttl);
+    }
+
+    // 저장하지 못한 경우에는 응답 보관 기간(ttl)만큼 선점을 유지해, 그동안 재시도는 다시 처리되지 않고 IDEMPOTENCY_IN_PROGRESS 로 거절된다
+    private void renew(String key, String pendingValue, Duration duration) {
+        try {
+            redisTemplate.execute(RENEW_SCRIPT, List.of(key), pendingValue, duration.toMillis());
+        } catch (RuntimeException e) {
+            log.warn("Idempotency-Key 선점 연장 실패. key={}", key, e);
+        }
+    }
+
+    private void release(String key, String pendingValue) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key), pendingValue);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency-Key 해제 실패, 선점 TTL 이후 재시도할 수 있습니다. key={}", key, e);
+        }
+    }
+
+    private <T> T readResponse(String json, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(json, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 응답을 읽을 수 없습니다.", e);
+        }
+    }
+
+    // 같은 키에 다른 본문이 오는 경우를 구분하기 위한 요청 본문 해시
+    private String fingerprint(Object request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("요청 지문을 만들 수 없습니다.", e);
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Idempotency 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+}
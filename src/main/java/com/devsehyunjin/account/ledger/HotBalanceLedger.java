@@ -0,0 +1,355 @@
+package com.devsehyunjin.account.ledger;
+
+import com.devsehyunjin.account.domain.Account;
+import com.devsehyunjin.account.domain.Transaction;
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.dto.*;
+import com.devsehyunjin.account.event.AccountChangedEvent;
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.TransactionIdAllocator;
+import com.devsehyunjin.account.repository.TransactionRepository;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountService;
+import com.devsehyunjin.account.service.BalanceEngine;
+import com.devsehyunjin.account.shard.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 메모리 원장(hot ledger) 모드.
+ * 활성 계좌의 잔액을 메모리에 두고 CAS로 차감하며, 거래 기록은 LedgerWriteBehindWriter가 배치로 DB에 반영한다.
+ * 원장의 잔액이 기준이고 DB의 account.balance는 쓰기 지연만큼 뒤처질 수 있다.
+ * 거래 ID는 응답 전에 미리 할당하므로, DB 반영 전이라도 클라이언트는 거래 ID를 받는다.
+ * 계좌 조회는 TransactionFacade 가 정한 계좌의 샤드에서 실행되고, 쓰기 지연 거래도 계좌의 샤드에 기록된다.
+ * idle-timeout 동안 거래가 없고 DB 반영을 기다리는 거래도 없는 계좌는 원장에서 내리고, 다음 거래 때 DB에서 다시 적재한다.
+ * 원장 잔액은 이 JVM 에만 있으므로 인스턴스 하나에서만 실행한다 (HotLedgerInstanceLease).
+ */
+@Component
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "hot-ledger")
+public class HotBalanceLedger implements BalanceEngine {
+
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountService accountService;
+    private final LedgerWriteBehindWriter writer;
+    private final HotLedgerInstanceLease instanceLease;
+    private final TransactionIdAllocator transactionIdAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Duration idleTimeout;
+
+    private final ConcurrentMap<String, LedgerEntry> entries = new ConcurrentHashMap<>();
+
+    // 계좌별로 DB에서 적재 중인 작업 (같은 계좌는 한 스레드만 적재하고 나머지는 결과를 기다린다)
+    private final ConcurrentMap<String, CompletableFuture<LedgerEntry>> loads = new ConcurrentHashMap<>();
+
+    public HotBalanceLedger(AccountRepository accountRepository,
+                            UserRepository userRepository,
+                            TransactionRepository transactionRepository,
+                            AccountService accountService,
+                            LedgerWriteBehindWriter writer,
+                            HotLedgerInstanceLease instanceLease,
+                            TransactionIdAllocator transactionIdAllocator,
+                            ApplicationEventPublisher eventPublisher,
+                            ShardRouter shardRouter,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${account.ledger.idle-timeout:10m}") Duration idleTimeout) {
+        this.accountRepository = accountRepository;
+        this.userRepository = userRepository;
+        this.transactionRepository = transactionRepository;
+        this.accountService = accountService;
+        this.writer = writer;
+        this.instanceLease = instanceLease;
+        this.transactionIdAllocator = transactionIdAllocator;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.idleTimeout = idleTimeout;
+    }
+
+    // 잔액 사용
+    @Override
+    public TransactionResponse useBalance(TransactionRequest request) {
+        instanceLease.verify();
+
+        LedgerEntry entry;
+        do {
+            // Step 1: 계좌 및 소유주 확인 (원장에 올라온 뒤에는 DB 조회 없음)
+            entry = entryOf(request.getAccountNumber());
+            if (entry == null || !entry.getUserId().equals(request.getUserId())) {
+                rejectOwner(request.getUserId(), entry);
+            }
+
+            // Step 2: 거래 금액 유효성 확인
+            if (request.getAmount() <= 0 || request.getAmount() > 1_000_000) {
+                throw ErrorCode.INVALID_AMOUNT.exception();
+            }
+
+            // Step 3: CAS 차감 (해지 여부, 잔액 부족 검사 포함, 그 사이 원장에서 내려갔으면 다시 적재)
+        } while (!debit(entry, request.getAmount()));
+
+        // Step 4: 거래 기록은 쓰기 지연
+        long transactionId = transactionIdAllocator.nextId();
+        LocalDateTime now = LocalDateTime.now();
+        writer.enqueue(new PendingTransaction(shardRouter.shardOf(entry.getAccountNumber()), transactionId,
+                entry.getAccountId(), entry.getUserId(), entry.getAccountNumber(), TransactionType.USE,
+                request.getAmount(), now, null));
+        // 복제본 고정과 조회 캐시 무효화 (DB 반영 후 작성기가 한 번 더 무효화)
+        eventPublisher.publishEvent(new AccountChangedEvent(entry.getUserId(), entry.getAccountNumber()));
+
+        return TransactionResponse.builder()
+                .accountNumber(entry.getAccountNumber())
+                .transactionResult(TransactionResult.SUCCESS)
+                .transactionId(transactionId)
+                .amount(request.getAmount())
+                .transactionDate(now)
+                .build();
+    }
+
+    // 잔액 사용 취소
+    @Override
+    public TransactionResponse cancelBalance(CancelTransactionRequest request) {
+        instanceLease.verify();
+
+        // Step 1: 기존 거래 검증 후 취소 가능 금액을 바로 DB에서 차감 (아직 DB에 반영되지 않은 거래는 취소할 수 없음)
+        // 취소 거래 기록은 쓰기 지연되므로, 중복 취소는 원거래 행의 조건부 UPDATE 로 막는다
+        transactionTemplate.executeWithoutResult(status -> {
+            Transaction existingTransaction = transactionRepository.findWithAccountById(request.getTransactionId())
+                    .orElseThrow(ErrorCode.TRANSACTION_NOT_FOUND::exception);
+
+            if (!existingTransaction.getAccount().getAccountNumber().equals(request.getAccountNumber())) {
+                throw ErrorCode.TRANSACTION_ACCOUNT_MISMATCH.exception();
+            }
+
+            existingTransaction.validateCancel(request.getAmount());
+
+            if (transactionRepository.deductCancellableAmount(existingTransaction.getId(), request.getAmount()) == 0) {
+                throw ErrorCode.CANCEL_AMOUNT_EXCEEDED.exception();
+            }
+        });
+
+        // Step 2: 원장 잔액 복원 (실패하면 차감한 취소 가능 금액을 되돌림)
+        LedgerEntry entry;
+        try {
+            do {
+                entry = entryOf(request.getAccountNumber());
+                if (entry == null) {
+                    throw ErrorCode.ACCOUNT_NOT_FOUND.exception();
+                }
+            } while (!credit(entry, request.getAmount()));
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status ->
+                    transactionRepository.restoreCancellableAmount(request.getTransactionId(), request.getAmount()));
+            throw e;
+        }
+
+        // Step 3: 취소 거래 기록은 쓰기 지연
+        long transactionId = transactionIdAllocator.nextId();
+        LocalDateTime now = LocalDateTime.now();
+        writer.enqueue(new PendingTransaction(shardRouter.shardOf(entry.getAccountNumber()), transactionId,
+                entry.getAccountId(), entry.getUserId(), entry.getAccountNumber(), TransactionType.CANCEL,
+                request.getAmount(), now, request.getTransactionId()));
+        eventPublisher.publishEvent(new AccountChangedEvent(entry.getUserId(), entry.getAccountNumber()));
+
+        return TransactionResponse.builder()
+                .accountNumber(entry.getAccountNumber())
+                .transactionResult(TransactionResult.SUCCESS)
+                .transactionId(transactionId)
+                .amount(request.getAmount())
+                .transactionDate(now)
+                .build();
+    }
+
+    // 계좌 해지: 소유주 확인 후 원장을 먼저 닫아 새 거래를 막고, 밀린 거래를 DB에 반영한 뒤 DB 해지
+    @Override
+    public CloseAccountResponse closeAccount(CloseAccountRequest request) {
+        instanceLease.verify();
+
+        LedgerEntry entry;
+        do {
+            entry = entryOf(request.getAccountNumber());
+            if (entry == null) {
+                return accountService.closeAccount(request);
+            }
+            if (!entry.getUserId().equals(request.getUserId())) {
+                rejectOwner(request.getUserId(), entry);
+            }
+        } while (!close(entry));
+
+        // DB 해지가 끝날 때까지 반영 대기 표시를 유지해, 닫힌 항목이 내려가고 해지 전 DB 값으로 다시 적재되지 않도록 한다
+        try {
+            writer.flush();
+            // 격리된(dead-letter) 거래가 있으면 DB 잔액을 믿을 수 없으므로 해지하지 않음
+            if (writer.hasDeadLetter(entry.getAccountId())) {
+                throw ErrorCode.LEDGER_FLUSH_TIMEOUT.exception();
+            }
+            return accountService.closeAccount(request);
+        } catch (RuntimeException e) {
+            entry.reopen();
+            throw e;
+        } finally {
+            writer.release(entry.getAccountId());
+        }
+    }
+
+    // 오래 쓰이지 않은 계좌를 원장에서 내림 (DB 반영을 기다리거나 격리된 거래가 있는 계좌는 남김)
+    @Scheduled(fixedDelayString = "${account.ledger.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long idleSince = System.nanoTime() - idleTimeout.toNanos();
+        entries.forEach((accountNumber, entry) -> {
+            if (entry.getLastAccessedAt() - idleSince <= 0
+                    && entry.evict(() -> !writer.hasUnwritten(entry.getAccountId()))) {
+                entries.remove(accountNumber, entry);
+            }
+        });
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // 잔액을 바꾸기 전에 DB 반영 대기로 표시해, 원장에서 내리는 중인 계좌의 변경이 DB에서 빠지지 않도록 한다
+    private boolean debit(LedgerEntry entry, long amount) {
+        entry.touch();
+        writer.reserve(entry.getAccountId());
+        try {
+            if (entry.debit(amount)) {
+                return true;
+            }
+        } catch (RuntimeException e) {
+            writer.release(entry.getAccountId());
+            throw e;
+        }
+        writer.release(entry.getAccountId());
+        return false;
+    }
+
+    private boolean credit(LedgerEntry entry, long amount) {
+        entry.touch();
+        writer.reserve(entry.getAccountId());
+        try {
+            if (entry.credit(amount)) {
+                return true;
+            }
+        } catch (RuntimeException e) {
+            writer.release(entry.getAccountId());
+            throw e;
+        }
+        writer.release(entry.getAccountId());
+        return false;
+    }
+
+    // 성공하면 반영 대기 표시를 남겨 둔다 (해지가 끝난 뒤 호출자가 해제)
+    private boolean close(LedgerEntry entry) {
+        entry.touch();
+        writer.reserve(entry.getAccountId());
+        try {
+            if (entry.close()) {
+                return true;
+            }
+        } catch (RuntimeException e) {
+            writer.release(entry.getAccountId());
+            throw e;
+        }
+        writer.release(entry.getAccountId());
+        return false;
+    }
+
+    // 원장의 계좌를 반환하고, 없으면 DB에서 적재
+    // 내리는 중인 계좌는 정리하는 쪽이 맵에서 뺄 때까지 기다린다 (내리기가 취소되면 그대로 사용)
+    private LedgerEntry entryOf(String accountNumber) {
+        while (true) {
+            LedgerEntry entry = entries.get(accountNumber);
+            if (entry == null) {
+                return load(accountNumber);
+            }
+            if (!entry.isEvicted()) {
+                return entry;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // DB에서 계좌를 읽어 원장에 올림 (이미 다른 스레드가 적재 중이면 그 결과를 사용)
+    // 적재 권한을 얻은 스레드만 조회하므로 조회와 등록 사이에 같은 계좌의 다른 항목이 올라올 수 없고,
+    // 앞서 올라왔던 항목은 DB 반영을 마친 뒤에만 내려가므로 조회 결과가 그보다 오래되지 않는다.
+    // 조회는 맵 밖에서 하므로 적재 중에도 같은 해시 구간의 다른 계좌는 막히지 않는다.
+    private LedgerEntry load(String accountNumber) {
+        CompletableFuture<LedgerEntry> loading = new CompletableFuture<>();
+        CompletableFuture<LedgerEntry> inFlight = loads.putIfAbsent(accountNumber, loading);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+
+        try {
+            // 적재 권한을 얻기 전에 다른 스레드가 올린 항목이 있으면 사용하고, 내리는 중이면 맵에서 빠질 때까지 기다린다
+            LedgerEntry entry;
+            while ((entry = entries.get(accountNumber)) != null && entry.isEvicted()) {
+                Thread.onSpinWait();
+            }
+            if (entry == null) {
+                entry = readOnlyTransactionTemplate.execute(status ->
+                        accountRepository.findByAccountNumber(accountNumber)
+                                .map(HotBalanceLedger::toEntry)
+                                .orElse(null));
+                if (entry != null) {
+                    entries.put(accountNumber, entry);
+                }
+            }
+            loading.complete(entry);
+            return entry;
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(accountNumber, loading);
+        }
+    }
+
+    // 다른 스레드의 적재 결과를 기다림 (적재가 실패했으면 같은 예외로 실패)
+    private static LedgerEntry await(CompletableFuture<LedgerEntry> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static LedgerEntry toEntry(Account account) {
+        long balance = account.isClosed() ? LedgerEntry.CLOSED : account.getBalance();
+        return new LedgerEntry(account.getId(), account.getUser().getId(), account.getAccountNumber(), balance);
+    }
+
+    // 실패 원인을 기존 DB 경로와 같은 순서로 판별 (사용자 → 계좌 → 소유주)
+    private void rejectOwner(Long userId, LedgerEntry entry) {
+        if (!shardRouter.callOnGlobalShard(() -> userRepository.existsById(userId))) {
+            throw ErrorCode.USER_NOT_FOUND.exception();
+        }
+        if (entry == null) {
+            throw ErrorCode.ACCOUNT_NOT_FOUND.exception();
+        }
+        throw ErrorCode.OWNER_MISMATCH.exception();
+    }
+}
@@ -0,0 +1,108 @@
+package com.devsehyunjin.account.ledger;
+
+import com.devsehyunjin.account.exception.ErrorCode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 메모리 원장 모드를 인스턴스 하나로 제한하는 Redis 리스.
+ * 원장 잔액은 JVM 마다 따로 있으므로 두 인스턴스가 함께 실행되면 같은 잔액을 각자 차감할 수 있다.
+ * 기동 시 리스를 얻지 못하면(다른 인스턴스가 보유 중이면) 기동을 중단하고,
+ * 실행 중 리스를 갱신하지 못한 채 만료 시각이 지나면 새 거래를 거절한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "hot-ledger")
+public class HotLedgerInstanceLease {
+
+    static final String LEASE_KEY = "account:ledger:hot:owner";
+
+    // 리스가 비어 있거나 내가 가진 경우에만 (재)획득
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('get', KEYS[1]) " +
+                    "if current == false or current == ARGV[1] then " +
+                    "redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+                    "return 1 " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end " +
+                    "return 0",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration leaseTime;
+    private final String owner = UUID.randomUUID().toString();
+
+    // 리스가 유효한 마지막 시각 (System.nanoTime)
+    private volatile long validUntil;
+
+    public HotLedgerInstanceLease(RedisTemplate<String, Object> redisTemplate,
+                                  @Value("${account.ledger.instance-lease-time:10s}") Duration leaseTime) {
+        this.redisTemplate = redisTemplate;
+        this.leaseTime = leaseTime;
+    }
+
+    @PostConstruct
+    public void acquire() {
+        if (!renew()) {
+            throw new IllegalStateException("다른 인스턴스가 메모리 원장(hot-ledger) 모드로 실행 중입니다. "
+                    + "hot-ledger 모드는 인스턴스 하나에서만 실행할 수 있습니다.");
+        }
+    }
+
+    // 리스 시간보다 짧은 주기로 갱신 (Redis 오류로 갱신하지 못해도 만료 전까지는 유효)
+    @Scheduled(fixedDelayString = "${account.ledger.instance-lease-renew-interval-ms:3000}")
+    public void renewPeriodically() {
+        try {
+            if (!renew()) {
+                log.error("메모리 원장 리스를 다른 인스턴스가 가져갔습니다. 새 거래를 거절합니다.");
+            }
+        } catch (RuntimeException e) {
+            log.warn("메모리 원장 리스 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    // 리스가 만료되었으면 거절 (원장 잔액을 바꾸기 전에 호출)
+    void verify() {
+        if (System.nanoTime() - validUntil > 0) {
+            throw ErrorCode.LEDGER_NOT_OWNER.exception();
+        }
+    }
+
+    @PreDestroy
+    public void release() {
+        validUntil = System.nanoTime();
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_KEY), owner);
+        } catch (RuntimeException e) {
+            log.warn("메모리 원장 리스 해제 실패, 만료 후 다른 인스턴스가 기동할 수 있습니다: {}", e.getMessage());
+        }
+    }
+
+    private boolean renew() {
+        long startedAt = System.nanoTime();
+        Long acquired = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(LEASE_KEY), owner, leaseTime.toMillis());
+        if (acquired == null || acquired != 1) {
+            validUntil = startedAt;
+            return false;
+        }
+        // 요청을 보낸 시각부터 계산해 Redis 쪽 만료보다 늦게 끝나지 않도록 한다
+        validUntil = startedAt + leaseTime.toNanos();
+        return true;
+    }
+}
@@ -0,0 +1,115 @@
+package com.devsehyunjin.account.ledger;
+
+import com.devsehyunjin.account.exception.ErrorCode;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+// 메모리 원장의 계좌 한 건. 잔액은 CAS로만 변경한다.
+@Getter
+class LedgerEntry {
+
+    // 해지된 계좌를 나타내는 잔액 값 (해지 여부와 잔액을 하나의 CAS로 검사하기 위함)
+    static final long CLOSED = Long.MIN_VALUE;
+
+    // 원장에서 내린 계좌를 나타내는 잔액 값 (이 항목으로는 더 이상 변경하지 않고 DB에서 다시 적재)
+    static final long EVICTED = Long.MIN_VALUE + 1;
+
+    private final Long accountId;
+    private final Long userId;
+    private final String accountNumber;
+    private final AtomicLong balance;
+
+    // 마지막 사용 시각 (System.nanoTime, 오래 쓰이지 않은 계좌를 내릴 때 사용)
+    private volatile long lastAccessedAt;
+
+    LedgerEntry(Long accountId, Long userId, String accountNumber, long balance) {
+        this.accountId = accountId;
+        this.userId = userId;
+        this.accountNumber = accountNumber;
+        this.balance = new AtomicLong(balance);
+        this.lastAccessedAt = System.nanoTime();
+    }
+
+    void touch() {
+        lastAccessedAt = System.nanoTime();
+    }
+
+    boolean isEvicted() {
+        return balance.get() == EVICTED;
+    }
+
+    // 잔액 차감: 해지 계좌, 잔액 부족이면 실패 (원장에서 내린 계좌면 false)
+    boolean debit(long amount) {
+        while (true) {
+            long current = balance.get();
+            if (current == EVICTED) {
+                return false;
+            }
+            if (current == CLOSED) {
+                throw ErrorCode.ACCOUNT_CLOSED.exception();
+            }
+            if (current < amount) {
+                throw ErrorCode.INSUFFICIENT_BALANCE.exception();
+            }
+            if (balance.compareAndSet(current, current - amount)) {
+                return true;
+            }
+        }
+    }
+
+    // 잔액 복원: 해지 계좌면 실패 (원장에서 내린 계좌면 false)
+    boolean credit(long amount) {
+        while (true) {
+            long current = balance.get();
+            if (current == EVICTED) {
+                return false;
+            }
+            if (current == CLOSED) {
+                throw ErrorCode.ACCOUNT_CLOSED.exception();
+            }
+            if (balance.compareAndSet(current, current + amount)) {
+                return true;
+            }
+        }
+    }
+
+    // 잔액이 0일 때만 해지 상태로 전환 (원장에서 내린 계좌면 false)
+    boolean close() {
+        while (true) {
+            long current = balance.get();
+            if (current == EVICTED) {
+                return false;
+            }
+            if (current == CLOSED) {
+                throw ErrorCode.ACCOUNT_CLOSED.exception();
+            }
+            if (current > 0) {
+                throw ErrorCode.BALANCE_REMAINING.exception();
+            }
+            if (balance.compareAndSet(current, CLOSED)) {
+                return true;
+            }
+        }
+    }
+
+    // 해지 처리가 DB에서 실패했을 때 되돌림
+    void reopen() {
+        balance.compareAndSet(CLOSED, 0L);
+    }
+
+    // DB 반영을 기다리는 거래가 없을 때만 원장에서 내림
+    // 차감·복원은 반영 대기 표시를 먼저 남긴 뒤 CAS 하므로, CAS 뒤에 다시 확인해 그 사이 시작된 거래가 있으면 되돌린다
+    boolean evict(BooleanSupplier allWritten) {
+        long current = balance.get();
+        if (current == EVICTED || !allWritten.getAsBoolean() || !balance.compareAndSet(current, EVICTED)) {
+            return false;
+        }
+        if (!allWritten.getAsBoolean()) {
+            balance.compareAndSet(EVICTED, current);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,283 @@
+package com.devsehyunjin.account.ledger;
+
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.event.AccountChangedEvent;
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.devsehyunjin.account.repository.TransactionJdbcRepository;
+import com.devsehyunjin.account.repository.TransactionRow;
+import com.devsehyunjin.account.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메모리 원장의 거래를 모아 DB에 배치로 반영하는 백그라운드 작성기.
+ * 한 배치의 거래 INSERT와 잔액 증감 UPDATE는 샤드별로 같은 DB 트랜잭션에서 처리된다.
+ * 샤드 트랜잭션이 커밋되면 반영한 계좌마다 AccountChangedEvent 를 다시 발행해, 반영 전에 캐시된 DB 잔액을 무효화한다.
+ * 배치가 max-attempts 번 실패하면 한 건씩 나눠 저장하고, 그래도 실패한 거래는 dead-letter 목록에 격리해
+ * 뒤의 거래 반영을 막지 않는다 (격리된 거래는 DB 잔액과 맞춰 수동으로 반영해야 함).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "hot-ledger")
+public class LedgerWriteBehindWriter {
+
+    static final String DEAD_LETTER_KEY = "account:ledger:hot:dead-letter";
+
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<PendingTransaction> queue;
+    private final int batchSize;
+    private final long pollTimeoutMillis;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final Duration flushTimeout;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    // DB에 반영했거나 dead-letter 로 격리한 거래 수
+    private final AtomicLong handledCount = new AtomicLong();
+
+    // 계좌 ID별 DB 반영 전 거래 수 (격리된 거래는 계속 남으므로 그 계좌는 원장에서 내리지 않는다)
+    private final ConcurrentMap<Long, Integer> unwritten = new ConcurrentHashMap<>();
+
+    // dead-letter 로 격리한 거래가 있는 계좌 ID
+    private final Set<Long> deadLettered = ConcurrentHashMap.newKeySet();
+
+    private final Counter retryCounter;
+    private final Counter deadLetterCounter;
+
+    private final SimpleAsyncTaskExecutor executor;
+
+    private volatile boolean running;
+    private Future<?> worker;
+
+    public LedgerWriteBehindWriter(TransactionJdbcRepository transactionJdbcRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   ShardRouter shardRouter,
+                                   RedisTemplate<String, Object> redisTemplate,
+                                   ApplicationEventPublisher eventPublisher,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${account.ledger.queue-capacity:100000}") int queueCapacity,
+                                   @Value("${account.ledger.batch-size:500}") int batchSize,
+                                   @Value("${account.ledger.poll-timeout-ms:10}") long pollTimeoutMillis,
+                                   @Value("${account.ledger.max-attempts:10}") int maxAttempts,
+                                   @Value("${account.ledger.retry-delay-ms:500}") long retryDelayMillis,
+                                   @Value("${account.ledger.flush-timeout:10s}") Duration flushTimeout,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.transactionJdbcRepository = transactionJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.redisTemplate = redisTemplate;
+        this.eventPublisher = eventPublisher;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelayMillis = retryDelayMillis;
+        this.flushTimeout = flushTimeout;
+        this.retryCounter = Counter.builder("account.ledger.write.retries")
+                .description("DB 반영에 실패해 다시 시도한 배치 수")
+                .tag("mode", "hot-ledger")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("account.ledger.dead-letter")
+                .description("DB 반영에 끝내 실패해 dead-letter 목록으로 옮긴 거래 수")
+                .tag("mode", "hot-ledger")
+                .register(meterRegistry);
+        // 가상 스레드 모드에서는 작성기도 가상 스레드에서 실행 (JDBC 대기 중 carrier 를 점유하지 않음)
+        this.executor = new SimpleAsyncTaskExecutor("ledger-write-behind-");
+        this.executor.setVirtualThreads(virtualThreads);
+        this.executor.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = executor.submit(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, ExecutionException {
+        running = false;
+        worker.get();
+    }
+
+    // 잔액을 바꾸기 전에 호출해 DB 반영 대기 거래로 표시 (원장에서 내리는 중인 계좌와 겹치지 않도록)
+    void reserve(Long accountId) {
+        unwritten.merge(accountId, 1, Integer::sum);
+    }
+
+    // 잔액을 바꾸지 못했을 때 표시를 되돌림
+    void release(Long accountId) {
+        unwritten.computeIfPresent(accountId, (id, count) -> count == 1 ? null : count - 1);
+    }
+
+    // DB 반영을 기다리거나 격리된 거래가 있는지
+    boolean hasUnwritten(Long accountId) {
+        return unwritten.containsKey(accountId);
+    }
+
+    // 격리된 거래가 있어 DB 잔액이 원장과 다른 계좌인지
+    boolean hasDeadLetter(Long accountId) {
+        return deadLettered.contains(accountId);
+    }
+
+    // 큐가 가득 차면 호출자를 대기시켜 DB가 따라올 때까지 유입을 늦춘다
+    void enqueue(PendingTransaction transaction) {
+        try {
+            queue.put(transaction);
+            enqueuedCount.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("거래 저장 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    // 지금까지 접수된 거래가 모두 DB에 반영(또는 격리)될 때까지 대기
+    // 작성기가 멈췄거나 flush-timeout 안에 끝나지 않으면 LEDGER_FLUSH_TIMEOUT
+    void flush() {
+        long target = enqueuedCount.get();
+        long deadline = System.nanoTime() + flushTimeout.toNanos();
+        while (handledCount.get() < target) {
+            if (worker == null || worker.isDone() || System.nanoTime() - deadline > 0) {
+                throw ErrorCode.LEDGER_FLUSH_TIMEOUT.exception();
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("거래 저장 대기 중 인터럽트가 발생했습니다.", e);
+            }
+        }
+    }
+
+    private void run() {
+        List<PendingTransaction> batch = new ArrayList<>(batchSize);
+        // 종료 요청 후에도 큐에 남은 거래는 모두 반영
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingTransaction first = queue.poll(pollTimeoutMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                int size = batch.size();
+                writeWithRetry(batch);
+                handledCount.addAndGet(size);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // 배치 저장에 실패하면 max-attempts 까지 재시도 (메모리 원장에는 이미 반영됨)
+    // 그래도 실패하면 한 건씩 저장해 실패 원인이 된 거래만 격리한다
+    private void writeWithRetry(List<PendingTransaction> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                log.error("원장 거래 배치 저장 실패 ({}/{}), size={}", attempt, maxAttempts, batch.size(), e);
+                if (attempt < maxAttempts) {
+                    retryCounter.increment();
+                    Thread.sleep(retryDelayMillis);
+                }
+            }
+        }
+
+        for (PendingTransaction pending : new ArrayList<>(batch)) {
+            try {
+                write(new ArrayList<>(List.of(pending)));
+            } catch (RuntimeException e) {
+                deadLetter(pending, e);
+            }
+        }
+    }
+
+    // 재시도 시 이미 커밋된 샤드를 다시 쓰지 않도록, 커밋한 샤드의 거래는 배치에서 제거한다
+    private void write(List<PendingTransaction> batch) {
+        Map<Integer, List<PendingTransaction>> byShard = new HashMap<>();
+        for (PendingTransaction pending : batch) {
+            byShard.computeIfAbsent(pending.getShard(), shard -> new ArrayList<>()).add(pending);
+        }
+        for (Map.Entry<Integer, List<PendingTransaction>> entry : byShard.entrySet()) {
+            int shard = entry.getKey();
+            shardRouter.runOnShard(shard, () -> writeShard(entry.getValue()));
+            batch.removeIf(pending -> pending.getShard() == shard);
+            entry.getValue().forEach(pending -> release(pending.getAccountId()));
+            publishChanged(entry.getValue());
+        }
+    }
+
+    // 커밋된 계좌의 조회 캐시 무효화 (반영 전에 캐시된 DB 잔액이 TTL 동안 남지 않도록)
+    private void publishChanged(List<PendingTransaction> written) {
+        Map<String, Long> owners = new HashMap<>();
+        written.forEach(pending -> owners.put(pending.getAccountNumber(), pending.getUserId()));
+        owners.forEach((accountNumber, userId) -> eventPublisher.publishEvent(new AccountChangedEvent(userId, accountNumber)));
+    }
+
+    private void writeShard(List<PendingTransaction> batch) {
+        List<TransactionRow> rows = new ArrayList<>(batch.size());
+        Map<Long, Long> deltas = new HashMap<>();
+        for (PendingTransaction pending : batch) {
+            rows.add(TransactionRow.builder()
+                    .id(pending.getId())
+                    .accountId(pending.getAccountId())
+                    .amount(pending.getAmount())
+                    .transactionType(pending.getTransactionType())
+                    .transactionResult(TransactionResult.SUCCESS)
+                    .transactionDate(pending.getTransactionDate())
+                    .originalTransactionId(pending.getOriginalTransactionId())
+                    .build());
+            deltas.merge(pending.getAccountId(), pending.balanceDelta(), Long::sum);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionJdbcRepository.batchInsert(rows);
+            transactionJdbcRepository.batchApplyBalanceDelta(deltas);
+        });
+    }
+
+    // 끝내 저장하지 못한 거래를 dead-letter 목록에 남김 (Redis 도 실패하면 로그가 유일한 기록)
+    private void deadLetter(PendingTransaction pending, RuntimeException cause) {
+        deadLetterCounter.increment();
+        deadLettered.add(pending.getAccountId());
+        String record = pending.toRecord();
+        log.error("원장 거래를 dead-letter 목록으로 옮겼습니다: {}", record, cause);
+        try {
+            redisTemplate.opsForList().rightPush(DEAD_LETTER_KEY, record);
+        } catch (RuntimeException e) {
+            log.error("dead-letter 목록 저장 실패: {}", record, e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.devsehyunjin.account.ledger;
+
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// DB 반영을 기다리는 거래
+@Getter
+@AllArgsConstructor
+class PendingTransaction {
+    // 계좌의 샤드 (거래를 계좌와 같은 샤드에 기록)
+    private final int shard;
+    private final Long id;
+    private final Long accountId;
+    // 조회 캐시 무효화용 계좌 소유주와 계좌번호
+    private final Long userId;
+    private final String accountNumber;
+    private final TransactionType transactionType;
+    private final Long amount;
+    private final LocalDateTime transactionDate;
+    // 취소 거래의 원거래 ID (사용 거래는 null)
+    private final Long originalTransactionId;
+
+    // 잔액 증감분 (사용은 차감, 취소는 복원)
+    long balanceDelta() {
+        return transactionType == TransactionType.USE ? -amount : amount;
+    }
+
+    // dead-letter 기록 형식: 거래 ID|샤드|계좌 ID|거래 종류|금액|거래 일시|원거래 ID|계좌번호
+    String toRecord() {
+        return id + "|" + shard + "|" + accountId + "|" + transactionType + "|" + amount + "|" + transactionDate + "|"
+                + (originalTransactionId != null ? originalTransactionId : "") + "|" + accountNumber;
+    }
+}
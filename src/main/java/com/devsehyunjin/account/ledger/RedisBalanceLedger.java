@@ -0,0 +1,347 @@
+package com.devsehyunjin.account.ledger;
+
+import com.devsehyunjin.account.domain.Account;
+import com.devsehyunjin.account.domain.Transaction;
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.dto.*;
+import com.devsehyunjin.account.event.AccountChangedEvent;
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.TransactionIdAllocator;
+import com.devsehyunjin.account.repository.TransactionRepository;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountService;
+import com.devsehyunjin.account.service.BalanceEngine;
+import com.devsehyunjin.account.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis 원장 모드.
+ * 계좌 잔액·해지 여부·소유주를 계좌번호별 Redis 해시에 두고, 검증과 차감(복원)을 Lua 스크립트 하나로 원자적으로 처리한다.
+ * 같은 스크립트가 거래를 계좌 파티션의 대기 목록에 추가하고(키는 RedisLedgerKeys 가 같은 슬롯에 둠), RedisLedgerDrainer 가 목록을 비동기로 DB 에 반영하므로 사용 요청에는 DB 쓰기가 없다.
+ * Redis 의 잔액이 기준이고 DB 의 account.balance 는 반영 지연만큼 뒤처질 수 있다 (Redis 는 AOF 와 noeviction 으로 운영).
+ * 기동 시 DB 의 계좌를 Redis 에 없는 것만 적재하고, 이후 생성된 계좌는 첫 거래 때 적재한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "redis")
+public class RedisBalanceLedger implements BalanceEngine, ApplicationRunner {
+
+    private static final long MAX_TRANSACTION_AMOUNT = 1_000_000;
+
+    // 스크립트 결과 코드 (0 이상이면 성공)
+    private static final long NOT_LOADED = -1;
+    private static final long OWNER_MISMATCH = -2;
+    private static final long CLOSED = -3;
+    private static final long INVALID_AMOUNT = -4;
+    private static final long INSUFFICIENT_BALANCE = -5;
+    private static final long BALANCE_REMAINING = -6;
+
+    // KEYS: 계좌 해시, 파티션의 대기 목록, 파티션의 순번 (모두 같은 해시 태그)
+    // ARGV: 거래 종류, 금액, 최대 금액, 사용자 ID(취소는 빈 값), 거래 ID, 계좌번호, 거래 일시, 원거래 ID(사용은 빈 값)
+    // 대기 목록에는 계좌 소유주도 함께 남겨, 작성기가 DB 반영 후 조회 캐시를 무효화할 수 있게 한다
+    // 검증 순서는 DB 모드와 같다 (소유주 → 금액 → 해지 → 잔액)
+    private static final RedisScript<Long> APPLY_SCRIPT = new DefaultRedisScript<>(
+            "local state = redis.call('hmget', KEYS[1], 'balance', 'closed', 'userId', 'accountId') " +
+                    "if not state[1] then return -1 end " +
+                    "if ARGV[4] ~= '' and state[3] ~= ARGV[4] then return -2 end " +
+                    "local amount = tonumber(ARGV[2]) " +
+                    "if not amount or amount <= 0 or amount > tonumber(ARGV[3]) then return -4 end " +
+                    "if state[2] == '1' then return -3 end " +
+                    "local delta = amount " +
+                    "if ARGV[1] == 'USE' then " +
+                    "if tonumber(state[1]) < amount then return -5 end " +
+                    "delta = -amount " +
+                    "end " +
+                    "redis.call('hincrby', KEYS[1], 'balance', delta) " +
+                    "local seq = redis.call('incr', KEYS[3]) " +
+                    "redis.call('rpush', KEYS[2], table.concat({seq, ARGV[5], ARGV[6], state[4], ARGV[1], ARGV[2], ARGV[7], ARGV[8], state[3]}, '|')) " +
+                    "return seq",
+            Long.class);
+
+    // KEYS: 계좌 해시, 파티션의 순번 / ARGV: 사용자 ID
+    // 잔액이 0일 때만 해지 상태로 바꾸고, 그때까지 추가된 거래의 순번을 반환 (DB 반영 대기용)
+    private static final RedisScript<Long> CLOSE_SCRIPT = new DefaultRedisScript<>(
+            "local state = redis.call('hmget', KEYS[1], 'balance', 'closed', 'userId') " +
+                    "if not state[1] then return -1 end " +
+                    "if state[3] ~= ARGV[1] then return -2 end " +
+                    "if state[2] == '1' then return -3 end " +
+                    "if tonumber(state[1]) ~= 0 then return -6 end " +
+                    "redis.call('hset', KEYS[1], 'closed', '1') " +
+                    "return tonumber(redis.call('get', KEYS[2]) or '0')",
+            Long.class);
+
+    // KEYS: 계좌 해시 / ARGV: 잔액, 해지 여부, 사용자 ID, 계좌 ID
+    // 이미 있으면 덮어쓰지 않는다 (Redis 의 값이 DB 보다 최신)
+    private static final String LOAD_SCRIPT =
+            "if redis.call('exists', KEYS[1]) == 1 then return 0 end " +
+                    "redis.call('hmset', KEYS[1], 'balance', ARGV[1], 'closed', ARGV[2], 'userId', ARGV[3], 'accountId', ARGV[4]) " +
+                    "return 1";
+
+    private static final RedisScript<Long> LOAD = new DefaultRedisScript<>(LOAD_SCRIPT, Long.class);
+
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountService accountService;
+    private final RedisLedgerDrainer drainer;
+    private final RedisLedgerKeys keys;
+    private final TransactionIdAllocator transactionIdAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int recoveryChunkSize;
+
+    public RedisBalanceLedger(AccountRepository accountRepository,
+                              UserRepository userRepository,
+                              TransactionRepository transactionRepository,
+                              AccountService accountService,
+                              RedisLedgerDrainer drainer,
+                              RedisLedgerKeys keys,
+                              TransactionIdAllocator transactionIdAllocator,
+                              ApplicationEventPublisher eventPublisher,
+                              ShardRouter shardRouter,
+                              RedisTemplate<String, Object> redisTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${account.ledger.redis.recovery-chunk-size:1000}") int recoveryChunkSize) {
+        this.accountRepository = accountRepository;
+        this.userRepository = userRepository;
+        this.transactionRepository = transactionRepository;
+        this.accountService = accountService;
+        this.drainer = drainer;
+        this.keys = keys;
+        this.transactionIdAllocator = transactionIdAllocator;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.recoveryChunkSize = recoveryChunkSize;
+    }
+
+    // 기동 시 Redis 상태 복구: 모든 샤드의 계좌를 Redis 에 없는 것만 적재 (남은 대기 거래는 작성기가 이어서 반영)
+    @Override
+    public void run(ApplicationArguments args) {
+        AtomicLong loaded = new AtomicLong();
+        shardRouter.forEachShard(() -> {
+            long afterId = 0;
+            List<Account> chunk;
+            do {
+                long cursor = afterId;
+                chunk = readOnlyTransactionTemplate.execute(status ->
+                        accountRepository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, recoveryChunkSize)));
+                loaded.addAndGet(loadAll(chunk));
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).getId();
+                }
+            } while (chunk.size() == recoveryChunkSize);
+        });
+        log.info("Redis 원장 복구 완료: DB 에서 적재한 계좌 {}개", loaded.get());
+    }
+
+    // 잔액 사용
+    @Override
+    public TransactionResponse useBalance(TransactionRequest request) {
+        // Step 1: 소유주·금액·해지·잔액 검증과 차감, 대기 목록 추가를 스크립트 하나로 처리
+        long transactionId = transactionIdAllocator.nextId();
+        LocalDateTime now = LocalDateTime.now();
+        long result = apply(TransactionType.USE, request.getAccountNumber(), request.getAmount(),
+                String.valueOf(request.getUserId()), transactionId, now, "");
+        if (result == NOT_LOADED || result == OWNER_MISMATCH) {
+            rejectOwner(request.getUserId(), result == OWNER_MISMATCH);
+        }
+        throwIfFailed(result);
+
+        // Step 2: 조회 캐시 무효화 (거래 기록은 작성기가 DB에 반영하고, 반영 후 한 번 더 무효화)
+        eventPublisher.publishEvent(new AccountChangedEvent(request.getUserId(), request.getAccountNumber()));
+
+        return response(request.getAccountNumber(), transactionId, request.getAmount(), now);
+    }
+
+    // 잔액 사용 취소
+    @Override
+    public TransactionResponse cancelBalance(CancelTransactionRequest request) {
+        // Step 1: 기존 거래 검증 후 취소 가능 금액을 DB에서 차감 (아직 DB에 반영되지 않은 거래는 취소할 수 없음)
+        Long userId = transactionTemplate.execute(status -> {
+            Transaction existingTransaction = transactionRepository.findWithAccountById(request.getTransactionId())
+                    .orElseThrow(ErrorCode.TRANSACTION_NOT_FOUND::exception);
+
+            if (!existingTransaction.getAccount().getAccountNumber().equals(request.getAccountNumber())) {
+                throw ErrorCode.TRANSACTION_ACCOUNT_MISMATCH.exception();
+            }
+
+            existingTransaction.validateCancel(request.getAmount());
+
+            if (transactionRepository.deductCancellableAmount(existingTransaction.getId(), request.getAmount()) == 0) {
+                throw ErrorCode.CANCEL_AMOUNT_EXCEEDED.exception();
+            }
+            return existingTransaction.getAccount().getUser().getId();
+        });
+
+        // Step 2: Redis 잔액 복원 (실패하면 차감한 취소 가능 금액을 되돌림)
+        long transactionId = transactionIdAllocator.nextId();
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            throwIfFailed(apply(TransactionType.CANCEL, request.getAccountNumber(), request.getAmount(), "",
+                    transactionId, now, String.valueOf(request.getTransactionId())));
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status ->
+                    transactionRepository.restoreCancellableAmount(request.getTransactionId(), request.getAmount()));
+            throw e;
+        }
+
+        eventPublisher.publishEvent(new AccountChangedEvent(userId, request.getAccountNumber()));
+
+        return response(request.getAccountNumber(), transactionId, request.getAmount(), now);
+    }
+
+    // 계좌 해지: Redis 에서 먼저 해지해 새 거래를 막고, 밀린 거래가 DB에 반영된 뒤 DB 해지
+    @Override
+    public CloseAccountResponse closeAccount(CloseAccountRequest request) {
+        String key = keys.account(request.getAccountNumber());
+        int partition = keys.partitionOf(request.getAccountNumber());
+        List<String> closeKeys = List.of(key, keys.sequence(partition));
+        Long sequence = redisTemplate.execute(CLOSE_SCRIPT, closeKeys, String.valueOf(request.getUserId()));
+        if (sequence != null && sequence == NOT_LOADED && load(request.getAccountNumber())) {
+            sequence = redisTemplate.execute(CLOSE_SCRIPT, closeKeys, String.valueOf(request.getUserId()));
+        }
+        if (sequence == null || sequence == BALANCE_REMAINING) {
+            throw ErrorCode.BALANCE_REMAINING.exception();
+        }
+        // 계좌 없음, 소유주 불일치, 이미 해지: DB 에서 같은 순서로 판별
+        if (sequence < 0) {
+            return accountService.closeAccount(request);
+        }
+
+        try {
+            drainer.awaitDrained(partition, sequence);
+            // 격리된(dead-letter) 거래가 있으면 DB 잔액을 믿을 수 없으므로 해지하지 않음
+            if (drainer.hasDeadLetter(partition, request.getAccountNumber())) {
+                throw ErrorCode.LEDGER_FLUSH_TIMEOUT.exception();
+            }
+            return accountService.closeAccount(request);
+        } catch (RuntimeException e) {
+            redisTemplate.opsForHash().put(key, "closed", "0");
+            throw e;
+        }
+    }
+
+    // 계좌가 Redis 에 아직 없으면 DB 에서 적재한 뒤 한 번 더 실행
+    private long apply(TransactionType transactionType, String accountNumber, Long amount, String userId,
+                       long transactionId, LocalDateTime transactionDate, String originalTransactionId) {
+        long result = execute(transactionType, accountNumber, amount, userId, transactionId, transactionDate,
+                originalTransactionId);
+        if (result == NOT_LOADED && load(accountNumber)) {
+            result = execute(transactionType, accountNumber, amount, userId, transactionId, transactionDate,
+                    originalTransactionId);
+        }
+        return result;
+    }
+
+    private long execute(TransactionType transactionType, String accountNumber, Long amount, String userId,
+                         long transactionId, LocalDateTime transactionDate, String originalTransactionId) {
+        int partition = keys.partitionOf(accountNumber);
+        Long result = redisTemplate.execute(APPLY_SCRIPT,
+                List.of(keys.account(accountNumber), keys.pending(partition), keys.sequence(partition)),
+                transactionType.name(), String.valueOf(amount), MAX_TRANSACTION_AMOUNT, userId,
+                transactionId, accountNumber, transactionDate.toString(), originalTransactionId);
+        return result != null ? result : NOT_LOADED;
+    }
+
+    private static void throwIfFailed(long result) {
+        if (result == INVALID_AMOUNT) {
+            throw ErrorCode.INVALID_AMOUNT.exception();
+        }
+        if (result == CLOSED) {
+            throw ErrorCode.ACCOUNT_CLOSED.exception();
+        }
+        if (result == INSUFFICIENT_BALANCE) {
+            throw ErrorCode.INSUFFICIENT_BALANCE.exception();
+        }
+        if (result == NOT_LOADED) {
+            throw ErrorCode.ACCOUNT_NOT_FOUND.exception();
+        }
+    }
+
+    // DB에서 계좌를 읽어 Redis 에 적재 (계좌가 없으면 false)
+    private boolean load(String accountNumber) {
+        return Boolean.TRUE.equals(readOnlyTransactionTemplate.execute(status ->
+                accountRepository.findByAccountNumber(accountNumber)
+                        .map(account -> {
+                            redisTemplate.execute(LOAD, List.of(keys.account(accountNumber)), loadArgs(account));
+                            return true;
+                        })
+                        .orElse(false)));
+    }
+
+    // 여러 계좌를 한 번의 왕복으로 적재하고, 새로 적재한 계좌 수를 반환
+    private long loadAll(List<Account> accounts) {
+        if (accounts.isEmpty()) {
+            return 0;
+        }
+        byte[] script = LOAD_SCRIPT.getBytes(StandardCharsets.UTF_8);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Account account : accounts) {
+                Object[] args = loadArgs(account);
+                byte[][] keysAndArgs = new byte[args.length + 1][];
+                keysAndArgs[0] = keys.account(account.getAccountNumber()).getBytes(StandardCharsets.UTF_8);
+                for (int i = 0; i < args.length; i++) {
+                    keysAndArgs[i + 1] = String.valueOf(args[i]).getBytes(StandardCharsets.UTF_8);
+                }
+                connection.scriptingCommands().eval(script, ReturnType.INTEGER, 1, keysAndArgs);
+            }
+            return null;
+        });
+        return results.stream().filter(result -> Long.valueOf(1).equals(result)).count();
+    }
+
+    private static Object[] loadArgs(Account account) {
+        return new Object[]{account.getBalance(), account.isClosed() ? "1" : "0",
+                account.getUser().getId(), account.getId()};
+    }
+
+    // 실패 원인을 기존 DB 경로와 같은 순서로 판별 (사용자 → 계좌 → 소유주)
+    private void rejectOwner(Long userId, boolean accountExists) {
+        if (!shardRouter.callOnGlobalShard(() -> userRepository.existsById(userId))) {
+            throw ErrorCode.USER_NOT_FOUND.exception();
+        }
+        if (!accountExists) {
+            throw ErrorCode.ACCOUNT_NOT_FOUND.exception();
+        }
+        throw ErrorCode.OWNER_MISMATCH.exception();
+    }
+
+    private static TransactionResponse response(String accountNumber, long transactionId, Long amount,
+                                                LocalDateTime transactionDate) {
+        return TransactionResponse.builder()
+                .accountNumber(accountNumber)
+                .transactionResult(TransactionResult.SUCCESS)
+                .transactionId(transactionId)
+                .amount(amount)
+                .transactionDate(transactionDate)
+                .build();
+    }
+}
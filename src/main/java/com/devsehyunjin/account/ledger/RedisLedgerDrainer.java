@@ -0,0 +1,344 @@
+package com.devsehyunjin.account.ledger;
+
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.event.AccountChangedEvent;
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.devsehyunjin.account.repository.TransactionJdbcRepository;
+import com.devsehyunjin.account.repository.TransactionRow;
+import com.devsehyunjin.account.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Redis 원장의 대기 목록을 읽어 DB에 배치로 반영하는 백그라운드 작성기.
+ * 대기 목록은 파티션별로 나뉘고(RedisLedgerKeys), 파티션마다 리스를 가진 한 노드만 목록 앞부분을 읽어 반영한 뒤 잘라내므로,
+ * 파티션 안에서는 목록 순서(= 순번)대로 반영되고 여러 노드가 서로 다른 파티션을 나누어 반영할 수 있다.
+ * 반영 후 잘라내기 전에 중단되면 같은 거래를 다시 읽으므로, 이미 저장된 거래 ID 는 건너뛰어 두 번 반영하지 않는다.
+ * 한 배치의 거래 INSERT와 잔액 증감 UPDATE는 샤드별로 같은 DB 트랜잭션에서 처리된다.
+ * 샤드 트랜잭션이 커밋되면 반영한 계좌마다 AccountChangedEvent 를 다시 발행해, 반영 전에 캐시된 DB 잔액을 무효화한다.
+ * 배치가 max-attempts 번 실패하면 한 건씩 저장하고, 그래도 실패한 거래는 파티션의 dead-letter 목록으로 옮겨
+ * 뒤의 거래 반영을 막지 않는다 (격리된 거래는 DB 잔액과 맞춰 수동으로 반영해야 함).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "redis")
+public class RedisLedgerDrainer {
+
+    private static final long AWAIT_POLL_MILLIS = 5;
+
+    // KEYS: 리스, 대기 목록 / ARGV: 노드 ID, 리스 시간(ms), 배치 크기
+    // 리스가 비어 있거나 내가 가진 경우에만 (재)획득하고 목록 앞부분을 반환 (리스를 얻지 못하면 nil)
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('get', KEYS[1]) " +
+                    "if current ~= false and current ~= ARGV[1] then return false end " +
+                    "redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+                    "return redis.call('lrange', KEYS[2], 0, tonumber(ARGV[3]) - 1)",
+            List.class);
+
+    // KEYS: 리스, 대기 목록, 반영 완료 순번, dead-letter / ARGV: 노드 ID, 반영한 건수, 마지막 순번, 격리할 거래...
+    // 리스를 가진 경우에만 반영한 만큼 목록을 잘라내고 반영 완료 순번을 기록 (격리할 거래는 같은 스크립트에서 옮김)
+    private static final RedisScript<Long> TRIM_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) ~= ARGV[1] then return 0 end " +
+                    "redis.call('ltrim', KEYS[2], ARGV[2], -1) " +
+                    "redis.call('set', KEYS[3], ARGV[3]) " +
+                    "for i = 4, #ARGV do redis.call('rpush', KEYS[4], ARGV[i]) end " +
+                    "return 1",
+            Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end " +
+                    "return 0",
+            Long.class);
+
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisLedgerKeys keys;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final long pollTimeoutMillis;
+    private final Duration leaseTime;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final Duration flushTimeout;
+    private final String owner = UUID.randomUUID().toString();
+
+    // 파티션별 연속 실패 횟수와 다음 시도 시각 (작성기 스레드만 사용)
+    private final int[] attempts;
+    private final long[] retryAt;
+
+    private final Counter retryCounter;
+    private final Counter deadLetterCounter;
+
+    private final SimpleAsyncTaskExecutor executor;
+
+    private volatile boolean running;
+    private Future<?> worker;
+
+    public RedisLedgerDrainer(TransactionJdbcRepository transactionJdbcRepository,
+                              TransactionTemplate transactionTemplate,
+                              ShardRouter shardRouter,
+                              RedisTemplate<String, Object> redisTemplate,
+                              RedisLedgerKeys keys,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${account.ledger.redis.batch-size:500}") int batchSize,
+                              @Value("${account.ledger.redis.poll-timeout-ms:10}") long pollTimeoutMillis,
+                              @Value("${account.ledger.redis.lease-time:10s}") Duration leaseTime,
+                              @Value("${account.ledger.max-attempts:10}") int maxAttempts,
+                              @Value("${account.ledger.retry-delay-ms:500}") long retryDelayMillis,
+                              @Value("${account.ledger.flush-timeout:10s}") Duration flushTimeout,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.transactionJdbcRepository = transactionJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.redisTemplate = redisTemplate;
+        this.keys = keys;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        this.leaseTime = leaseTime;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelayMillis = retryDelayMillis;
+        this.flushTimeout = flushTimeout;
+        this.attempts = new int[keys.getPartitions()];
+        this.retryAt = new long[keys.getPartitions()];
+        this.retryCounter = Counter.builder("account.ledger.write.retries")
+                .description("DB 반영에 실패해 다시 시도한 배치 수")
+                .tag("mode", "redis")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("account.ledger.dead-letter")
+                .description("DB 반영에 끝내 실패해 dead-letter 목록으로 옮긴 거래 수")
+                .tag("mode", "redis")
+                .register(meterRegistry);
+        this.executor = new SimpleAsyncTaskExecutor("redis-ledger-drainer-");
+        this.executor.setVirtualThreads(virtualThreads);
+        this.executor.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = executor.submit(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, ExecutionException {
+        running = false;
+        worker.get();
+        for (int partition = 0; partition < keys.getPartitions(); partition++) {
+            try {
+                redisTemplate.execute(RELEASE_SCRIPT, List.of(keys.lease(partition)), owner);
+            } catch (RuntimeException e) {
+                log.warn("Redis 원장 작성기 리스 해제 실패, 만료 후 다른 노드가 이어받습니다: {}", e.getMessage());
+            }
+        }
+    }
+
+    // 파티션의 순번 sequence 까지의 거래가 모두 DB에 반영(또는 격리)될 때까지 대기 (어느 노드가 반영하든 상관없음)
+    // flush-timeout 안에 끝나지 않으면 LEDGER_FLUSH_TIMEOUT
+    void awaitDrained(int partition, long sequence) {
+        long deadline = System.nanoTime() + flushTimeout.toNanos();
+        while (drainedSequence(partition) < sequence) {
+            if (System.nanoTime() - deadline > 0) {
+                throw ErrorCode.LEDGER_FLUSH_TIMEOUT.exception();
+            }
+            try {
+                Thread.sleep(AWAIT_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("거래 저장 대기 중 인터럽트가 발생했습니다.", e);
+            }
+        }
+    }
+
+    // 계좌의 거래가 dead-letter 목록에 격리되어 DB 잔액이 Redis 잔액과 다른지
+    boolean hasDeadLetter(int partition, String accountNumber) {
+        List<Object> records = redisTemplate.opsForList().range(keys.deadLetter(partition), 0, -1);
+        return records != null && records.stream()
+                .map(record -> record.toString().split("\\|", -1))
+                .anyMatch(fields -> fields.length > 2 && fields[2].equals(accountNumber));
+    }
+
+    private long drainedSequence(int partition) {
+        Object drained = redisTemplate.opsForValue().get(keys.drained(partition));
+        return drained != null ? Long.parseLong(drained.toString()) : 0;
+    }
+
+    // 파티션을 돌아가며 한 배치씩 반영 (실패한 파티션은 retry-delay 동안 건너뛰어 다른 파티션을 막지 않음)
+    private void run() {
+        while (running) {
+            boolean busy = false;
+            for (int partition = 0; partition < keys.getPartitions(); partition++) {
+                if (System.nanoTime() - retryAt[partition] < 0) {
+                    continue;
+                }
+                try {
+                    busy |= drainOnce(partition);
+                } catch (RuntimeException e) {
+                    // 목록은 Redis 에 남아 있으므로 버리지 않고 재시도
+                    log.error("Redis 원장 거래 반영 실패, partition={}, {}ms 후 재시도합니다.", partition, retryDelayMillis, e);
+                    retryAt[partition] = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryDelayMillis);
+                }
+            }
+            if (!busy) {
+                try {
+                    Thread.sleep(pollTimeoutMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // 파티션 목록 앞부분 한 배치를 반영 (반영할 거래가 더 남았으면 true)
+    private boolean drainOnce(int partition) {
+        List<?> entries = redisTemplate.execute(READ_SCRIPT, List.of(keys.lease(partition), keys.pending(partition)),
+                owner, leaseTime.toMillis(), batchSize);
+        if (entries == null || entries.isEmpty()) {
+            return false;
+        }
+
+        List<String> deadLetters = List.of();
+        try {
+            write(entries);
+        } catch (RuntimeException e) {
+            if (++attempts[partition] < maxAttempts) {
+                retryCounter.increment();
+                throw e;
+            }
+            // 재시도를 모두 실패하면 한 건씩 저장해 실패 원인이 된 거래만 격리
+            log.error("Redis 원장 거래 배치 저장 실패 ({}/{}), partition={}, size={}",
+                    attempts[partition], maxAttempts, partition, entries.size(), e);
+            deadLetters = writeEach(entries);
+        }
+        attempts[partition] = 0;
+
+        long lastSequence = entries.stream().mapToLong(RedisLedgerDrainer::sequenceOf).max().orElse(0);
+        List<Object> args = new ArrayList<>(deadLetters.size() + 3);
+        args.add(owner);
+        args.add(entries.size());
+        args.add(lastSequence);
+        args.addAll(deadLetters);
+        redisTemplate.execute(TRIM_SCRIPT, List.of(keys.lease(partition), keys.pending(partition),
+                keys.drained(partition), keys.deadLetter(partition)), args.toArray());
+        return entries.size() == batchSize;
+    }
+
+    private void write(List<?> entries) {
+        Map<Integer, List<PendingTransaction>> byShard = new HashMap<>();
+        for (Object entry : entries) {
+            PendingTransaction pending = parse(entry.toString().split("\\|", -1));
+            byShard.computeIfAbsent(pending.getShard(), shard -> new ArrayList<>()).add(pending);
+        }
+        byShard.forEach((shard, batch) -> {
+            shardRouter.runOnShard(shard, () -> writeShard(batch));
+            publishChanged(batch);
+        });
+    }
+
+    // 커밋된 계좌의 조회 캐시 무효화 (반영 전에 캐시된 DB 잔액이 TTL 동안 남지 않도록)
+    private void publishChanged(List<PendingTransaction> written) {
+        Map<String, Long> owners = new HashMap<>();
+        written.forEach(pending -> owners.put(pending.getAccountNumber(), pending.getUserId()));
+        owners.forEach((accountNumber, userId) -> eventPublisher.publishEvent(new AccountChangedEvent(userId, accountNumber)));
+    }
+
+    // 한 건씩 저장하고 끝내 실패한 거래를 반환
+    private List<String> writeEach(List<?> entries) {
+        List<String> failed = new ArrayList<>();
+        for (Object entry : entries) {
+            try {
+                write(List.of(entry));
+            } catch (RuntimeException e) {
+                deadLetterCounter.increment();
+                log.error("Redis 원장 거래를 dead-letter 목록으로 옮깁니다: {}", entry, e);
+                failed.add(Objects.toString(entry));
+            }
+        }
+        return failed;
+    }
+
+    private static long sequenceOf(Object entry) {
+        String record = entry.toString();
+        int end = record.indexOf('|');
+        try {
+            return Long.parseLong(end < 0 ? record : record.substring(0, end));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // 순번|거래 ID|계좌번호|계좌 ID|거래 종류|금액|거래 일시|원거래 ID|사용자 ID
+    private PendingTransaction parse(String[] fields) {
+        return new PendingTransaction(
+                shardRouter.shardOf(fields[2]),
+                Long.parseLong(fields[1]),
+                Long.parseLong(fields[3]),
+                Long.parseLong(fields[8]),
+                fields[2],
+                TransactionType.valueOf(fields[4]),
+                Long.parseLong(fields[5]),
+                LocalDateTime.parse(fields[6]),
+                fields[7].isEmpty() ? null : Long.parseLong(fields[7]));
+    }
+
+    // 이미 저장된 거래(잘라내기 전에 중단된 이전 반영분)는 건너뛴다
+    private void writeShard(List<PendingTransaction> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<Long> existingIds = transactionJdbcRepository.findExistingIds(
+                    batch.stream().map(PendingTransaction::getId).collect(Collectors.toList()));
+
+            List<TransactionRow> rows = new ArrayList<>(batch.size());
+            Map<Long, Long> deltas = new HashMap<>();
+            for (PendingTransaction pending : batch) {
+                if (existingIds.contains(pending.getId())) {
+                    continue;
+                }
+                rows.add(TransactionRow.builder()
+                        .id(pending.getId())
+                        .accountId(pending.getAccountId())
+                        .amount(pending.getAmount())
+                        .transactionType(pending.getTransactionType())
+                        .transactionResult(TransactionResult.SUCCESS)
+                        .transactionDate(pending.getTransactionDate())
+                        .originalTransactionId(pending.getOriginalTransactionId())
+                        .build());
+                deltas.merge(pending.getAccountId(), pending.balanceDelta(), Long::sum);
+            }
+
+            transactionJdbcRepository.batchInsert(rows);
+            transactionJdbcRepository.batchApplyBalanceDelta(deltas);
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package com.devsehyunjin.account.ledger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 원장 키.
+ * 계좌를 계좌번호 해시로 파티션에 나누고, 파티션의 계좌 해시·대기 목록·순번·반영 완료 순번·dead-letter·리스 키에
+ * 같은 해시 태그({p파티션})를 붙여 Redis Cluster 에서도 한 슬롯에 둔다 (Lua 스크립트 하나가 여러 키를 다룰 수 있도록).
+ * 파티션마다 대기 목록과 순번이 따로 있으므로 모든 사용 요청이 키 하나에 몰리지 않는다.
+ * 파티션 수를 바꾸면 기존 키를 찾지 못하므로, 대기 목록을 모두 반영하고 원장 키를 지운 뒤 바꾼다.
+ */
+@Component
+@ConditionalOnProperty(name = "account.balance.mode", havingValue = "redis")
+public class RedisLedgerKeys {
+
+    private static final String PREFIX = "account:ledger:{p";
+
+    private final int partitions;
+
+    public RedisLedgerKeys(@Value("${account.ledger.redis.partitions:16}") int partitions) {
+        this.partitions = Math.max(1, partitions);
+    }
+
+    int getPartitions() {
+        return partitions;
+    }
+
+    int partitionOf(String accountNumber) {
+        return Math.floorMod(accountNumber.hashCode(), partitions);
+    }
+
+    // 계좌 해시 (잔액, 해지 여부, 소유주, 계좌 ID)
+    String account(String accountNumber) {
+        return tag(partitionOf(accountNumber)) + "account:" + accountNumber;
+    }
+
+    // DB 반영 대기 거래 목록
+    String pending(int partition) {
+        return tag(partition) + "pending";
+    }
+
+    // 대기 목록에 추가한 마지막 순번
+    String sequence(int partition) {
+        return tag(partition) + "seq";
+    }
+
+    // DB에 반영한 마지막 순번
+    String drained(int partition) {
+        return tag(partition) + "drained";
+    }
+
+    // 끝내 DB에 반영하지 못한 거래
+    String deadLetter(int partition) {
+        return tag(partition) + "dead-letter";
+    }
+
+    // 대기 목록을 반영하는 노드의 리스
+    String lease(int partition) {
+        return tag(partition) + "drainer";
+    }
+
+    private static String tag(int partition) {
+        return PREFIX + partition + "}:";
+    }
+}
@@ -0,0 +1,18 @@
+package com.devsehyunjin.account.lock;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 계좌 단위 분산 락 핸들
+@Getter
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class AccountLock {
+    private final String accountNumber;
+
+    // 락 키에 저장되는 소유자 식별값 (해제 시 본인 락인지 확인)
+    private final String owner;
+
+    // 락 획득 순서대로 단조 증가하는 펜싱 토큰
+    private final long fencingToken;
+}
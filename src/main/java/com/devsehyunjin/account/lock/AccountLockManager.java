@@ -0,0 +1,198 @@
+package com.devsehyunjin.account.lock;
+
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.devsehyunjin.account.repository.AccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Redis 기반 계좌번호 단위 분산 락.
+ * 서로 다른 계좌는 서로 다른 키를 사용하므로 병렬로 처리된다.
+ * 락 획득 시 발급하는 펜싱 토큰은 DB 의 계좌 행에 기록해 검사한다 (TransactionFacade 참고).
+ * 토큰 카운터가 Redis 재시작·장애 조치·eviction 으로 사라지면 DB 에 기록된 토큰부터 다시 센다 (카운터가 1부터 다시 시작하면
+ * DB 의 토큰을 따라잡을 때까지 모든 쓰기가 거절되므로).
+ * 락 키와 카운터 키에 같은 해시 태그({계좌번호})를 붙여 Redis Cluster 에서도 한 슬롯에 둔다.
+ */
+@Slf4j
+@Component
+public class AccountLockManager {
+
+    private static final String LOCK_KEY_PREFIX = "account:lock:{";
+    private static final String FENCE_KEY_PREFIX = "account:lock:fence:{";
+    private static final String NO_SEED = "";
+    private static final long SEED_REQUIRED = -1;
+
+    private static final long MIN_BACKOFF_MILLIS = 2;
+    private static final long MAX_BACKOFF_MILLIS = 50;
+
+    // 락 획득에 성공한 경우에만 펜싱 토큰을 발급 (획득 순서 = 토큰 순서)
+    // 카운터가 없으면 ARGV[3](DB 에 기록된 토큰)으로 시작하고, 시작값이 없으면 락을 돌려주고 -1 반환
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('set', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then " +
+                    "if redis.call('exists', KEYS[2]) == 0 then " +
+                    "if ARGV[3] == '' then " +
+                    "redis.call('del', KEYS[1]) " +
+                    "return -1 " +
+                    "end " +
+                    "redis.call('set', KEYS[2], ARGV[3]) " +
+                    "end " +
+                    "return redis.call('incr', KEYS[2]) " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    // 카운터가 DB 에 기록된 토큰보다 뒤처져 있으면 따라잡기
+    private static final RedisScript<Long> RAISE_SCRIPT = new DefaultRedisScript<>(
+            "local current = tonumber(redis.call('get', KEYS[1]) or '0') " +
+                    "if current < tonumber(ARGV[1]) then " +
+                    "redis.call('set', KEYS[1], ARGV[1]) " +
+                    "return 1 " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    // 본인이 보유한 락만 해제
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+                    "return redis.call('del', KEYS[1]) " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final AccountRepository accountRepository;
+    private final Duration leaseTime;
+    private final Duration waitTime;
+
+    private final Timer acquiredTimer;
+    private final Timer timeoutTimer;
+    private final Counter leaseExpiredCounter;
+
+    public AccountLockManager(RedisTemplate<String, Object> redisTemplate,
+                              AccountRepository accountRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${account.lock.lease-time:3s}") Duration leaseTime,
+                              @Value("${account.lock.wait-time:5s}") Duration waitTime) {
+        this.redisTemplate = redisTemplate;
+        this.accountRepository = accountRepository;
+        this.leaseTime = leaseTime;
+        this.waitTime = waitTime;
+        this.acquiredTimer = waitTimer(meterRegistry, "acquired");
+        this.timeoutTimer = waitTimer(meterRegistry, "timeout");
+        this.leaseExpiredCounter = Counter.builder("account.lock.lease.expired")
+                .description("락 보유 시간이 만료된 뒤 작업이 끝난 횟수")
+                .register(meterRegistry);
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("account.lock.wait")
+                .description("계좌 락 획득까지 대기한 시간")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // 락을 획득한 상태에서 작업을 실행하고, 끝나면 반드시 해제
+    public <T> T executeWithLock(String accountNumber, Function<AccountLock, T> action) {
+        AccountLock lock = acquire(accountNumber);
+        try {
+            return action.apply(lock);
+        } finally {
+            release(lock);
+        }
+    }
+
+    // 여러 계좌의 락을 계좌번호 순서로 획득 (교착 상태 방지)
+    public <T> T executeWithLocks(Collection<String> accountNumbers, Function<List<AccountLock>, T> action) {
+        List<AccountLock> locks = new ArrayList<>(accountNumbers.size());
+        try {
+            for (String accountNumber : new TreeSet<>(accountNumbers)) {
+                locks.add(acquire(accountNumber));
+            }
+            return action.apply(locks);
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                release(locks.get(i));
+            }
+        }
+    }
+
+    public AccountLock acquire(String accountNumber) {
+        String owner = UUID.randomUUID().toString();
+        List<String> keys = List.of(lockKey(accountNumber), fenceKey(accountNumber));
+
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + waitTime.toNanos();
+        long backoff = MIN_BACKOFF_MILLIS;
+
+        while (true) {
+            Long token = redisTemplate.execute(ACQUIRE_SCRIPT, keys, owner, leaseTime.toMillis(), NO_SEED);
+            if (token != null && token == SEED_REQUIRED) {
+                // 카운터가 사라졌으면 DB 에 기록된 토큰을 시작값으로 다시 획득 (계좌가 없으면 0부터)
+                String seed = String.valueOf(accountRepository.findFenceTokenByAccountNumber(accountNumber).orElse(0L));
+                token = redisTemplate.execute(ACQUIRE_SCRIPT, keys, owner, leaseTime.toMillis(), seed);
+            }
+            if (token != null && token > 0) {
+                acquiredTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                return new AccountLock(accountNumber, owner, token);
+            }
+
+            if (System.nanoTime() >= deadline) {
+                timeoutTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                throw ErrorCode.LOCK_TIMEOUT.exception();
+            }
+
+            // 지터를 섞은 지수 백오프로 재시도 (대기자가 동시에 몰리지 않도록)
+            sleep(ThreadLocalRandom.current().nextLong(MIN_BACKOFF_MILLIS, backoff + 1));
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    public void release(AccountLock lock) {
+        Long released = redisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey(lock.getAccountNumber())), lock.getOwner());
+        if (released == null || released == 0) {
+            leaseExpiredCounter.increment();
+            log.warn("락 보유 시간이 만료된 뒤 해제를 시도했습니다. accountNumber={}, token={}",
+                    lock.getAccountNumber(), lock.getFencingToken());
+        }
+    }
+
+    // DB 에 더 큰 토큰이 기록되어 있으면 카운터를 그 값으로 올림 (이후 발급하는 토큰이 다시 거절되지 않도록)
+    public void raiseFencingToken(String accountNumber, long recordedToken) {
+        redisTemplate.execute(RAISE_SCRIPT, List.of(fenceKey(accountNumber)), recordedToken);
+    }
+
+    private static String lockKey(String accountNumber) {
+        return LOCK_KEY_PREFIX + accountNumber + "}";
+    }
+
+    private static String fenceKey(String accountNumber) {
+        return FENCE_KEY_PREFIX + accountNumber + "}";
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("락 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.devsehyunjin.account.lock;
+
+import java.util.Locale;
+
+/**
+ * DB 잔액 모드에서 같은 계좌의 동시 갱신을 막는 방식 (account.concurrency.mode).
+ */
+public enum ConcurrencyMode {
+
+    // Redis 분산 락 + 펜싱 토큰 (기본값)
+    LOCK,
+    // 락 없이 실행하고 @Version 충돌 시 재시도
+    OPTIMISTIC,
+    // 트랜잭션 안에서 계좌 행을 SELECT ... FOR UPDATE 로 잠금
+    PESSIMISTIC;
+
+    public static ConcurrencyMode from(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,124 @@
+package com.devsehyunjin.account.lock;
+
+import com.devsehyunjin.account.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 낙관적 락(@Version) 충돌 시 트랜잭션 전체를 다시 실행한다.
+ * 기본 정책은 account.concurrency.retry.* 이고, 연산별로 account.concurrency.retry.operations.{연산}.* 에서 덮어쓴다.
+ * 충돌한 요청들이 같은 시점에 다시 부딪히지 않도록 지수적으로 늘어나는 상한 안에서 대기 시간을 무작위로 고른다.
+ */
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+
+    private static final String RETRY_PREFIX = "account.concurrency.retry.";
+    private static final String OPERATION_PREFIX = RETRY_PREFIX + "operations.";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final RetryPolicy defaultPolicy;
+
+    // 연산별 정책과 메트릭 (처음 호출될 때 한 번만 만든다)
+    private final ConcurrentMap<String, OperationRetry> operations = new ConcurrentHashMap<>();
+
+    public OptimisticRetryExecutor(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.defaultPolicy = new RetryPolicy(
+                environment.getProperty(RETRY_PREFIX + "max-attempts", Integer.class, 5),
+                environment.getProperty(RETRY_PREFIX + "initial-backoff", Duration.class, Duration.ofMillis(2)),
+                environment.getProperty(RETRY_PREFIX + "max-backoff", Duration.class, Duration.ofMillis(50)));
+    }
+
+    // action 은 트랜잭션 하나를 시작부터 커밋까지 실행해야 한다 (충돌은 커밋 시점의 UPDATE 에서 드러난다)
+    public <T> T execute(String operation, Supplier<T> action) {
+        OperationRetry retry = operations.computeIfAbsent(operation, this::createOperationRetry);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                retry.conflicts.increment();
+                if (attempt >= retry.policy.maxAttempts) {
+                    retry.exhausted.increment();
+                    log.warn("낙관적 락 충돌로 재시도 횟수를 모두 사용했습니다. operation={}, attempts={}",
+                            operation, attempt);
+                    throw ErrorCode.CONCURRENT_MODIFICATION.exception();
+                }
+                retry.retries.increment();
+                sleep(retry.policy.backoffMillis(attempt));
+            }
+        }
+    }
+
+    private OperationRetry createOperationRetry(String operation) {
+        String prefix = OPERATION_PREFIX + operation + ".";
+        RetryPolicy policy = new RetryPolicy(
+                environment.getProperty(prefix + "max-attempts", Integer.class, defaultPolicy.maxAttempts),
+                environment.getProperty(prefix + "initial-backoff", Duration.class, defaultPolicy.initialBackoff),
+                environment.getProperty(prefix + "max-backoff", Duration.class, defaultPolicy.maxBackoff));
+        return new OperationRetry(policy,
+                counter("account.optimistic.conflicts", "낙관적 락 충돌 횟수", operation),
+                counter("account.optimistic.retries", "충돌 후 다시 실행한 횟수", operation),
+                counter("account.optimistic.exhausted", "재시도 횟수를 모두 사용해 실패한 요청 수", operation));
+    }
+
+    private Counter counter(String name, String description, String operation) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("낙관적 락 재시도 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    private static final class RetryPolicy {
+        private final int maxAttempts;
+        private final Duration initialBackoff;
+        private final Duration maxBackoff;
+
+        private RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("max-attempts 는 1 이상이어야 합니다: " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+        }
+
+        // attempt 번째 실패 후 대기 시간: [0, min(max, initial * 2^(attempt-1))] 에서 무작위
+        private long backoffMillis(int attempt) {
+            long ceiling = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+            return ThreadLocalRandom.current().nextLong(Math.min(ceiling, maxBackoff.toMillis()) + 1);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class OperationRetry {
+        private final RetryPolicy policy;
+        private final Counter conflicts;
+        private final Counter retries;
+        private final Counter exhausted;
+    }
+}
@@ -0,0 +1,160 @@
+package com.devsehyunjin.account.metrics;
+
+import com.devsehyunjin.account.exception.AccountException;
+import com.devsehyunjin.account.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * AccountService 연산별 지연 시간, 성공/실패(사유별) 횟수, 연산 한 번당 리포지토리 호출 수를 기록.
+ * 트랜잭션 커밋까지 포함해 측정하도록 @Transactional 프록시보다 바깥에서 실행된다.
+ *
+ * account.service.operation         (timer)   operation, result=success|failure, reason
+ * account.service.repository.calls  (summary) operation  - 연산 한 번당 리포지토리 호출 수
+ * account.repository.calls          (counter) operation, repository, method
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class AccountServiceMetricsAspect {
+
+    private static final String NONE = "none";
+    private static final String UNKNOWN = "unknown";
+
+    // 오류 코드 → 실패 사유 태그 (insufficient_balance 등), 업무 오류가 아니면 unknown
+    private static final Map<ErrorCode, String> FAILURE_REASONS = new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            FAILURE_REASONS.put(errorCode, errorCode.name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    // 현재 스레드에서 실행 중인 AccountService 연산 (리포지토리 호출을 연산에 귀속시키기 위함)
+    private static final ThreadLocal<OperationContext> CURRENT = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    // 태그 조합별 미터 (호출마다 빌더로 등록하지 않도록 처음 쓸 때 한 번만 등록)
+    private final ConcurrentMap<OperationKey, Timer> operationTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> repositoryCallSummaries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<RepositoryCallKey, Counter> repositoryCallCounters = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.devsehyunjin.account.service.AccountService.*(..))")
+    public Object measureOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        String operation = joinPoint.getSignature().getName();
+        OperationContext parent = CURRENT.get();
+        OperationContext context = new OperationContext(operation);
+        CURRENT.set(context);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "success";
+        String reason = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            result = "failure";
+            reason = failureReason(e);
+            throw e;
+        } finally {
+            sample.stop(operationTimers.computeIfAbsent(new OperationKey(operation, result, reason), this::operationTimer));
+            repositoryCallSummaries.computeIfAbsent(operation, this::repositoryCallSummary)
+                    .record(context.repositoryCalls);
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    // Spring Data 리포지토리와 repository 패키지의 JDBC 리포지토리 호출
+    @Around("target(org.springframework.data.repository.Repository) " +
+            "|| within(com.devsehyunjin.account.repository..*)")
+    public Object countRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        OperationContext context = CURRENT.get();
+        if (context != null) {
+            context.repositoryCalls++;
+            RepositoryCallKey key = new RepositoryCallKey(context.operation, repositoryName(joinPoint),
+                    joinPoint.getSignature().getName());
+            repositoryCallCounters.computeIfAbsent(key, this::repositoryCallCounter).increment();
+        }
+        return joinPoint.proceed();
+    }
+
+    private Timer operationTimer(OperationKey key) {
+        return Timer.builder("account.service.operation")
+                .description("AccountService 연산 처리 시간 (커밋 포함)")
+                .tag("operation", key.operation())
+                .tag("result", key.result())
+                .tag("reason", key.reason())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary repositoryCallSummary(String operation) {
+        return DistributionSummary.builder("account.service.repository.calls")
+                .description("AccountService 연산 한 번당 리포지토리 호출 수")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private Counter repositoryCallCounter(RepositoryCallKey key) {
+        return Counter.builder("account.repository.calls")
+                .description("AccountService 연산별 리포지토리 메서드 호출 수")
+                .tag("operation", key.operation())
+                .tag("repository", key.repository())
+                .tag("method", key.method())
+                .register(meterRegistry);
+    }
+
+    private static String failureReason(Throwable e) {
+        if (e instanceof AccountException accountException) {
+            return FAILURE_REASONS.get(accountException.getErrorCode());
+        }
+        return UNKNOWN;
+    }
+
+    // Spring Data 프록시는 구현 클래스 대신 선언한 리포지토리 인터페이스 이름을 사용
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        Object target = joinPoint.getThis();
+        for (Class<?> type : target.getClass().getInterfaces()) {
+            if (type.getPackageName().startsWith("com.devsehyunjin.account.repository")) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+
+    private record OperationKey(String operation, String result, String reason) {
+    }
+
+    private record RepositoryCallKey(String operation, String repository, String method) {
+    }
+
+    private static class OperationContext {
+        private final String operation;
+        private int repositoryCalls;
+
+        private OperationContext(String operation) {
+            this.operation = operation;
+        }
+    }
+}
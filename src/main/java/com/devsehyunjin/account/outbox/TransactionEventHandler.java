@@ -0,0 +1,17 @@
+package com.devsehyunjin.account.outbox;
+
+import com.devsehyunjin.account.event.TransactionEvent;
+
+/**
+ * 거래 스트림 소비자. 빈으로 등록하면 TransactionEventStream 이 group() 컨슈머 그룹으로 구독한다.
+ * 같은 그룹의 인스턴스끼리는 메시지를 나눠 받으므로 노드를 늘리면 처리량이 늘어난다.
+ * 정상 반환하면 확인(XACK)되고, 예외를 던지면 미확인으로 남아 나중에 다시 전달된다 (적어도 한 번).
+ */
+public interface TransactionEventHandler {
+
+    // 컨슈머 그룹 이름 (소비 시스템별로 구분, 예: fraud, notification, analytics)
+    String group();
+
+    // 같은 이벤트가 두 번 이상 올 수 있으므로 transactionId 로 멱등하게 처리해야 한다
+    void handle(TransactionEvent event);
+}
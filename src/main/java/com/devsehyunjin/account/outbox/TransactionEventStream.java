@@ -0,0 +1,241 @@
+package com.devsehyunjin.account.outbox;
+
+import com.devsehyunjin.account.event.TransactionEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 거래 스트림(Redis Stream) 구독 컨테이너.
+ * 등록된 TransactionEventHandler 마다 컨슈머 그룹으로 XREADGROUP 하고, 처리에 성공한 메시지만 XACK 한다.
+ * 처리 중 죽거나 실패해 오래 미확인으로 남은 메시지는 주기적으로 가져와(XCLAIM) 다시 처리하고,
+ * max-deliveries 를 넘긴 메시지는 dead-letter 스트림으로 옮긴다.
+ * 소비자는 이벤트에 담긴 값만 사용하므로 인스턴스를 늘려도 DB 조회 부하가 늘지 않는다.
+ */
+@Slf4j
+@Component
+public class TransactionEventStream implements SmartLifecycle {
+
+    private static final String DEAD_LETTER_SUFFIX = ":dead-letter";
+
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectProvider<TransactionEventHandler> handlerProvider;
+    private final MeterRegistry meterRegistry;
+    private final String streamKey;
+    private final String consumerName;
+    private final Duration pollTimeout;
+    private final int readBatchSize;
+    private final Duration claimMinIdle;
+    private final long maxDeliveries;
+    private final boolean virtualThreads;
+
+    private List<TransactionEventHandler> handlers = List.of();
+    // 그룹별 처리 결과 카운터 (구독 시작 시 등록)
+    private Map<String, HandledCounters> handledCounters = Map.of();
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+    private volatile boolean running;
+
+    public TransactionEventStream(RedisConnectionFactory connectionFactory,
+                                  RedisTemplate<String, Object> redisTemplate,
+                                  ObjectProvider<TransactionEventHandler> handlerProvider,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${account.outbox.stream.key:account:transactions}") String streamKey,
+                                  @Value("${account.outbox.stream.consumer-name:}") String consumerName,
+                                  @Value("${account.outbox.stream.poll-timeout:1s}") Duration pollTimeout,
+                                  @Value("${account.outbox.stream.read-batch-size:100}") int readBatchSize,
+                                  @Value("${account.outbox.stream.claim-min-idle:30s}") Duration claimMinIdle,
+                                  @Value("${account.outbox.stream.max-deliveries:5}") long maxDeliveries,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.connectionFactory = connectionFactory;
+        this.redisTemplate = redisTemplate;
+        this.handlerProvider = handlerProvider;
+        this.meterRegistry = meterRegistry;
+        this.streamKey = streamKey;
+        // 인스턴스마다 다른 컨슈머 이름 (재시작한 인스턴스의 미확인 메시지는 다른 인스턴스가 XCLAIM 으로 가져감)
+        this.consumerName = consumerName.isBlank() ? "consumer-" + UUID.randomUUID() : consumerName;
+        this.pollTimeout = pollTimeout;
+        this.readBatchSize = readBatchSize;
+        this.claimMinIdle = claimMinIdle;
+        this.maxDeliveries = maxDeliveries;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @Override
+    public void start() {
+        handlers = handlerProvider.orderedStream().toList();
+        handledCounters = handlers.stream()
+                .map(TransactionEventHandler::group)
+                .distinct()
+                .collect(Collectors.toUnmodifiableMap(group -> group, group -> new HandledCounters(meterRegistry, group)));
+        if (handlers.isEmpty()) {
+            // 구독자가 없으면 Redis 에 연결하지 않음
+            running = true;
+            return;
+        }
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("transaction-stream-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setDaemon(true);
+
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+                StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(pollTimeout)
+                        .batchSize(readBatchSize)
+                        .executor(executor)
+                        .serializer(StringRedisSerializer.UTF_8)
+                        .errorHandler(e -> log.warn("거래 스트림 읽기 실패: {}", e.getMessage()))
+                        .build();
+        container = StreamMessageListenerContainer.create(connectionFactory, options);
+
+        for (TransactionEventHandler handler : handlers) {
+            createGroup(handler.group());
+            // 자동 확인하지 않고 처리 성공 후 XACK, 읽기 오류(Redis 재시작 등)가 나도 구독을 유지
+            container.register(StreamReadRequest.builder(StreamOffset.create(streamKey, ReadOffset.lastConsumed()))
+                            .consumer(Consumer.from(handler.group(), consumerName))
+                            .autoAcknowledge(false)
+                            .cancelOnError(e -> false)
+                            .build(),
+                    record -> dispatch(handler, record.getId(), record.getValue()));
+        }
+        container.start();
+        running = true;
+        log.info("거래 스트림 구독 시작: stream={}, consumer={}, groups={}",
+                streamKey, consumerName, handlers.stream().map(TransactionEventHandler::group).toList());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 오래 미확인으로 남은 메시지(처리 중 죽은 인스턴스, 처리 실패)를 가져와 다시 처리
+    @Scheduled(fixedDelayString = "${account.outbox.stream.claim-interval-ms:5000}")
+    public void reclaimPending() {
+        if (!running || container == null) {
+            return;
+        }
+        for (TransactionEventHandler handler : handlers) {
+            try {
+                reclaimPending(handler);
+            } catch (RuntimeException e) {
+                log.warn("거래 스트림 미확인 메시지 회수 실패: group={}, {}", handler.group(), e.getMessage());
+            }
+        }
+    }
+
+    private void reclaimPending(TransactionEventHandler handler) {
+        PendingMessages pending = redisTemplate.opsForStream()
+                .pending(streamKey, handler.group(), Range.unbounded(), readBatchSize);
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(claimMinIdle) < 0) {
+                continue;
+            }
+            List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream()
+                    .claim(streamKey, handler.group(), consumerName, claimMinIdle, message.getId());
+            for (MapRecord<String, Object, Object> record : claimed) {
+                if (message.getTotalDeliveryCount() >= maxDeliveries) {
+                    deadLetter(handler, record);
+                } else {
+                    dispatch(handler, record.getId(), record.getValue());
+                }
+            }
+        }
+    }
+
+    private void dispatch(TransactionEventHandler handler, RecordId id, Map<?, ?> fields) {
+        try {
+            handler.handle(TransactionEvent.fromFields(fields));
+            redisTemplate.opsForStream().acknowledge(streamKey, handler.group(), id);
+            countersOf(handler).success.increment();
+        } catch (RuntimeException e) {
+            // 확인하지 않으면 미확인 목록에 남아 claim-min-idle 이후 다시 전달된다
+            countersOf(handler).failure.increment();
+            log.warn("거래 이벤트 처리 실패: group={}, id={}, {}", handler.group(), id, e.getMessage());
+        }
+    }
+
+    // 계속 실패하는 메시지는 dead-letter 스트림으로 옮기고 확인 처리 (뒤 메시지 처리를 막지 않도록)
+    private void deadLetter(TransactionEventHandler handler, MapRecord<String, Object, Object> record) {
+        Map<Object, Object> fields = new LinkedHashMap<>(record.getValue());
+        fields.put("group", handler.group());
+        fields.put("originalId", record.getId().getValue());
+        redisTemplate.opsForStream().add(StreamRecords.newRecord()
+                .in(streamKey + DEAD_LETTER_SUFFIX)
+                .ofMap(fields));
+        redisTemplate.opsForStream().acknowledge(streamKey, handler.group(), record.getId());
+        countersOf(handler).deadLetter.increment();
+        log.error("거래 이벤트를 dead-letter 스트림으로 옮겼습니다: group={}, id={}", handler.group(), record.getId());
+    }
+
+    // 그룹이 없으면 스트림과 함께 만든다 (0-0 부터: 그룹 생성 전에 발행된, 스트림에 남아 있는 이벤트도 받는다)
+    private void createGroup(String group) {
+        try {
+            redisTemplate.opsForStream().createGroup(streamKey, ReadOffset.from("0-0"), group);
+        } catch (RedisSystemException e) {
+            // BUSYGROUP: 다른 인스턴스가 이미 만든 그룹
+            log.debug("거래 스트림 컨슈머 그룹이 이미 존재합니다: group={}", group);
+        }
+    }
+
+    private HandledCounters countersOf(TransactionEventHandler handler) {
+        return handledCounters.get(handler.group());
+    }
+
+    private static class HandledCounters {
+        private final Counter success;
+        private final Counter failure;
+        private final Counter deadLetter;
+
+        private HandledCounters(MeterRegistry meterRegistry, String group) {
+            this.success = counter(meterRegistry, group, "success");
+            this.failure = counter(meterRegistry, group, "failure");
+            this.deadLetter = counter(meterRegistry, group, "dead_letter");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String group, String result) {
+            return Counter.builder("account.transaction.stream.handled")
+                    .description("거래 스트림 메시지 처리 결과")
+                    .tag("group", group)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.devsehyunjin.account.outbox;
+
+import com.devsehyunjin.account.event.TransactionEvent;
+import com.devsehyunjin.account.repository.TransactionOutboxJdbcRepository;
+import com.devsehyunjin.account.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 아웃박스에 쌓인 거래 이벤트를 Redis Stream 으로 발행한다.
+ * 한 배치를 파이프라인으로 XADD 한 뒤 아웃박스 행을 삭제하므로, 삭제 전에 실패하면 다음 주기에 다시 발행된다 (적어도 한 번).
+ * 여러 노드가 떠 있어도 리스를 가진 한 노드만 발행해 스트림의 순서가 아웃박스 ID 순서를 따른다.
+ * 아웃박스는 거래와 같은 샤드에 있으므로 샤드를 차례로 돌며 발행한다 (순서는 샤드 안에서만, 즉 계좌별로 보장).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "account.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionOutboxRelay {
+
+    private static final String LEASE_KEY = "account:outbox:relay";
+    private static final long MAX_FAILURE_BACKOFF_MILLIS = 30_000;
+
+    // 리스가 비어 있거나 내가 가진 경우에만 (재)획득
+    private static final RedisScript<Long> LEASE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('get', KEYS[1]) " +
+                    "if current == false or current == ARGV[1] then " +
+                    "redis.call('set', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+                    "return 1 " +
+                    "end " +
+                    "return 0",
+            Long.class);
+
+    private final TransactionOutboxJdbcRepository outboxJdbcRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ShardRouter shardRouter;
+    private final byte[] streamKey;
+    private final XAddOptions addOptions;
+    private final int batchSize;
+    private final Duration leaseTime;
+    private final String owner = UUID.randomUUID().toString();
+
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+
+    // Redis 장애 중에는 주기마다 재시도하지 않고 실패 횟수에 따라 간격을 늘린다 (스케줄러 스레드에서만 접근)
+    private int consecutiveFailures;
+    private long retryAtNanos;
+
+    public TransactionOutboxRelay(TransactionOutboxJdbcRepository outboxJdbcRepository,
+                                  RedisTemplate<String, Object> redisTemplate,
+                                  ShardRouter shardRouter,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${account.outbox.stream.key:account:transactions}") String streamKey,
+                                  @Value("${account.outbox.stream.max-length:1000000}") long maxLength,
+                                  @Value("${account.outbox.relay.batch-size:500}") int batchSize,
+                                  @Value("${account.outbox.relay.lease-time:5s}") Duration leaseTime) {
+        this.outboxJdbcRepository = outboxJdbcRepository;
+        this.redisTemplate = redisTemplate;
+        this.shardRouter = shardRouter;
+        this.streamKey = streamKey.getBytes(StandardCharsets.UTF_8);
+        // 오래된 메시지는 대략적인 길이 제한(MAXLEN ~)으로 잘라 메모리를 제한
+        this.addOptions = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+        this.batchSize = batchSize;
+        this.leaseTime = leaseTime;
+        this.publishedCounter = Counter.builder("account.outbox.published")
+                .description("거래 스트림으로 발행한 아웃박스 이벤트 수")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("account.outbox.relay.failures")
+                .description("아웃박스 발행 주기가 실패한 횟수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${account.outbox.relay.interval-ms:100}")
+    public void relay() {
+        if (consecutiveFailures > 0 && System.nanoTime() < retryAtNanos) {
+            return;
+        }
+        try {
+            shardRouter.forEachShard(this::relayShard);
+            consecutiveFailures = 0;
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            long backoffMillis = Math.min(100L << Math.min(consecutiveFailures++, 10), MAX_FAILURE_BACKOFF_MILLIS);
+            retryAtNanos = System.nanoTime() + backoffMillis * 1_000_000;
+            log.warn("아웃박스 발행 실패, {}ms 후 다시 시도합니다: {}", backoffMillis, e.getMessage());
+        }
+    }
+
+    // 현재 샤드의 아웃박스 발행
+    private void relayShard() {
+        // 발행할 이벤트가 있을 때만 리스를 확인 (대기 중에는 Redis 를 호출하지 않음)
+        Map<Long, TransactionEvent> batch = outboxJdbcRepository.findPending(batchSize);
+        while (!batch.isEmpty() && acquireLease()) {
+            publish(batch.values());
+            outboxJdbcRepository.deleteByIds(batch.keySet());
+            publishedCounter.increment(batch.size());
+
+            // 배치가 가득 찼으면 밀린 이벤트가 더 있으므로 이어서 발행
+            batch = batch.size() < batchSize ? Map.of() : outboxJdbcRepository.findPending(batchSize);
+        }
+    }
+
+    private boolean acquireLease() {
+        Long acquired = redisTemplate.execute(LEASE_SCRIPT, List.of(LEASE_KEY), owner, leaseTime.toMillis());
+        return acquired != null && acquired == 1;
+    }
+
+    // 배치 전체를 한 번의 왕복으로 XADD
+    private void publish(Collection<TransactionEvent> events) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (TransactionEvent event : events) {
+                connection.streamCommands().xAdd(MapRecord.create(streamKey, encode(event)), addOptions);
+            }
+            return null;
+        });
+    }
+
+    private static Map<byte[], byte[]> encode(TransactionEvent event) {
+        Map<byte[], byte[]> fields = new LinkedHashMap<>();
+        event.toFields().forEach((name, value) ->
+                fields.put(name.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8)));
+        return fields;
+    }
+}
@@ -0,0 +1,45 @@
+package com.devsehyunjin.account.replica;
+
+/**
+ * 현재 스레드의 읽기 전용 트랜잭션이 복제본을 사용해도 되는지 여부.
+ * 복제 지연을 감수할 수 있는 조회만 ReplicaRouter 로 허용하며, 허용하지 않은 읽기 전용 트랜잭션은 주 DB 를 사용한다.
+ */
+public final class ReplicaContext {
+
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private ReplicaContext() {
+    }
+
+    public static boolean isReplicaAllowed() {
+        return Boolean.TRUE.equals(REPLICA_ALLOWED.get());
+    }
+
+    // 다른 스레드(샤드 팬아웃 등)에서 실행할 작업에 현재 스레드의 허용 여부를 그대로 전달
+    public static Runnable propagate(Runnable task) {
+        Boolean captured = REPLICA_ALLOWED.get();
+        return () -> {
+            Boolean previous = set(captured);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    // 이전 값을 반환하므로 호출한 쪽에서 restore 로 되돌린다
+    static Boolean set(Boolean allowed) {
+        Boolean previous = REPLICA_ALLOWED.get();
+        if (allowed == null) {
+            REPLICA_ALLOWED.remove();
+        } else {
+            REPLICA_ALLOWED.set(allowed);
+        }
+        return previous;
+    }
+
+    static void restore(Boolean previous) {
+        set(previous);
+    }
+}
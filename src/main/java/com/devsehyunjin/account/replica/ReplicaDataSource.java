@@ -0,0 +1,169 @@
+package com.devsehyunjin.account.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 샤드 하나의 읽기 전용 트랜잭션용 데이터소스.
+ * LazyConnectionDataSourceProxy 의 readOnlyDataSource 로 등록되어, 읽기 전용 트랜잭션이 첫 쿼리를 실행할 때 커넥션을 고른다.
+ * ReplicaContext 가 허용한 경우에만 복제본을 쓰고, 복제본이 모두 장애면 주 DB 로 대체한다.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public enum Selection {
+        ROUND_ROBIN, LEAST_LATENCY;
+
+        public static Selection from(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    // 응답 시간 지수 이동 평균 가중치
+    private static final double LATENCY_WEIGHT = 0.2;
+    private static final int PROBE_TIMEOUT_SECONDS = 1;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Selection selection;
+    private final long failureCooldownNanos;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final ScheduledExecutorService prober;
+
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReplicaDataSource(int shard,
+                             DataSource primary,
+                             List<HikariDataSource> replicaPools,
+                             Selection selection,
+                             Duration probeInterval,
+                             Duration failureCooldown,
+                             MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.selection = selection;
+        this.failureCooldownNanos = failureCooldown.toNanos();
+        this.replicas = new ArrayList<>(replicaPools.size());
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool);
+            replicas.add(replica);
+            Gauge.builder("account.replica.latency", replica, r -> r.latencyNanos / 1_000_000.0)
+                    .description("복제본 확인 쿼리 응답 시간 이동 평균 (ms)")
+                    .tag("shard", String.valueOf(shard))
+                    .tag("replica", pool.getPoolName())
+                    .register(meterRegistry);
+        }
+        this.replicaReads = reads(meterRegistry, shard, "replica");
+        this.primaryReads = reads(meterRegistry, shard, "primary");
+
+        // 응답 시간(least-latency 선택용)과 장애 복구 여부를 주기적으로 확인
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("replica-probe-" + shard + "-");
+        threadFactory.setDaemon(true);
+        this.prober = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.prober.scheduleWithFixedDelay(this::probe, 0, probeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, int shard, String target) {
+        return Counter.builder("account.replica.reads")
+                .description("읽기 전용 트랜잭션이 연 커넥션 수 (target=replica 비율이 복제본 분산 비율)")
+                .tag("shard", String.valueOf(shard))
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReplicaContext.isReplicaAllowed()) {
+            long now = System.nanoTime();
+            for (Replica replica : candidates(now)) {
+                try {
+                    Connection connection = replica.pool.getConnection();
+                    replicaReads.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.downUntilNanos = now + failureCooldownNanos;
+                    log.warn("복제본 연결 실패, {}ms 동안 제외합니다. replica={}",
+                            failureCooldownNanos / 1_000_000, replica.pool.getPoolName(), e);
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("복제본 라우팅은 설정된 계정으로만 연결합니다.");
+    }
+
+    // 장애로 제외된 복제본을 뺀 후보를 선택 방식의 순서대로 반환
+    private List<Replica> candidates(long now) {
+        List<Replica> healthy = new ArrayList<>(replicas.size());
+        int start = Math.floorMod(nextIndex.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.downUntilNanos - now <= 0) {
+                healthy.add(replica);
+            }
+        }
+        if (selection == Selection.LEAST_LATENCY) {
+            healthy.sort(Comparator.comparingLong(replica -> replica.latencyNanos));
+        }
+        return healthy;
+    }
+
+    private void probe() {
+        for (Replica replica : replicas) {
+            long start = System.nanoTime();
+            try (Connection connection = replica.pool.getConnection()) {
+                if (!connection.isValid(PROBE_TIMEOUT_SECONDS)) {
+                    throw new SQLException("확인 쿼리 실패");
+                }
+                long elapsed = System.nanoTime() - start;
+                replica.latencyNanos = replica.latencyNanos == 0
+                        ? elapsed
+                        : (long) (LATENCY_WEIGHT * elapsed + (1 - LATENCY_WEIGHT) * replica.latencyNanos);
+                replica.downUntilNanos = 0;
+            } catch (SQLException | RuntimeException e) {
+                replica.downUntilNanos = System.nanoTime() + failureCooldownNanos;
+                log.warn("복제본 확인 실패. replica={}: {}", replica.pool.getPoolName(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        prober.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static class Replica {
+        final HikariDataSource pool;
+        volatile long latencyNanos;
+        // System.nanoTime 기준, 이 시각 전까지는 후보에서 제외
+        volatile long downUntilNanos;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
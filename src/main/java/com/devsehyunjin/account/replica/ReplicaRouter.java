@@ -0,0 +1,154 @@
+package com.devsehyunjin.account.replica;
+
+import com.devsehyunjin.account.event.AccountChangedEvent;
+import com.devsehyunjin.account.shard.ShardRouter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * 조회를 복제본으로 보낼지 정한다.
+ * 쓰기가 커밋되면 해당 사용자와 계좌를 pin-after-write 동안 주 DB 에 고정하므로, 자신이 방금 바꾼 잔액을 복제 지연 때문에 놓치지 않는다.
+ * 고정 정보는 로컬과 Redis 에 함께 남겨 다른 노드로 들어온 조회에도 적용된다.
+ * account.replica.urls 가 비어 있으면 모든 조회를 그대로 실행한다.
+ */
+@Slf4j
+@Component
+public class ReplicaRouter {
+
+    private static final String PIN_KEY_PREFIX = "account:replica:pin:";
+
+    private static final RedisScript<Long> PIN_SCRIPT = new DefaultRedisScript<>(
+            "for _, key in ipairs(KEYS) do " +
+                    "redis.call('set', key, '1', 'PX', ARGV[1]) " +
+                    "end " +
+                    "return 1",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final boolean enabled;
+    private final Duration pinDuration;
+    private final Cache<String, Boolean> localPins;
+    private final Counter pinnedReads;
+
+    public ReplicaRouter(RedisTemplate<String, Object> redisTemplate,
+                         Environment environment,
+                         MeterRegistry meterRegistry,
+                         @Value("${account.replica.pin-after-write:2s}") Duration pinDuration) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = !replicaUrls(environment).isEmpty();
+        this.pinDuration = pinDuration;
+        this.localPins = Caffeine.newBuilder()
+                .expireAfterWrite(pinDuration)
+                .build();
+        this.pinnedReads = Counter.builder("account.replica.pinned")
+                .description("쓰기 직후라 복제본 대신 주 DB 로 보낸 조회 수")
+                .register(meterRegistry);
+    }
+
+    // 샤드 번호별 복제본 JDBC URL 목록 (account.replica.urls.{샤드 번호} = 쉼표 구분 URL)
+    public static Map<Integer, List<String>> replicaUrls(Environment environment) {
+        Map<Integer, List<String>> urls = new TreeMap<>();
+        Binder.get(environment)
+                .bind("account.replica.urls", Bindable.mapOf(Integer.class, String.class))
+                .orElse(Map.of())
+                .forEach((shard, value) -> {
+                    List<String> parsed = ShardRouter.parseShardUrls(value);
+                    if (!parsed.isEmpty()) {
+                        urls.put(shard, parsed);
+                    }
+                });
+        return urls;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 사용자 단위 조회 (사용자가 최근에 쓴 적이 있으면 주 DB)
+    public <T> T readForUser(Long userId, Supplier<T> action) {
+        return read(PIN_KEY_PREFIX + "user:" + userId, action);
+    }
+
+    // 계좌 단위 조회 (계좌가 최근에 바뀌었으면 주 DB)
+    public <T> T readForAccount(String accountNumber, Supplier<T> action) {
+        return read(PIN_KEY_PREFIX + "account:" + accountNumber, action);
+    }
+
+    // 고정 여부와 상관없이 복제본에서 조회 (결과가 없을 때 주 DB 로 다시 조회할 수 있는 경우)
+    public <T> T readFromReplica(Supplier<T> action) {
+        return callWithReplica(true, action);
+    }
+
+    // 쓰기 트랜잭션이 커밋된 직후, 캐시 무효화보다 먼저 고정 (무효화 뒤 복제본의 이전 값이 캐시에 다시 들어가지 않도록)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        String userKey = PIN_KEY_PREFIX + "user:" + event.getUserId();
+        String accountKey = PIN_KEY_PREFIX + "account:" + event.getAccountNumber();
+        localPins.put(userKey, Boolean.TRUE);
+        localPins.put(accountKey, Boolean.TRUE);
+        try {
+            redisTemplate.execute(PIN_SCRIPT, List.of(userKey, accountKey), pinDuration.toMillis());
+        } catch (RuntimeException e) {
+            log.warn("복제본 고정 기록 실패, 다른 노드의 조회는 복제 지연만큼 이전 값을 볼 수 있습니다. userId={}",
+                    event.getUserId(), e);
+        }
+    }
+
+    private <T> T read(String pinKey, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        boolean pinned = isPinned(pinKey);
+        if (pinned) {
+            pinnedReads.increment();
+        }
+        return callWithReplica(!pinned, action);
+    }
+
+    // Redis 를 확인할 수 없으면 안전하게 주 DB 사용
+    private boolean isPinned(String pinKey) {
+        if (localPins.getIfPresent(pinKey) != null) {
+            return true;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(pinKey));
+        } catch (RuntimeException e) {
+            log.warn("복제본 고정 여부 확인 실패, 주 DB 에서 조회합니다. key={}: {}", pinKey, e.getMessage());
+            return true;
+        }
+    }
+
+    private <T> T callWithReplica(boolean allowed, Supplier<T> action) {
+        Boolean previous = ReplicaContext.set(allowed);
+        try {
+            return action.get();
+        } finally {
+            ReplicaContext.restore(previous);
+        }
+    }
+}
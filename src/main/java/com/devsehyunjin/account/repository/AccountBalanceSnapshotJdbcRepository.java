@@ -0,0 +1,76 @@
+package com.devsehyunjin.account.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * 일말 잔액 스냅샷 생성용 JDBC 리포지토리.
+ * 계좌 한 건씩 읽지 않고 계좌 ID 구간 단위의 INSERT ... SELECT 한 번으로 만든다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccountBalanceSnapshotJdbcRepository {
+
+    // 성공 거래의 잔액 증감 (사용은 차감, 취소는 복원)
+    private static final String BALANCE_DELTA =
+            "case when t.transaction_type = 'USE' then -t.amount else t.amount end";
+
+    /*
+     * 전날 스냅샷이 있으면: 전날 잔액 + 당일 증감
+     * 없으면(신규 계좌, 최초 실행): 현재 잔액 - 당일 이후 증감
+     * 이미 만든 (계좌, 일자)는 건너뛰므로 재실행해도 안전하다.
+     */
+    private static final String INSERT_DAILY_SNAPSHOT_SQL =
+            "insert into account_balance_snapshot (id, account_id, snapshot_date, balance, created_at) " +
+                    "select next value for account_balance_snapshot_seq, a.id, ?, " +
+                    "       case when p.account_id is not null then p.balance + coalesce(d.delta, 0) " +
+                    "            else a.balance - coalesce((select sum(" + BALANCE_DELTA + ") from transaction t " +
+                    "                                       where t.account_id = a.id and t.transaction_result = 0 " +
+                    "                                         and t.transaction_date >= ?), 0) end, " +
+                    "       current_timestamp " +
+                    "from account a " +
+                    "left join account_balance_snapshot p on p.account_id = a.id and p.snapshot_date = ? " +
+                    "left join (select t.account_id, sum(" + BALANCE_DELTA + ") delta from transaction t " +
+                    "           where t.transaction_result = 0 and t.transaction_date >= ? and t.transaction_date < ? " +
+                    "           group by t.account_id) d on d.account_id = a.id " +
+                    "where a.created_at < ? " +
+                    "  and (a.closed_at is null or a.closed_at >= ?) " +
+                    "  and a.id between ? and ? " +
+                    "  and not exists (select 1 from account_balance_snapshot s " +
+                    "                  where s.account_id = a.id and s.snapshot_date = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 계좌 ID 범위 (스냅샷 대상이 없으면 null)
+    public long[] findAccountIdRange() {
+        return jdbcTemplate.queryForObject("select min(id), max(id) from account",
+                (rs, rowNum) -> rs.getObject(1) == null ? null : new long[]{rs.getLong(1), rs.getLong(2)});
+    }
+
+    // afterAccountId 다음 계좌 ID (없으면 null), 샤드별 ID 구간 사이의 빈 구간을 건너뛸 때 사용
+    public Long findNextAccountId(long afterAccountId) {
+        return jdbcTemplate.queryForObject("select min(id) from account where id > ?", Long.class, afterAccountId);
+    }
+
+    // [fromAccountId, toAccountId] 계좌의 일말 스냅샷을 만들고 저장 건수를 반환
+    public int insertDailySnapshots(LocalDate date, long fromAccountId, long toAccountId) {
+        Timestamp dayStart = Timestamp.valueOf(date.atStartOfDay());
+        Timestamp nextDayStart = Timestamp.valueOf(date.plusDays(1).atStartOfDay());
+        return jdbcTemplate.update(INSERT_DAILY_SNAPSHOT_SQL,
+                Date.valueOf(date),
+                nextDayStart,
+                Date.valueOf(date.minusDays(1)),
+                dayStart,
+                nextDayStart,
+                nextDayStart,
+                dayStart,
+                fromAccountId,
+                toAccountId,
+                Date.valueOf(date));
+    }
+}
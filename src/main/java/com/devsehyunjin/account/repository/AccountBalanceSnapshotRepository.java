@@ -0,0 +1,21 @@
+package com.devsehyunjin.account.repository;
+
+import com.devsehyunjin.account.domain.AccountBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface AccountBalanceSnapshotRepository extends JpaRepository<AccountBalanceSnapshot, Long> {
+
+    // 기준일 이전(포함) 가장 가까운 스냅샷
+    Optional<AccountBalanceSnapshot> findFirstByAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(
+            Long accountId, LocalDate snapshotDate);
+
+    // 가장 최근에 만든 스냅샷 일자 (없으면 null)
+    @Query("select max(s.snapshotDate) from AccountBalanceSnapshot s")
+    LocalDate findLatestSnapshotDate();
+}
@@ -2,20 +2,51 @@ package com.devsehyunjin.account.repository;
 
 import com.devsehyunjin.account.domain.Account;
 import com.devsehyunjin.account.dto.CheckAccountResponse;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
-    // 특정 사용자 ID로 계좌 목록 검색
+    // 특정 사용자 ID로 계좌 목록 검색 (단독 호출 시 읽기 전용 트랜잭션이라 복제본에서 조회될 수 있음)
+    @Transactional(readOnly = true)
     List<Account> findByUserId(Long userId);
 
     boolean existsByAccountNumber(String accountNumber);
 
     Optional<Account> findByAccountNumber(String accountNumber);
 
+    // ID 순서로 계좌를 나눠 읽기 (Redis 원장 복구 시 전체 계좌 적재)
+    List<Account> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // 일괄 거래 처리 시 관련 계좌를 한 번에 조회
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    // 비관적 락 모드: 계좌 행을 SELECT ... FOR UPDATE 로 잠금 (계좌번호 순서로 잠가 교착 상태 방지)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.accountNumber in :accountNumbers order by a.accountNumber")
+    List<Account> findAllForUpdateByAccountNumberIn(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    // lock 모드 펜싱: 저장된 토큰보다 새 토큰일 때만 올림 (계좌가 없거나 더 새 토큰이 이미 썼으면 0 반환)
+    // 갱신한 계좌 행은 커밋까지 잠기므로, 락이 만료되어도 다음 보유자의 쓰기는 이 트랜잭션 뒤에 실행된다
+    @Transactional
+    @Modifying
+    @Query("update Account a set a.fenceToken = :token where a.accountNumber = :accountNumber and a.fenceToken < :token")
+    int advanceFenceToken(@Param("accountNumber") String accountNumber, @Param("token") long token);
+
+    // lock 모드 펜싱: 계좌 행에 기록된 토큰 (Redis 카운터의 시작값, 복제본 지연으로 작은 값을 읽지 않도록 원본에서 조회)
+    @Transactional
+    @Query("select a.fenceToken from Account a where a.accountNumber = :accountNumber")
+    Optional<Long> findFenceTokenByAccountNumber(@Param("accountNumber") String accountNumber);
 
 }
@@ -0,0 +1,40 @@
+package com.devsehyunjin.account.repository;
+
+import com.devsehyunjin.account.domain.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JDBC 경로에서 사용할 거래 ID 할당기.
+ * Hibernate pooled 옵티마이저와 같은 규칙(시퀀스 값 v 가 (v - 할당크기, v] 구간을 소유)을 따르므로
+ * JPA 로 저장되는 거래와 ID가 겹치지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionIdAllocator {
+
+    private static final String NEXT_VALUE_SQL = "select next value for transaction_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long next = 1;
+    private long hi = 0;
+
+    public long nextId() {
+        lock.lock();
+        try {
+            if (next > hi) {
+                Long value = jdbcTemplate.queryForObject(NEXT_VALUE_SQL, Long.class);
+                hi = value;
+                next = Math.max(1, value - Transaction.ID_ALLOCATION_SIZE + 1);
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
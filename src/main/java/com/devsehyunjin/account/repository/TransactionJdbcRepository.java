@@ -0,0 +1,116 @@
+package com.devsehyunjin.account.repository;
+
+import com.devsehyunjin.account.domain.Transaction;
+import com.devsehyunjin.account.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 대량 거래 저장용 JDBC 배치 리포지토리.
+ * 영속성 컨텍스트를 거치지 않고 한 번의 배치로 INSERT/UPDATE 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionJdbcRepository {
+
+    private static final String INSERT_TRANSACTION_SQL =
+            "insert into transaction (id, account_id, amount, transaction_type, transaction_result, transaction_date, " +
+                    "original_transaction_id, cancellable_amount) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 거래와 같은 DB 트랜잭션에서 아웃박스에 기록 (TransactionOutboxRelay 가 스트림으로 발행)
+    private static final String INSERT_OUTBOX_SQL =
+            "insert into transaction_outbox (transaction_id, account_id, amount, transaction_type, transaction_result, " +
+                    "transaction_date, created_at) values (?, ?, ?, ?, ?, ?, current_timestamp)";
+
+    private static final String UPDATE_BALANCE_SQL =
+            "update account set balance = balance + ?, version = version + 1 where id = ?";
+
+    private static final String DEDUCT_CANCELLABLE_SQL =
+            "update transaction set cancellable_amount = cancellable_amount - ? where id = ? and cancellable_amount >= ?";
+
+    private static final int OUTBOX_COLUMN_COUNT = 6;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionIdAllocator transactionIdAllocator;
+
+    // 거래 행을 배치로 저장하고 ID를 입력 순서대로 반환
+    public List<Long> batchInsert(List<TransactionRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        // ID를 미리 할당하므로 생성 키를 돌려받을 필요가 없음
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<Object[]> args = new ArrayList<>(rows.size());
+        List<Object[]> outboxArgs = new ArrayList<>(rows.size());
+        for (TransactionRow row : rows) {
+            long id = row.getId() != null ? row.getId() : transactionIdAllocator.nextId();
+            ids.add(id);
+            Object[] rowArgs = {
+                    id,
+                    row.getAccountId(),
+                    row.getAmount(),
+                    row.getTransactionType().name(),
+                    row.getTransactionResult().ordinal(),
+                    Timestamp.valueOf(row.getTransactionDate()),
+                    row.getOriginalTransactionId(),
+                    Transaction.initialCancellableAmount(row.getTransactionType(), row.getTransactionResult(), row.getAmount())
+            };
+            args.add(rowArgs);
+            // 아웃박스 행은 거래 행의 앞쪽 컬럼과 순서가 같다 (id 자리에 거래 ID)
+            outboxArgs.add(Arrays.copyOf(rowArgs, OUTBOX_COLUMN_COUNT));
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, args);
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, outboxArgs);
+        return ids;
+    }
+
+    // 원거래별 취소 금액만큼 취소 가능 금액을 조건부로 차감 (key: 원거래 ID, value: 취소 금액)
+    // 하나라도 남은 금액이 부족하면 예외를 던져 호출 측 트랜잭션 전체를 롤백한다
+    public void batchDeductCancellableAmount(Map<Long, Long> cancels) {
+        if (cancels.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> args = new ArrayList<>(cancels.size());
+        cancels.forEach((transactionId, amount) -> args.add(new Object[]{amount, transactionId, amount}));
+        for (int updated : jdbcTemplate.batchUpdate(DEDUCT_CANCELLABLE_SQL, args)) {
+            if (updated == 0) {
+                throw ErrorCode.CANCEL_AMOUNT_EXCEEDED.exception();
+            }
+        }
+    }
+
+    // 주어진 거래 ID 중 이미 저장된 ID (쓰기 지연 거래를 다시 반영할 때 중복 저장 방지)
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "select id from transaction where id in (" + placeholders + ")", Long.class, ids.toArray()));
+    }
+
+    // 계좌별 잔액 증감분을 배치로 반영 (key: 계좌 ID, value: 증감액)
+    public void batchApplyBalanceDelta(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((accountId, delta) -> args.add(new Object[]{delta, accountId}));
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, args);
+    }
+}
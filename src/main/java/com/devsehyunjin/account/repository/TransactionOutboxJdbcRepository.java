@@ -0,0 +1,56 @@
+package com.devsehyunjin.account.repository;
+
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.event.TransactionEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 아웃박스 발행용 JDBC 리포지토리.
+ * 발행할 이벤트를 ID 순서로 읽고, 발행이 끝난 행을 배치로 삭제한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionOutboxJdbcRepository {
+
+    private static final String SELECT_PENDING_SQL =
+            "select o.id, o.transaction_id, a.account_number, o.transaction_type, o.transaction_result, " +
+                    "o.amount, o.transaction_date " +
+                    "from transaction_outbox o join account a on a.id = o.account_id " +
+                    "order by o.id limit ?";
+
+    private static final String DELETE_SQL = "delete from transaction_outbox where id = ?";
+
+    private static final TransactionResult[] RESULTS = TransactionResult.values();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 아직 발행되지 않은 이벤트를 오래된 순서로 조회 (key: 아웃박스 ID)
+    public Map<Long, TransactionEvent> findPending(int limit) {
+        Map<Long, TransactionEvent> events = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_PENDING_SQL, rs -> {
+            events.put(rs.getLong(1), new TransactionEvent(
+                    rs.getLong(2),
+                    rs.getString(3),
+                    TransactionType.valueOf(rs.getString(4)),
+                    RESULTS[rs.getInt(5)],
+                    rs.getLong(6),
+                    rs.getTimestamp(7).toLocalDateTime()));
+        }, limit);
+        return events;
+    }
+
+    public void deleteByIds(Collection<Long> ids) {
+        List<Object[]> args = new ArrayList<>(ids.size());
+        ids.forEach(id -> args.add(new Object[]{id}));
+        jdbcTemplate.batchUpdate(DELETE_SQL, args);
+    }
+}
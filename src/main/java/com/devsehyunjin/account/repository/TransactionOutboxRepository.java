@@ -0,0 +1,9 @@
+package com.devsehyunjin.account.repository;
+
+import com.devsehyunjin.account.domain.TransactionOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TransactionOutboxRepository extends JpaRepository<TransactionOutbox, Long> {
+}
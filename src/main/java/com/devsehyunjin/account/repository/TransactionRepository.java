@@ -1,10 +1,83 @@
 package com.devsehyunjin.account.repository;
 
 import com.devsehyunjin.account.domain.Transaction;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    // 취소·거래 확인 시 원거래와 계좌(계좌번호)를 한 번에 조회
+    @Transactional(readOnly = true)
+    @Query("select t from Transaction t join fetch t.account where t.id = :id")
+    Optional<Transaction> findWithAccountById(@Param("id") Long id);
+
+    // 취소 가능 금액을 조건부로 차감 (남은 금액이 부족하면 0 반환)
+    // 기본 키 한 행만 갱신하므로, 같은 거래를 동시에 취소해도 합계가 원거래 금액을 넘지 않는다
+    @Modifying
+    @Query("update Transaction t set t.cancellableAmount = t.cancellableAmount - :amount " +
+            "where t.id = :id and t.cancellableAmount >= :amount")
+    int deductCancellableAmount(@Param("id") Long id, @Param("amount") Long amount);
+
+    // 취소를 끝내지 못했을 때 차감한 취소 가능 금액을 되돌림
+    @Modifying
+    @Query("update Transaction t set t.cancellableAmount = t.cancellableAmount + :amount where t.id = :id")
+    int restoreCancellableAmount(@Param("id") Long id, @Param("amount") Long amount);
+
+    // 일괄 취소 시 원거래와 계좌를 한 번에 조회
+    @Query("select t from Transaction t join fetch t.account where t.id in :ids")
+    List<Transaction> findAllWithAccountByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 계좌별 거래 내역 키셋 페이지네이션: (cursorDate, cursorId) 보다 이전 거래를 최신순으로 조회
+    // OFFSET 없이 (account_id, transaction_date, id) 인덱스를 역순으로 탐색하므로 깊은 페이지도 비용이 같다
+    @Query("select t from Transaction t " +
+            "where t.account.id = :accountId " +
+            "and t.transactionDate >= :from " +
+            "and t.transactionDate <= :cursorDate " +
+            "and (t.transactionDate < :cursorDate or t.id < :cursorId) " +
+            "and (:transactionType is null or t.transactionType = :transactionType) " +
+            "order by t.transactionDate desc, t.id desc")
+    List<Transaction> findHistory(@Param("accountId") Long accountId,
+                                  @Param("transactionType") TransactionType transactionType,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("cursorDate") LocalDateTime cursorDate,
+                                  @Param("cursorId") Long cursorId,
+                                  Pageable pageable);
+
+    // 기간 내 거래 전체를 전진 전용 커서로 스트리밍 (호출 측 트랜잭션 안에서 사용하고 반드시 close)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select t from Transaction t join fetch t.account " +
+            "where t.transactionDate >= :from and t.transactionDate < :to")
+    Stream<Transaction> streamByTransactionDateRange(@Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
+
+    // [from, to) 구간 성공 거래의 잔액 증감 합계 (사용은 차감, 취소는 복원)
+    @Query("select coalesce(sum(case when t.transactionType = :useType then -t.amount else t.amount end), 0L) " +
+            "from Transaction t " +
+            "where t.account.id = :accountId " +
+            "and t.transactionResult = com.devsehyunjin.account.domain.enums.TransactionResult.SUCCESS " +
+            "and t.transactionDate >= :from and t.transactionDate < :to")
+    long sumBalanceDelta(@Param("accountId") Long accountId,
+                         @Param("useType") TransactionType useType,
+                         @Param("from") LocalDateTime from,
+                         @Param("to") LocalDateTime to);
 }
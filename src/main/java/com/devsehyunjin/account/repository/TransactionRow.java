@@ -0,0 +1,23 @@
+package com.devsehyunjin.account.repository;
+
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// JDBC 배치 저장용 거래 행 (엔티티를 거치지 않음)
+@Getter
+@Builder
+public class TransactionRow {
+    // 비어 있으면 저장 시 TransactionIdAllocator 로 할당
+    private Long id;
+    private Long accountId;
+    private Long amount;
+    private TransactionType transactionType;
+    private TransactionResult transactionResult;
+    private LocalDateTime transactionDate;
+    // 취소 거래의 원거래 ID (사용 거래는 비어 있음)
+    private Long originalTransactionId;
+}
@@ -2,9 +2,26 @@ package com.devsehyunjin.account.repository;
 
 import com.devsehyunjin.account.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // 계좌 수가 상한 미만일 때만 하나 늘림 (사용자가 없거나 상한이면 0 반환)
+    // 기본 키 한 행만 갱신하므로, 같은 사용자가 동시에 계좌를 만들어도 상한을 넘지 않는다
+    // 쓰기 트랜잭션으로 실행 (기본 읽기 전용 트랜잭션이면 복제본으로 라우팅됨)
+    @Transactional
+    @Modifying
+    @Query("update User u set u.accountCount = u.accountCount + 1 where u.id = :id and u.accountCount < :limit")
+    int incrementAccountCount(@Param("id") Long id, @Param("limit") int limit);
+
+    // 계좌를 저장하지 못했을 때 늘린 계좌 수를 되돌림
+    @Transactional
+    @Modifying
+    @Query("update User u set u.accountCount = u.accountCount - 1 where u.id = :id and u.accountCount > 0")
+    int decrementAccountCount(@Param("id") Long id);
 }
@@ -0,0 +1,281 @@
+package com.devsehyunjin.account.seed;
+
+import com.devsehyunjin.account.domain.Transaction;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.domain.enums.AccountStatus;
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.service.AccountNumberAllocator;
+import com.devsehyunjin.account.shard.ShardContext;
+import com.devsehyunjin.account.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 부하 테스트용 대량 데이터 생성기 (seed 프로필 기동 시, 또는 벤치마크에서 직접 호출).
+ * 사용자마다 1 ~ 상한 개의 계좌를 만들고, 계좌별 거래 수는 활동 순위의 Zipf 분포(순위 r 의 비중 1/r^s)를 따라
+ * 소수의 계좌에 거래가 몰린다. 순위는 계좌에 무작위로 배정하므로 인기 계좌가 특정 사용자·샤드에 몰리지 않는다.
+ * 엔티티를 거치지 않고 JDBC 배치로 저장하며, ID 는 시퀀스에서 Hibernate pooled 규칙으로 예약하므로
+ * 이후 JPA 로 저장되는 행과 겹치지 않는다. 아웃박스에는 쓰지 않는다 (생성한 거래는 이벤트로 발행되지 않음).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkDataSeeder {
+
+    // 스레드 하나가 맡는 계좌 묶음 크기
+    private static final int SLICE_SIZE = 2_000;
+
+    private static final long MAX_INITIAL_BALANCE_UNITS = 10_000;
+    private static final int MAX_AMOUNT_UNITS = 500;
+    private static final long AMOUNT_UNIT = 100;
+
+    private static final String INSERT_USER_SQL =
+            "insert into users (id, name, created_at, account_count) values (?, ?, ?, ?)";
+
+    private static final String INSERT_ACCOUNT_SQL =
+            "insert into account (id, account_number, user_id, balance, is_deleted, created_at, status, version, fence_token) " +
+                    "values (?, ?, ?, ?, false, ?, ?, 0, 0)";
+
+    private static final String INSERT_TRANSACTION_SQL =
+            "insert into transaction (id, account_id, amount, transaction_type, transaction_result, transaction_date, " +
+                    "original_transaction_id, cancellable_amount) values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 시퀀스별 할당 크기 (엔티티의 @SequenceGenerator allocationSize 와 같아야 함)
+    private static final PooledSequence USERS_SEQUENCE = new PooledSequence("users_seq", 50);
+    private static final PooledSequence ACCOUNT_SEQUENCE = new PooledSequence("account_seq", 50);
+    private static final PooledSequence TRANSACTION_SEQUENCE =
+            new PooledSequence("transaction_seq", Transaction.ID_ALLOCATION_SIZE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final AccountNumberAllocator accountNumberAllocator;
+
+    public SeedResult seed(SeedPlan plan) {
+        long startedAt = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(plan.getRandomSeed());
+        LocalDateTime now = LocalDateTime.now();
+
+        // Step 1: 사용자별 계좌 수를 정하고 사용자 저장 (0번 샤드, 계좌 수 컬럼도 함께)
+        int maxAccounts = Math.min(plan.getMaxAccountsPerUser(), User.MAX_ACCOUNT_COUNT);
+        int[] accountCounts = new int[plan.getUsers()];
+        for (int i = 0; i < accountCounts.length; i++) {
+            accountCounts[i] = 1 + random.nextInt(maxAccounts);
+        }
+        List<Long> userIds = shardRouter.callOnShard(ShardContext.GLOBAL_SHARD,
+                () -> insertUsers(plan, accountCounts, now));
+
+        // Step 2: 계좌번호 발급 (계좌번호가 샤드를 정함)
+        List<SeedAccount> accounts = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            for (int j = 0; j < accountCounts[i]; j++) {
+                String accountNumber = accountNumberAllocator.allocate();
+                accounts.add(new SeedAccount(userIds.get(i), accountNumber, shardRouter.shardOf(accountNumber)));
+            }
+        }
+
+        // Step 3: 계좌별 거래 수 배정
+        assignZipfActivity(accounts, (long) accounts.size() * plan.getTransactionsPerAccount(),
+                plan.getZipfExponent(), random);
+
+        // Step 4: 샤드별 계좌 묶음을 병렬로 저장
+        Map<Integer, List<SeedAccount>> byShard = new HashMap<>();
+        for (SeedAccount account : accounts) {
+            byShard.computeIfAbsent(account.shard, shard -> new ArrayList<>()).add(account);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, plan.getThreads()));
+        try {
+            List<CompletableFuture<Long>> futures = new ArrayList<>();
+            byShard.forEach((shard, shardAccounts) -> {
+                for (int from = 0; from < shardAccounts.size(); from += SLICE_SIZE) {
+                    List<SeedAccount> slice = shardAccounts.subList(from, Math.min(from + SLICE_SIZE, shardAccounts.size()));
+                    long sliceSeed = random.nextLong();
+                    futures.add(CompletableFuture.supplyAsync(
+                            () -> shardRouter.callOnShard(shard, () -> insertSlice(slice, plan, now, sliceSeed)), executor));
+                }
+            });
+
+            long transactions = 0;
+            for (CompletableFuture<Long> future : futures) {
+                transactions += future.join();
+            }
+
+            SeedResult result = new SeedResult(userIds.size(), accounts.size(), transactions,
+                    Duration.ofNanos(System.nanoTime() - startedAt));
+            log.info("대량 데이터 생성 완료: users={}, accounts={}, transactions={}, elapsed={}ms ({}건/초)",
+                    result.getUsers(), result.getAccounts(), result.getTransactions(),
+                    result.getElapsed().toMillis(), result.transactionsPerSecond());
+            return result;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Long> insertUsers(SeedPlan plan, int[] accountCounts, LocalDateTime now) {
+        SequenceIds ids = new SequenceIds(USERS_SEQUENCE);
+        Timestamp createdAt = Timestamp.valueOf(now.minusDays(plan.getDays() + 1L));
+        List<Long> userIds = new ArrayList<>(plan.getUsers());
+        List<Object[]> batch = new ArrayList<>(plan.getBatchSize());
+        for (int i = 0; i < plan.getUsers(); i++) {
+            long id = ids.next();
+            userIds.add(id);
+            batch.add(new Object[]{id, "seed-user-" + i, createdAt, accountCounts[i]});
+            if (batch.size() == plan.getBatchSize()) {
+                flush(INSERT_USER_SQL, batch);
+            }
+        }
+        flush(INSERT_USER_SQL, batch);
+        return userIds;
+    }
+
+    // 계좌 묶음과 그 거래를 현재 샤드에 저장하고 저장한 거래 수를 반환
+    private long insertSlice(List<SeedAccount> slice, SeedPlan plan, LocalDateTime now, long sliceSeed) {
+        SplittableRandom random = new SplittableRandom(sliceSeed);
+        SequenceIds accountIds = new SequenceIds(ACCOUNT_SEQUENCE);
+        SequenceIds transactionIds = new SequenceIds(TRANSACTION_SEQUENCE);
+        Timestamp createdAt = Timestamp.valueOf(now.minusDays(plan.getDays() + 1L));
+        long windowSeconds = Math.max(1, Duration.ofDays(plan.getDays()).toSeconds());
+
+        List<Object[]> accountBatch = new ArrayList<>(slice.size());
+        for (SeedAccount account : slice) {
+            account.id = accountIds.next();
+            accountBatch.add(new Object[]{account.id, account.accountNumber, account.userId,
+                    random.nextLong(MAX_INITIAL_BALANCE_UNITS) * AMOUNT_UNIT, createdAt, AccountStatus.ACTIVE.ordinal()});
+        }
+        flush(INSERT_ACCOUNT_SQL, accountBatch);
+
+        // 사용 거래 뒤에 일정 비율로 그 거래의 전액 취소를 바로 붙인다 (취소된 사용 거래는 취소 가능 금액 0)
+        long written = 0;
+        List<Object[]> batch = new ArrayList<>(plan.getBatchSize() + 1);
+        for (SeedAccount account : slice) {
+            long remaining = account.transactions;
+            while (remaining > 0) {
+                long useId = transactionIds.next();
+                long amount = (1 + random.nextInt(MAX_AMOUNT_UNITS)) * AMOUNT_UNIT;
+                LocalDateTime usedAt = now.minusMinutes(1).minusSeconds(random.nextLong(windowSeconds));
+                boolean cancelled = remaining > 1 && random.nextDouble() < plan.getCancelRatio();
+                batch.add(new Object[]{useId, account.id, amount, TransactionType.USE.name(),
+                        TransactionResult.SUCCESS.ordinal(), Timestamp.valueOf(usedAt), null, cancelled ? 0L : amount});
+                remaining--;
+                if (cancelled) {
+                    batch.add(new Object[]{transactionIds.next(), account.id, amount, TransactionType.CANCEL.name(),
+                            TransactionResult.SUCCESS.ordinal(), Timestamp.valueOf(usedAt.plusMinutes(1)), useId, 0L});
+                    remaining--;
+                }
+                if (batch.size() >= plan.getBatchSize()) {
+                    written += batch.size();
+                    flush(INSERT_TRANSACTION_SQL, batch);
+                }
+            }
+        }
+        written += batch.size();
+        flush(INSERT_TRANSACTION_SQL, batch);
+        return written;
+    }
+
+    // 배치 하나를 한 DB 트랜잭션으로 저장하고 비움
+    private void flush(String sql, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+        batch.clear();
+    }
+
+    // 총 거래 수를 활동 순위별 Zipf 비중으로 나누고, 내림으로 남은 건수는 상위 순위부터 하나씩 더한다
+    static void assignZipfActivity(List<SeedAccount> accounts, long total, double exponent, SplittableRandom random) {
+        int size = accounts.size();
+        if (size == 0) {
+            return;
+        }
+
+        // 순위 → 계좌 (Fisher-Yates)
+        int[] ranked = new int[size];
+        for (int i = 0; i < size; i++) {
+            ranked[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ranked[i];
+            ranked[i] = ranked[j];
+            ranked[j] = swap;
+        }
+
+        double[] weights = new double[size];
+        double weightSum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1.0 / Math.pow(rank + 1, exponent);
+            weightSum += weights[rank];
+        }
+
+        long assigned = 0;
+        for (int rank = 0; rank < size; rank++) {
+            long count = (long) (total * (weights[rank] / weightSum));
+            accounts.get(ranked[rank]).transactions = count;
+            assigned += count;
+        }
+        for (int rank = 0; assigned < total; rank = (rank + 1) % size) {
+            accounts.get(ranked[rank]).transactions++;
+            assigned++;
+        }
+    }
+
+    static final class SeedAccount {
+        final Long userId;
+        final String accountNumber;
+        final int shard;
+        long id;
+        long transactions;
+
+        SeedAccount(Long userId, String accountNumber, int shard) {
+            this.userId = userId;
+            this.accountNumber = accountNumber;
+            this.shard = shard;
+        }
+    }
+
+    private record PooledSequence(String name, int allocationSize) {
+    }
+
+    // 현재 샤드의 시퀀스에서 ID 를 꺼낸다 (시퀀스 값 v 가 (v - 할당 크기, v] 구간을 소유, TransactionIdAllocator 와 같은 규칙)
+    private final class SequenceIds {
+        private final PooledSequence sequence;
+        private long next = 1;
+        private long hi = 0;
+
+        SequenceIds(PooledSequence sequence) {
+            this.sequence = sequence;
+        }
+
+        long next() {
+            if (next > hi) {
+                Long value = jdbcTemplate.queryForObject("select next value for " + sequence.name(), Long.class);
+                hi = value;
+                next = Math.max(1, value - sequence.allocationSize() + 1);
+            }
+            return next++;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.devsehyunjin.account.seed;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * seed 프로필(account.seed.bulk.enabled=true)로 기동하면 부하 테스트용 대량 데이터를 만든다.
+ * 다른 기동 작업(Redis 원장 적재 등)이 생성된 계좌를 보도록 가장 먼저 실행한다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "account.seed.bulk.enabled", havingValue = "true")
+public class BulkSeedRunner implements ApplicationRunner {
+
+    private final BulkDataSeeder bulkDataSeeder;
+    private final SeedPlan plan;
+
+    public BulkSeedRunner(BulkDataSeeder bulkDataSeeder,
+                          @Value("${account.seed.bulk.users:200000}") int users,
+                          @Value("${account.seed.bulk.max-accounts-per-user:10}") int maxAccountsPerUser,
+                          @Value("${account.seed.bulk.transactions-per-account:9}") int transactionsPerAccount,
+                          @Value("${account.seed.bulk.zipf-exponent:1.0}") double zipfExponent,
+                          @Value("${account.seed.bulk.cancel-ratio:0.05}") double cancelRatio,
+                          @Value("${account.seed.bulk.days:90}") int days,
+                          @Value("${account.seed.bulk.batch-size:5000}") int batchSize,
+                          @Value("${account.seed.bulk.threads:4}") int threads,
+                          @Value("${account.seed.bulk.random-seed:42}") long randomSeed) {
+        this.bulkDataSeeder = bulkDataSeeder;
+        this.plan = SeedPlan.builder()
+                .users(users)
+                .maxAccountsPerUser(maxAccountsPerUser)
+                .transactionsPerAccount(transactionsPerAccount)
+                .zipfExponent(zipfExponent)
+                .cancelRatio(cancelRatio)
+                .days(days)
+                .batchSize(batchSize)
+                .threads(threads)
+                .randomSeed(randomSeed)
+                .build();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        bulkDataSeeder.seed(plan);
+    }
+}
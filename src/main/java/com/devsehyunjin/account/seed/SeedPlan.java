@@ -0,0 +1,28 @@
+package com.devsehyunjin.account.seed;
+
+import lombok.Builder;
+import lombok.Getter;
+
+// 대량 데이터 생성 규모와 분포 (BulkDataSeeder 입력)
+@Getter
+@Builder
+public class SeedPlan {
+    // 생성할 사용자 수
+    private int users;
+    // 사용자당 계좌 수 상한 (1 ~ 이 값에서 균등하게 뽑음, 최대 10)
+    private int maxAccountsPerUser;
+    // 계좌당 평균 거래 수 (취소 거래 포함, 계좌별 건수는 Zipf 분포)
+    private int transactionsPerAccount;
+    // Zipf 지수 s (0 이면 모든 계좌가 같은 건수, 클수록 상위 계좌에 몰림)
+    private double zipfExponent;
+    // 사용 거래가 전액 취소되는 비율
+    private double cancelRatio;
+    // 거래 일시를 흩뿌릴 기간 (오늘 기준 과거 일수)
+    private int days;
+    // JDBC 배치 한 번(= 한 DB 트랜잭션)에 저장하는 행 수
+    private int batchSize;
+    // 계좌·거래를 병렬로 저장하는 스레드 수
+    private int threads;
+    // 같은 값이면 같은 분포를 만든다
+    private long randomSeed;
+}
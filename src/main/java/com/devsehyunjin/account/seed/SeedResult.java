@@ -0,0 +1,22 @@
+package com.devsehyunjin.account.seed;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+
+// 대량 데이터 생성 결과
+@Getter
+@AllArgsConstructor
+public class SeedResult {
+    private long users;
+    private long accounts;
+    private long transactions;
+    private Duration elapsed;
+
+    // 초당 저장한 거래 수
+    public long transactionsPerSecond() {
+        long millis = Math.max(1, elapsed.toMillis());
+        return transactions * 1000 / millis;
+    }
+}
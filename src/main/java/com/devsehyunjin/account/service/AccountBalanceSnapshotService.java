@@ -0,0 +1,143 @@
+package com.devsehyunjin.account.service;
+
+import com.devsehyunjin.account.domain.Account;
+import com.devsehyunjin.account.domain.AccountBalanceSnapshot;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.dto.BalanceAsOfResponse;
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.devsehyunjin.account.repository.AccountBalanceSnapshotJdbcRepository;
+import com.devsehyunjin.account.repository.AccountBalanceSnapshotRepository;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.TransactionRepository;
+import com.devsehyunjin.account.shard.ShardContext;
+import com.devsehyunjin.account.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 일말 잔액 스냅샷 생성과 특정 시점 잔액 조회.
+ * 특정 시점 잔액 = 직전 스냅샷 잔액 + 스냅샷 이후 거래 증감이므로, 거래 전체를 다시 계산하지 않는다.
+ * 스냅샷은 계좌와 같은 샤드에 저장되므로 생성도 샤드별로 한다.
+ */
+@Slf4j
+@Service
+public class AccountBalanceSnapshotService {
+
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final AccountBalanceSnapshotJdbcRepository snapshotJdbcRepository;
+    private final ShardRouter shardRouter;
+    private final long chunkSize;
+
+    public AccountBalanceSnapshotService(AccountRepository accountRepository,
+                                         TransactionRepository transactionRepository,
+                                         AccountBalanceSnapshotRepository snapshotRepository,
+                                         AccountBalanceSnapshotJdbcRepository snapshotJdbcRepository,
+                                         ShardRouter shardRouter,
+                                         @Value("${account.snapshot.chunk-size:50000}") long chunkSize) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.snapshotJdbcRepository = snapshotJdbcRepository;
+        this.shardRouter = shardRouter;
+        this.chunkSize = chunkSize;
+    }
+
+    // 마지막 스냅샷 일자부터 어제까지 밀린 일말 스냅샷을 순서대로 생성 (샤드마다 진행 상황이 다를 수 있음)
+    @Scheduled(cron = "${account.snapshot.cron:0 10 0 * * *}")
+    public void createMissingSnapshots() {
+        shardRouter.forEachShard(this::createMissingShardSnapshots);
+    }
+
+    private void createMissingShardSnapshots() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate latest = snapshotRepository.findLatestSnapshotDate();
+
+        // 최초 실행이면 어제 스냅샷부터 (현재 잔액에서 역산), 이전 실행이 중간에 끊겼을 수 있으므로 마지막 일자부터 다시
+        LocalDate date = latest != null ? latest : yesterday;
+        try {
+            for (; !date.isAfter(yesterday); date = date.plusDays(1)) {
+                createShardSnapshots(date);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 같은 일자를 동시에 만들고 있음 (유니크 제약), 남은 일자는 다음 실행에서 이어서 생성
+            log.warn("잔액 스냅샷 생성 중단: date={}, {}", date, e.getMessage());
+        }
+    }
+
+    // 해당 일자의 일말 스냅샷을 모든 샤드에서 생성하고 저장 건수 합계를 반환
+    public int createSnapshots(LocalDate date) {
+        return shardRouter.callOnAllShards(() -> createShardSnapshots(date)).stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    // 현재 샤드의 일말 스냅샷 생성 (계좌 ID 구간별로 나눠 각각 커밋) 후 저장 건수 반환
+    private int createShardSnapshots(LocalDate date) {
+        long[] range = snapshotJdbcRepository.findAccountIdRange();
+        if (range == null) {
+            return 0;
+        }
+
+        // 계좌 ID 는 여러 샤드의 시퀀스 구간에서 올 수 있으므로, 구간 사이의 빈 ID 범위는 건너뛴다
+        int created = 0;
+        Long from = range[0];
+        while (from != null) {
+            long to = Math.min(from + chunkSize - 1, range[1]);
+            created += snapshotJdbcRepository.insertDailySnapshots(date, from, to);
+            from = to < range[1] ? snapshotJdbcRepository.findNextAccountId(to) : null;
+        }
+        log.info("잔액 스냅샷 생성 완료: shard={}, date={}, count={}", ShardContext.current(), date, created);
+        return created;
+    }
+
+    // 특정 시점(asOf 포함)의 계좌 잔액 조회
+    @Transactional(readOnly = true)
+    public BalanceAsOfResponse getBalanceAsOf(String accountNumber, LocalDateTime asOf) {
+        // Step 1: 계좌 확인
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(ErrorCode.ACCOUNT_NOT_FOUND::exception);
+
+        if (asOf.isBefore(account.getCreatedAt())) {
+            throw ErrorCode.ACCOUNT_NOT_OPENED_AT.exception();
+        }
+
+        // 거래일시는 asOf 까지 포함
+        LocalDateTime end = asOf.plusNanos(1);
+
+        // Step 2: asOf 이전에 끝난 가장 가까운 스냅샷 + 이후 거래 증감
+        Optional<AccountBalanceSnapshot> snapshot = snapshotRepository
+                .findFirstByAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(
+                        account.getId(), asOf.toLocalDate().minusDays(1));
+
+        long balance;
+        LocalDate snapshotDate = null;
+        if (snapshot.isPresent()) {
+            snapshotDate = snapshot.get().getSnapshotDate();
+            balance = snapshot.get().getBalance() + transactionRepository.sumBalanceDelta(
+                    account.getId(), TransactionType.USE, snapshotDate.plusDays(1).atStartOfDay(), end);
+        } else {
+            // Step 3: 스냅샷이 없으면 현재 잔액에서 asOf 이후 거래 증감을 되돌림
+            balance = account.getBalance() - transactionRepository.sumBalanceDelta(
+                    account.getId(), TransactionType.USE, end, MAX_DATE);
+        }
+
+        return BalanceAsOfResponse.builder()
+                .accountNumber(account.getAccountNumber())
+                .asOf(asOf)
+                .balance(balance)
+                .snapshotDate(snapshotDate)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.devsehyunjin.account.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 충돌 없는 10자리 계좌번호 발급기.
+ * 노드마다 DB 시퀀스로 카운터 블록을 예약하고, 카운터를 9자리 범위의 Feistel 순열로 섞은 뒤
+ * Luhn 검증 숫자를 붙인다. 순열은 일대일이므로 중복 확인 쿼리가 필요 없고, 번호는 순차적으로 보이지 않는다.
+ */
+@Component
+public class AccountNumberAllocator {
+
+    private static final String NEXT_BLOCK_SQL = "select next value for account_number_block_seq";
+
+    // 검증 숫자를 뺀 9자리 본문이 표현할 수 있는 번호 수
+    static final long CAPACITY = 1_000_000_000L;
+
+    // 2^30 > 10^9 이므로 15비트씩 나눈 Feistel 네트워크 위에서 cycle-walking
+    private static final int HALF_BITS = 15;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 4;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long blockSize;
+    private final long[] roundKeys = new long[ROUNDS];
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long next;
+    private long blockEnd;
+
+    public AccountNumberAllocator(JdbcTemplate jdbcTemplate,
+                                  @Value("${account.number.block-size:1000}") long blockSize,
+                                  @Value("${account.number.permutation-key:7919}") long permutationKey) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = blockSize;
+        long seed = permutationKey;
+        for (int i = 0; i < ROUNDS; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            roundKeys[i] = seed;
+        }
+    }
+
+    public String allocate() {
+        long counter;
+        lock.lock();
+        try {
+            if (next == blockEnd) {
+                reserveBlock();
+            }
+            counter = next++;
+        } finally {
+            lock.unlock();
+        }
+        return format(counter);
+    }
+
+    // 다음 카운터 블록 예약 (노드 간 공유되는 유일한 DB 호출)
+    private void reserveBlock() {
+        Long block = jdbcTemplate.queryForObject(NEXT_BLOCK_SQL, Long.class);
+        long start = block * blockSize;
+        if (start >= CAPACITY) {
+            throw new IllegalStateException("발급 가능한 계좌번호가 모두 소진되었습니다.");
+        }
+        next = start;
+        blockEnd = Math.min(start + blockSize, CAPACITY);
+    }
+
+    // 카운터 → 9자리 순열 번호 + 검증 숫자 1자리
+    String format(long counter) {
+        String body = String.format("%09d", permute(counter));
+        return body + checkDigit(body);
+    }
+
+    long permute(long value) {
+        long result = feistel(value);
+        while (result >= CAPACITY) {
+            result = feistel(result);
+        }
+        return result;
+    }
+
+    private long feistel(long value) {
+        long left = (value >>> HALF_BITS) & HALF_MASK;
+        long right = value & HALF_MASK;
+        for (long roundKey : roundKeys) {
+            long mixed = left ^ (mix(right ^ roundKey) & HALF_MASK);
+            left = right;
+            right = mixed;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Luhn 검증 숫자 (오타로 다른 계좌번호가 입력되는 것을 방지)
+    static int checkDigit(String body) {
+        int sum = 0;
+        boolean doubleDigit = true;
+        for (int i = body.length() - 1; i >= 0; i--) {
+            int digit = body.charAt(i) - '0';
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
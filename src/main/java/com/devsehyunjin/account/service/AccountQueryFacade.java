@@ -0,0 +1,73 @@
+package com.devsehyunjin.account.service;
+
+import com.devsehyunjin.account.cache.AccountQueryCache;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.dto.BalanceAsOfResponse;
+import com.devsehyunjin.account.dto.CheckAccountResponse;
+import com.devsehyunjin.account.dto.TransactionHistoryResponse;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.devsehyunjin.account.exception.AccountException;
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.devsehyunjin.account.replica.ReplicaRouter;
+import com.devsehyunjin.account.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 계좌/거래 조회 진입점. 캐시에 없을 때만 AccountService 로 DB를 조회한다.
+ * 계좌번호로 조회하는 경우 트랜잭션 시작 전에 계좌의 샤드를 정한다.
+ * DB 조회는 복제본에서 하되, 최근에 쓴 사용자·계좌는 ReplicaRouter 가 주 DB 로 보낸다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountQueryFacade {
+
+    private final AccountService accountService;
+    private final AccountQueryCache accountQueryCache;
+    private final AccountBalanceSnapshotService accountBalanceSnapshotService;
+    private final ShardRouter shardRouter;
+    private final ReplicaRouter replicaRouter;
+
+    // 특정 사용자 계좌 조회
+    public List<CheckAccountResponse> getUserAccounts(Long userId) {
+        return accountQueryCache.getUserAccounts(userId,
+                () -> replicaRouter.readForUser(userId, () -> accountService.getUserAccounts(userId)));
+    }
+
+    // 거래 확인 (거래 기록은 변경되지 않으므로 무효화 없이 TTL로만 만료)
+    public TransactionResponse getTransaction(Long transactionId) {
+        return accountQueryCache.getTransaction(transactionId, () -> getTransactionFromReplica(transactionId));
+    }
+
+    // 거래 기록은 변경되지 않으므로 복제본에 있으면 그대로 쓰고, 아직 복제되지 않았으면 주 DB 에서 다시 조회
+    private TransactionResponse getTransactionFromReplica(Long transactionId) {
+        if (!replicaRouter.isEnabled()) {
+            return accountService.getTransaction(transactionId);
+        }
+        try {
+            return replicaRouter.readFromReplica(() -> accountService.getTransaction(transactionId));
+        } catch (AccountException e) {
+            if (e.getErrorCode() != ErrorCode.TRANSACTION_NOT_FOUND) {
+                throw e;
+            }
+            return accountService.getTransaction(transactionId);
+        }
+    }
+
+    // 계좌별 거래 내역 조회
+    public TransactionHistoryResponse getTransactionHistory(String accountNumber, TransactionType transactionType,
+                                                            LocalDateTime from, LocalDateTime to,
+                                                            String cursor, int size) {
+        return shardRouter.callOnAccountShard(accountNumber, () -> replicaRouter.readForAccount(accountNumber, () ->
+                accountService.getTransactionHistory(accountNumber, transactionType, from, to, cursor, size)));
+    }
+
+    // 특정 시점 잔액 조회
+    public BalanceAsOfResponse getBalanceAsOf(String accountNumber, LocalDateTime asOf) {
+        return shardRouter.callOnAccountShard(accountNumber, () -> replicaRouter.readForAccount(accountNumber, () ->
+                accountBalanceSnapshotService.getBalanceAsOf(accountNumber, asOf)));
+    }
+}
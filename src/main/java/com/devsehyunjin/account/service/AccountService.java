@@ -2,21 +2,28 @@ package com.devsehyunjin.account.service;
 
 import com.devsehyunjin.account.domain.Account;
 import com.devsehyunjin.account.domain.Transaction;
+import com.devsehyunjin.account.domain.TransactionOutbox;
 import com.devsehyunjin.account.domain.User;
 import com.devsehyunjin.account.domain.enums.AccountStatus;
 import com.devsehyunjin.account.domain.enums.TransactionResult;
 import com.devsehyunjin.account.domain.enums.TransactionType;
 import com.devsehyunjin.account.dto.*;
+import com.devsehyunjin.account.event.AccountChangedEvent;
+import com.devsehyunjin.account.exception.ErrorCode;
 import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.TransactionOutboxRepository;
 import com.devsehyunjin.account.repository.TransactionRepository;
 import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.shard.ShardRouter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Random;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,22 +33,42 @@ public class AccountService {
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
+    private final TransactionOutboxRepository transactionOutboxRepository;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
 
-    public CreateAccountResponse createAccount(CreateAccountRequest request) {
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final LocalDateTime HISTORY_MIN_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime HISTORY_MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
 
-        // 계좌 생성 가능 여부 확인
-        if (accountRepository.findByUserId(request.getUserId()).size() >= 10) {
-            throw new RuntimeException("사용자가 생성 가능한 계좌 수를 초과했습니다.");
+    public CreateAccountResponse createAccount(CreateAccountRequest request) {
+        // 계좌 수 자리 확보 (사용자 행의 계좌 수를 상한 미만일 때만 조건부로 늘림, 동시에 만들어도 상한을 넘지 않음)
+        Integer reserved = shardRouter.callOnGlobalShard(
+                () -> userRepository.incrementAccountCount(request.getUserId(), User.MAX_ACCOUNT_COUNT));
+        if (reserved == 0) {
+            // 실패 원인 구분은 실패한 요청에서만 조회
+            if (!shardRouter.callOnGlobalShard(() -> userRepository.existsById(request.getUserId()))) {
+                throw ErrorCode.USER_NOT_FOUND.exception();
+            }
+            throw ErrorCode.ACCOUNT_LIMIT_EXCEEDED.exception();
         }
+        // 사용자 존재는 위에서 확인했으므로 조회 없이 참조만 사용
+        User user = userRepository.getReferenceById(request.getUserId());
 
-        // 10자리 계좌번호 생
-        String accountNumber = generateUniqueAccountNumber();
+        // 10자리 계좌번호 생성 (발급기가 중복 없음을 보장)
+        String accountNumber = accountNumberAllocator.allocate();
 
-        // 새로운 계좌 생성
+        // 새로운 계좌 생성 (계좌번호가 정하는 샤드에 저장)
         Account newAccount = Account.createAccount(accountNumber, user, request.getInitialBalance());
-        accountRepository.save(newAccount);
+        try {
+            shardRouter.runOnShard(shardRouter.shardOf(accountNumber), () -> accountRepository.save(newAccount));
+        } catch (RuntimeException e) {
+            // 계좌가 다른 샤드(DB)에 저장되므로 확보한 자리는 직접 되돌린다
+            shardRouter.callOnGlobalShard(() -> userRepository.decrementAccountCount(request.getUserId()));
+            throw e;
+        }
+        eventPublisher.publishEvent(new AccountChangedEvent(user.getId(), accountNumber));
 
         return CreateAccountResponse.builder()
                 .userId(newAccount.getUser().getId())
@@ -53,31 +80,23 @@ public class AccountService {
     // 계좌 해지
     @Transactional
     public CloseAccountResponse closeAccount(CloseAccountRequest request) {
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-        // 2. 계좌 확인
-        Account account = accountRepository.findByAccountNumber(request.getAccountNumber())
-                .orElseThrow(() -> new RuntimeException("계좌를 찾을 수 없습니다."));
-
-        // 3. 계좌 소유주와 사용자 검증
-        if (!account.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("사용자 아이디와 계좌 소유주가 다릅니다.");
-        }
+        // 1~3. 계좌 확인 및 계좌 소유주와 사용자 검증
+        Account account = findOwnedAccount(request.getUserId(), request.getAccountNumber());
 
         // 4. 계좌 상태 검증 (이미 해지된 경우 실패)
         if (account.getStatus() == AccountStatus.CLOSED) {
-            throw new RuntimeException("이미 해지된 계좌입니다.");
+            throw ErrorCode.ACCOUNT_CLOSED.exception();
         }
 
         // 5. 잔액 확인 (잔액이 남아있는 경우 실패)
         if (account.getBalance() > 0) {
-            throw new RuntimeException("잔액이 남아있어 계좌를 해지할 수 없습니다.");
+            throw ErrorCode.BALANCE_REMAINING.exception();
         }
 
         // 6. 계좌 해지 (비즈니스 로직 실행)
         account.closeAccount();
         accountRepository.save(account); // 상태 변경 후 저장
+        eventPublisher.publishEvent(new AccountChangedEvent(request.getUserId(), account.getAccountNumber()));
 
         return CloseAccountResponse.builder()
                 .userId(account.getUser().getId())
@@ -87,18 +106,17 @@ public class AccountService {
     }
 
     // 계좌 확인
-    @Transactional(readOnly = true)
     public List<CheckAccountResponse> getUserAccounts(Long userId) {
-        // 사용자 존재 여부 확인
-        boolean userExists = userRepository.existsById(userId);
-        if (!userExists) {
-            throw new RuntimeException("User with ID " + userId + " does not exist.");
-        }
-
-        // 계좌 조회
-        List<Account> accounts = accountRepository.findByUserId(userId);
+        // 모든 샤드에서 계좌 조회 (계좌가 없을 때만 사용자 존재 여부 확인)
+        List<Account> accounts = shardRouter.callOnAllShards(() -> accountRepository.findByUserId(userId))
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
         if (accounts.isEmpty()) {
-            throw new RuntimeException("No accounts found for user ID " + userId);
+            if (!shardRouter.callOnGlobalShard(() -> userRepository.existsById(userId))) {
+                throw ErrorCode.USER_NOT_FOUND.exception();
+            }
+            throw ErrorCode.NO_ACCOUNTS.exception();
         }
 
         // DTO로 변환하여 반환
@@ -112,36 +130,29 @@ public class AccountService {
     }
 
     // 잔액 사용
+    @Transactional
     public TransactionResponse useBalance(TransactionRequest request) {
-        // Step 1: 사용자 확인
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new RuntimeException("사용자가 존재하지 않습니다."));
-
-        // Step 2: 계좌 확인
-        Account account = accountRepository.findByAccountNumber(request.getAccountNumber())
-                .orElseThrow(() -> new RuntimeException("계좌가 존재하지 않습니다."));
-
-        if (!account.getUser().equals(user)) {
-            throw new RuntimeException("계좌 소유주가 아닙니다.");
-        }
+        // Step 1~2: 계좌 및 소유주 확인
+        Account account = findOwnedAccount(request.getUserId(), request.getAccountNumber());
 
         // Step 3: 계좌 상태 확인
         if (account.isClosed()) {
-            throw new RuntimeException("이미 해지된 계좌입니다.");
+            throw ErrorCode.ACCOUNT_CLOSED.exception();
         }
 
         // Step 4: 거래 금액 유효성 확인
         if (request.getAmount() <= 0 || request.getAmount() > 1_000_000) {
-            throw new RuntimeException("거래 금액이 유효하지 않습니다.");
+            throw ErrorCode.INVALID_AMOUNT.exception();
         }
 
         if (account.getBalance() < request.getAmount()) {
-            throw new RuntimeException("잔액이 부족합니다.");
+            throw ErrorCode.INSUFFICIENT_BALANCE.exception();
         }
 
         // 계좌 잔액 사용
         account.updateBalanceForUse(request.getAmount());
         accountRepository.save(account);
+        eventPublisher.publishEvent(new AccountChangedEvent(request.getUserId(), account.getAccountNumber()));
 
         // Step 6: 트랜잭션 저장
         Transaction transaction = transactionRepository.save(
@@ -151,34 +162,43 @@ public class AccountService {
                         .transactionType(TransactionType.USE)
                         .amount(request.getAmount())
                         .transactionDate(LocalDateTime.now())
+                        .cancellableAmount(request.getAmount())
                         .build()
         );
 
+        // Step 7: 같은 트랜잭션에서 아웃박스 기록 (커밋 후 릴레이가 거래 스트림으로 발행)
+        transactionOutboxRepository.save(TransactionOutbox.of(transaction));
+
         return TransactionResponse.from(transaction);
     }
 
     // 잔액 사용 취소
+    @Transactional
     public TransactionResponse cancelBalance(CancelTransactionRequest request) {
-        // Step 1: 기존 거래 조회
-        Transaction existingTransaction = transactionRepository.findById(request.getTransactionId())
-                .orElseThrow(() -> new RuntimeException("거래가 존재하지 않습니다."));
+        // Step 1: 기존 거래와 계좌를 한 번에 조회
+        Transaction existingTransaction = transactionRepository.findWithAccountById(request.getTransactionId())
+                .orElseThrow(ErrorCode.TRANSACTION_NOT_FOUND::exception);
 
-        // Step 2: 거래 및 계좌 검증
+        // Step 2: 거래 및 계좌 검증 (사용 거래인지, 남은 취소 가능 금액 이내인지)
         Account account = existingTransaction.getAccount();
 
         if (!account.getAccountNumber().equals(request.getAccountNumber())) {
-            throw new RuntimeException("해당 거래가 계좌와 일치하지 않습니다.");
+            throw ErrorCode.TRANSACTION_ACCOUNT_MISMATCH.exception();
         }
 
-        if (!existingTransaction.getAmount().equals(request.getAmount())) {
-            throw new RuntimeException("원거래 금액과 취소 금액이 일치하지 않습니다.");
+        existingTransaction.validateCancel(request.getAmount());
+
+        // Step 3: 원거래의 취소 가능 금액 차감 (동시에 들어온 다른 취소가 먼저 차감했다면 실패)
+        if (transactionRepository.deductCancellableAmount(existingTransaction.getId(), request.getAmount()) == 0) {
+            throw ErrorCode.CANCEL_AMOUNT_EXCEEDED.exception();
         }
 
-        // Step 3: 계좌 잔액 복원
+        // Step 4: 계좌 잔액 복원
         account.updateBalanceForCancel(request.getAmount());
         accountRepository.save(account);
+        eventPublisher.publishEvent(new AccountChangedEvent(account.getUser().getId(), account.getAccountNumber()));
 
-        // Step 4: 취소 트랜잭션 저장
+        // Step 5: 원거래와 연결된 취소 트랜잭션 저장
         Transaction cancelTransaction = transactionRepository.save(
                 Transaction.builder()
                         .account(account)
@@ -186,30 +206,93 @@ public class AccountService {
                         .transactionResult(TransactionResult.SUCCESS)
                         .amount(request.getAmount())
                         .transactionDate(LocalDateTime.now())
+                        .originalTransaction(existingTransaction)
+                        .cancellableAmount(0L)
                         .build()
         );
 
+        // Step 6: 같은 트랜잭션에서 아웃박스 기록
+        transactionOutboxRepository.save(TransactionOutbox.of(cancelTransaction));
+
         return TransactionResponse.from(cancelTransaction);
     }
 
     // 거래 확인
     public TransactionResponse getTransaction(Long transactionId) {
-        // Step 1: Transaction ID로 거래 조회
-        Transaction transaction = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new RuntimeException("거래가 존재하지 않습니다."));
+        // Step 1: Transaction ID로 거래와 계좌 조회 (거래 ID 만으로는 샤드를 알 수 없으므로 모든 샤드 조회)
+        Transaction transaction = shardRouter.callOnAllShards(() -> transactionRepository.findWithAccountById(transactionId))
+                .stream()
+                .flatMap(Optional::stream)
+                .findFirst()
+                .orElseThrow(ErrorCode.TRANSACTION_NOT_FOUND::exception);
 
         // Step 2: Transaction 정보를 DTO로 변환
         return TransactionResponse.fromCheck(transaction);
     }
 
-    private String generateUniqueAccountNumber() {
-        String accountNumber;
-        Random random = new Random();
-        do {
-            // 10자리 숫자 랜덤 생성
-            accountNumber = String.format("%010d", Math.abs(random.nextLong() % 1_000_000_0000L));
-        } while (accountRepository.existsByAccountNumber(accountNumber)); // 중복 확인
+    // 계좌별 거래 내역 조회 (최신순, 키셋 페이지네이션)
+    @Transactional(readOnly = true)
+    public TransactionHistoryResponse getTransactionHistory(String accountNumber, TransactionType transactionType,
+                                                            LocalDateTime from, LocalDateTime to,
+                                                            String cursor, int size) {
+        // Step 1: 조회 조건 확인
+        if (size <= 0 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw ErrorCode.INVALID_PAGE_SIZE.exception();
+        }
+
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(ErrorCode.ACCOUNT_NOT_FOUND::exception);
+
+        // Step 2: 커서가 없으면 조회 기간의 끝(to, 미포함)부터 시작
+        LocalDateTime cursorDate = to != null ? to : HISTORY_MAX_DATE;
+        long cursorId = Long.MIN_VALUE;
+        if (cursor != null) {
+            TransactionCursor decoded = TransactionCursor.decode(cursor);
+            cursorDate = decoded.getTransactionDate();
+            cursorId = decoded.getTransactionId();
+        }
+
+        // Step 3: 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        List<Transaction> transactions = transactionRepository.findHistory(
+                account.getId(), transactionType, from != null ? from : HISTORY_MIN_DATE,
+                cursorDate, cursorId, PageRequest.of(0, size + 1));
 
-        return accountNumber;
+        boolean hasNext = transactions.size() > size;
+        List<Transaction> page = hasNext ? transactions.subList(0, size) : transactions;
+        Transaction last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return TransactionHistoryResponse.builder()
+                .accountNumber(account.getAccountNumber())
+                .transactions(page.stream()
+                        .map(transaction -> TransactionResponse.builder()
+                                .accountNumber(account.getAccountNumber())
+                                .transactionResult(transaction.getTransactionResult())
+                                .transactionId(transaction.getId())
+                                .amount(transaction.getAmount())
+                                .transactionDate(transaction.getTransactionDate())
+                                .transactionType(transaction.getTransactionType())
+                                .build())
+                        .collect(Collectors.toList()))
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new TransactionCursor(last.getTransactionDate(), last.getId()).encode() : null)
+                .build();
+    }
+
+    // 소유주가 일치하는 계좌 조회.
+    // 계좌는 존재하는 사용자에게만 발급되므로 소유주가 일치하면 사용자도 존재한다.
+    // 사용자 존재 여부는 실패 원인을 가릴 때만 0번 샤드에서 조회한다 (사용자 → 계좌 → 소유주 순서)
+    private Account findOwnedAccount(Long userId, String accountNumber) {
+        Optional<Account> account = accountRepository.findByAccountNumber(accountNumber);
+        // getUser().getId() 는 프록시의 식별자만 읽으므로 User 를 조회하지 않음
+        if (account.isPresent() && account.get().getUser().getId().equals(userId)) {
+            return account.get();
+        }
+        if (!shardRouter.callOnGlobalShard(() -> userRepository.existsById(userId))) {
+            throw ErrorCode.USER_NOT_FOUND.exception();
+        }
+        if (account.isEmpty()) {
+            throw ErrorCode.ACCOUNT_NOT_FOUND.exception();
+        }
+        throw ErrorCode.OWNER_MISMATCH.exception();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.devsehyunjin.account.service;
+
+import com.devsehyunjin.account.dto.*;
+
+/**
+ * DB 이외의 저장소에서 잔액을 관리하는 모드의 공통 인터페이스.
+ * account.balance.mode 설정에 따라 하나의 구현만 빈으로 등록된다.
+ */
+public interface BalanceEngine {
+
+    TransactionResponse useBalance(TransactionRequest request);
+
+    TransactionResponse cancelBalance(CancelTransactionRequest request);
+
+    CloseAccountResponse closeAccount(CloseAccountRequest request);
+}
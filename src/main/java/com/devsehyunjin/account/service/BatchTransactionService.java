@@ -0,0 +1,239 @@
+package com.devsehyunjin.account.service;
+
+import com.devsehyunjin.account.domain.Account;
+import com.devsehyunjin.account.domain.Transaction;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.dto.*;
+import com.devsehyunjin.account.event.AccountChangedEvent;
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.TransactionJdbcRepository;
+import com.devsehyunjin.account.repository.TransactionRepository;
+import com.devsehyunjin.account.repository.TransactionRow;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 잔액 사용/취소 일괄 처리.
+ * 관련 계좌를 한 번에 조회해 요청 순서대로 검증하고, 거래는 JDBC 배치로 한 번에 저장한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class BatchTransactionService {
+
+
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+
+    // 잔액 사용 일괄 처리
+    @Transactional
+    public BatchTransactionResponse useBalances(BatchTransactionRequest request) {
+        List<TransactionRequest> items = request.getRequests();
+        BatchTransactionResult[] results = new BatchTransactionResult[items.size()];
+
+        // Step 1: 관련 계좌와 사용자를 한 번에 조회
+        Map<String, Account> accounts = accountRepository.findByAccountNumberIn(
+                        items.stream().map(TransactionRequest::getAccountNumber).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+        Set<Long> existingUserIds = shardRouter.callOnGlobalShard(() -> userRepository.findAllById(
+                        items.stream().map(TransactionRequest::getUserId).filter(Objects::nonNull).collect(Collectors.toSet())))
+                .stream()
+                .map(User::getId)
+                .collect(Collectors.toSet());
+
+        // Step 2: 요청 순서대로 검증하며 계좌별 누적 차감액 계산
+        Map<Account, Long> debits = new LinkedHashMap<>();
+        List<TransactionRow> rows = new ArrayList<>(items.size());
+        List<Integer> rowIndexes = new ArrayList<>(items.size());
+        List<Account> rowAccounts = new ArrayList<>(items.size());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < items.size(); i++) {
+            TransactionRequest item = items.get(i);
+            Account account = accounts.get(item.getAccountNumber());
+            ErrorCode error = validateUse(item, account, existingUserIds, debits.getOrDefault(account, 0L));
+            if (error != null) {
+                results[i] = BatchTransactionResult.failure(i, error);
+                if (request.isAllOrNothing()) {
+                    return rollback(results);
+                }
+                continue;
+            }
+
+            debits.merge(account, item.getAmount(), Long::sum);
+            rows.add(TransactionRow.builder()
+                    .accountId(account.getId())
+                    .amount(item.getAmount())
+                    .transactionType(TransactionType.USE)
+                    .transactionResult(TransactionResult.SUCCESS)
+                    .transactionDate(now)
+                    .build());
+            rowIndexes.add(i);
+            rowAccounts.add(account);
+        }
+
+        // Step 3: 계좌 잔액 반영 (변경 감지로 커밋 시 UPDATE)
+        debits.forEach(Account::updateBalanceForUse);
+        debits.keySet().forEach(this::publishChanged);
+
+        // Step 4: 거래 배치 저장
+        return complete(results, rows, rowIndexes, rowAccounts);
+    }
+
+    // 잔액 사용 취소 일괄 처리
+    @Transactional
+    public BatchTransactionResponse cancelBalances(BatchCancelTransactionRequest request) {
+        List<CancelTransactionRequest> items = request.getRequests();
+        BatchTransactionResult[] results = new BatchTransactionResult[items.size()];
+
+        // Step 1: 원거래와 계좌를 한 번에 조회
+        Map<Long, Transaction> originals = transactionRepository.findAllWithAccountByIdIn(
+                        items.stream().map(CancelTransactionRequest::getTransactionId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+
+        // Step 2: 요청 순서대로 검증하며 계좌별 누적 복원액과 원거래별 누적 취소액 계산
+        Map<Account, Long> credits = new LinkedHashMap<>();
+        Map<Long, Long> cancels = new LinkedHashMap<>();
+        List<TransactionRow> rows = new ArrayList<>(items.size());
+        List<Integer> rowIndexes = new ArrayList<>(items.size());
+        List<Account> rowAccounts = new ArrayList<>(items.size());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < items.size(); i++) {
+            CancelTransactionRequest item = items.get(i);
+            Transaction original = originals.get(item.getTransactionId());
+            ErrorCode error = validateCancel(item, original,
+                    original == null ? 0L : cancels.getOrDefault(original.getId(), 0L));
+            if (error != null) {
+                results[i] = BatchTransactionResult.failure(i, error);
+                if (request.isAllOrNothing()) {
+                    return rollback(results);
+                }
+                continue;
+            }
+
+            Account account = original.getAccount();
+            credits.merge(account, item.getAmount(), Long::sum);
+            cancels.merge(original.getId(), item.getAmount(), Long::sum);
+            rows.add(TransactionRow.builder()
+                    .accountId(account.getId())
+                    .amount(item.getAmount())
+                    .transactionType(TransactionType.CANCEL)
+                    .transactionResult(TransactionResult.SUCCESS)
+                    .transactionDate(now)
+                    .originalTransactionId(original.getId())
+                    .build());
+            rowIndexes.add(i);
+            rowAccounts.add(account);
+        }
+
+        // Step 3: 원거래의 취소 가능 금액 차감 (동시에 다른 취소가 먼저 차감했다면 전체 롤백)
+        transactionJdbcRepository.batchDeductCancellableAmount(cancels);
+
+        // Step 4: 계좌 잔액 복원
+        credits.forEach(Account::updateBalanceForCancel);
+        credits.keySet().forEach(this::publishChanged);
+
+        // Step 5: 취소 거래 배치 저장
+        return complete(results, rows, rowIndexes, rowAccounts);
+    }
+
+    // 단건 useBalance 와 같은 순서로 검증하고, 실패 사유를 반환 (성공이면 null)
+    private ErrorCode validateUse(TransactionRequest item, Account account, Set<Long> existingUserIds, long pendingDebit) {
+        if (!existingUserIds.contains(item.getUserId())) {
+            return ErrorCode.USER_NOT_FOUND;
+        }
+        if (account == null) {
+            return ErrorCode.ACCOUNT_NOT_FOUND;
+        }
+        if (!account.getUser().getId().equals(item.getUserId())) {
+            return ErrorCode.OWNER_MISMATCH;
+        }
+        if (account.isClosed()) {
+            return ErrorCode.ACCOUNT_CLOSED;
+        }
+        if (item.getAmount() == null || item.getAmount() <= 0 || item.getAmount() > 1_000_000) {
+            return ErrorCode.INVALID_AMOUNT;
+        }
+        if (account.getBalance() - pendingDebit < item.getAmount()) {
+            return ErrorCode.INSUFFICIENT_BALANCE;
+        }
+        return null;
+    }
+
+    // 단건 cancelBalance 와 같은 순서로 검증하고, 실패 사유를 반환 (성공이면 null)
+    // pendingCancel: 같은 배치에서 앞서 통과한 같은 원거래의 취소 금액 합계
+    private ErrorCode validateCancel(CancelTransactionRequest item, Transaction original, long pendingCancel) {
+        if (original == null) {
+            return ErrorCode.TRANSACTION_NOT_FOUND;
+        }
+        if (!original.getAccount().getAccountNumber().equals(item.getAccountNumber())) {
+            return ErrorCode.TRANSACTION_ACCOUNT_MISMATCH;
+        }
+        if (original.getTransactionType() != TransactionType.USE
+                || original.getTransactionResult() != TransactionResult.SUCCESS) {
+            return ErrorCode.NOT_CANCELLABLE_TRANSACTION;
+        }
+        if (item.getAmount() == null || item.getAmount() <= 0) {
+            return ErrorCode.INVALID_AMOUNT;
+        }
+        if (original.getCancellableAmount() - pendingCancel == 0) {
+            return ErrorCode.TRANSACTION_ALREADY_CANCELLED;
+        }
+        if (item.getAmount() > original.getCancellableAmount() - pendingCancel) {
+            return ErrorCode.CANCEL_AMOUNT_EXCEEDED;
+        }
+        if (original.getAccount().getIsDeleted()) {
+            return ErrorCode.ACCOUNT_CLOSED;
+        }
+        return null;
+    }
+
+    private void publishChanged(Account account) {
+        eventPublisher.publishEvent(new AccountChangedEvent(account.getUser().getId(), account.getAccountNumber()));
+    }
+
+    private BatchTransactionResponse complete(BatchTransactionResult[] results, List<TransactionRow> rows,
+                                              List<Integer> rowIndexes, List<Account> rowAccounts) {
+        List<Long> ids = transactionJdbcRepository.batchInsert(rows);
+        for (int k = 0; k < rows.size(); k++) {
+            TransactionRow row = rows.get(k);
+            int index = rowIndexes.get(k);
+            results[index] = BatchTransactionResult.success(index, TransactionResponse.builder()
+                    .accountNumber(rowAccounts.get(k).getAccountNumber())
+                    .transactionResult(row.getTransactionResult())
+                    .transactionId(ids.get(k))
+                    .amount(row.getAmount())
+                    .transactionDate(row.getTransactionDate())
+                    .build());
+        }
+        return BatchTransactionResponse.of(Arrays.asList(results));
+    }
+
+    // 전체 롤백: 아직 아무것도 반영하지 않았으므로 결과만 실패로 채운다
+    private BatchTransactionResponse rollback(BatchTransactionResult[] results) {
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = BatchTransactionResult.failure(i, ErrorCode.BATCH_ROLLED_BACK);
+            }
+        }
+        return BatchTransactionResponse.of(Arrays.asList(results));
+    }
+}
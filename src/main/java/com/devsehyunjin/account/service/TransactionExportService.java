@@ -0,0 +1,139 @@
+package com.devsehyunjin.account.service;
+
+import com.devsehyunjin.account.domain.Transaction;
+import com.devsehyunjin.account.repository.TransactionRepository;
+import com.devsehyunjin.account.shard.ShardRouter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 하루치 거래 내보내기 (정산 대사용).
+ * 커서로 한 행씩 읽어 바로 출력 스트림에 쓰고 엔티티를 분리하므로, 건수와 상관없이 힙 사용량이 일정하다.
+ * 샤드를 차례로 하나씩, 샤드마다 읽기 전용 트랜잭션 하나로 읽어 같은 출력 스트림에 이어 쓴다.
+ */
+@Service
+public class TransactionExportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final String CSV_HEADER =
+            "transaction_id,account_number,amount,transaction_type,transaction_result,transaction_date\n";
+
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public TransactionExportService(TransactionRepository transactionRepository,
+                                    EntityManager entityManager,
+                                    ObjectMapper objectMapper,
+                                    ShardRouter shardRouter,
+                                    PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.shardRouter = shardRouter;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    // 내보낸 거래 건수를 반환
+    public long export(LocalDate date, Format format, OutputStream out) throws IOException {
+        if (format == Format.CSV) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            long count = exportEachShard(date, transactions -> writeCsv(transactions, writer));
+            writer.flush();
+            return count;
+        }
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            return exportEachShard(date, transactions -> writeNdjson(transactions, generator));
+        }
+    }
+
+    // 샤드마다 커서를 열어 sink 로 넘기고 건수를 합산
+    private long exportEachShard(LocalDate date, TransactionSink sink) throws IOException {
+        long count = 0;
+        try {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                count += shardRouter.callOnShard(shard, () -> readOnlyTransactionTemplate.execute(status -> {
+                    try (Stream<Transaction> transactions = transactionRepository.streamByTransactionDateRange(
+                            date.atStartOfDay(), date.plusDays(1).atStartOfDay())) {
+                        return sink.write(transactions.iterator());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count;
+    }
+
+    private long writeNdjson(Iterator<Transaction> transactions, JsonGenerator generator) throws IOException {
+        long count = 0;
+        while (transactions.hasNext()) {
+            Transaction transaction = transactions.next();
+            generator.writeStartObject();
+            generator.writeNumberField("transactionId", transaction.getId());
+            generator.writeStringField("accountNumber", transaction.getAccount().getAccountNumber());
+            generator.writeNumberField("amount", transaction.getAmount());
+            generator.writeStringField("transactionType", transaction.getTransactionType().name());
+            generator.writeStringField("transactionResult", transaction.getTransactionResult().name());
+            generator.writeStringField("transactionDate", String.valueOf(transaction.getTransactionDate()));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            detach(transaction);
+            count++;
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<Transaction> transactions, Writer writer) throws IOException {
+        long count = 0;
+        while (transactions.hasNext()) {
+            Transaction transaction = transactions.next();
+            writer.append(String.valueOf(transaction.getId())).append(',')
+                    .append(transaction.getAccount().getAccountNumber()).append(',')
+                    .append(String.valueOf(transaction.getAmount())).append(',')
+                    .append(transaction.getTransactionType().name()).append(',')
+                    .append(transaction.getTransactionResult().name()).append(',')
+                    .append(String.valueOf(transaction.getTransactionDate())).append('\n');
+            detach(transaction);
+            count++;
+        }
+        return count;
+    }
+
+    // 영속성 컨텍스트에 쌓이지 않도록 처리한 엔티티를 바로 분리
+    private void detach(Transaction transaction) {
+        entityManager.detach(transaction.getAccount());
+        entityManager.detach(transaction);
+    }
+
+    @FunctionalInterface
+    private interface TransactionSink {
+        long write(Iterator<Transaction> transactions) throws IOException;
+    }
+}
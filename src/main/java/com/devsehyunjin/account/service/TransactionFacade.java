@@ -0,0 +1,197 @@
+package com.devsehyunjin.account.service;
+
+import com.devsehyunjin.account.dto.*;
+import com.devsehyunjin.account.exception.AccountException;
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.devsehyunjin.account.lock.AccountLock;
+import com.devsehyunjin.account.lock.AccountLockManager;
+import com.devsehyunjin.account.lock.ConcurrencyMode;
+import com.devsehyunjin.account.lock.OptimisticRetryExecutor;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.shard.ShardRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 잔액 사용/취소/해지 진입점.
+ * 기본(DB) 모드에서는 account.concurrency.mode 에 따라 같은 계좌의 동시 갱신을 막는다.
+ * - lock: 계좌 락을 잡은 뒤 트랜잭션을 시작하고, 커밋이 끝난 다음에 락을 해제한다.
+ *   트랜잭션의 첫 문장으로 계좌 행의 펜싱 토큰을 올려, 락이 만료된 사이 더 새 토큰으로 쓴 보유자가 있으면 롤백한다.
+ * - optimistic: 락 없이 실행하고 Account 버전 충돌 시 트랜잭션 전체를 재시도한다.
+ * - pessimistic: 트랜잭션 안에서 계좌 행을 SELECT ... FOR UPDATE 로 잠근다.
+ * account.balance.mode 로 BalanceEngine 이 등록되어 있으면 해당 엔진에 위임한다.
+ * 모든 처리는 계좌번호가 정하는 샤드에서 실행하며, 여러 샤드의 계좌를 묶은 일괄 처리는 건별로 나눠 처리한다.
+ */
+@Component
+public class TransactionFacade {
+
+    private final AccountService accountService;
+    private final AccountRepository accountRepository;
+    private final AccountLockManager accountLockManager;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchTransactionService batchTransactionService;
+    private final ObjectProvider<BalanceEngine> balanceEngineProvider;
+    private final ShardRouter shardRouter;
+    private final ConcurrencyMode concurrencyMode;
+
+    public TransactionFacade(AccountService accountService,
+                             AccountRepository accountRepository,
+                             AccountLockManager accountLockManager,
+                             OptimisticRetryExecutor optimisticRetryExecutor,
+                             TransactionTemplate transactionTemplate,
+                             BatchTransactionService batchTransactionService,
+                             ObjectProvider<BalanceEngine> balanceEngineProvider,
+                             ShardRouter shardRouter,
+                             @Value("${account.concurrency.mode:lock}") String concurrencyMode) {
+        this.accountService = accountService;
+        this.accountRepository = accountRepository;
+        this.accountLockManager = accountLockManager;
+        this.optimisticRetryExecutor = optimisticRetryExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.batchTransactionService = batchTransactionService;
+        this.balanceEngineProvider = balanceEngineProvider;
+        this.shardRouter = shardRouter;
+        this.concurrencyMode = ConcurrencyMode.from(concurrencyMode);
+    }
+
+    // 잔액 사용
+    public TransactionResponse useBalance(TransactionRequest request) {
+        BalanceEngine balanceEngine = balanceEngineProvider.getIfAvailable();
+        if (balanceEngine != null) {
+            return shardRouter.callOnAccountShard(request.getAccountNumber(), () -> balanceEngine.useBalance(request));
+        }
+
+        return executeInTransaction("useBalance", List.of(request.getAccountNumber()),
+                () -> accountService.useBalance(request));
+    }
+
+    // 잔액 사용 취소
+    public TransactionResponse cancelBalance(CancelTransactionRequest request) {
+        BalanceEngine balanceEngine = balanceEngineProvider.getIfAvailable();
+        if (balanceEngine != null) {
+            return shardRouter.callOnAccountShard(request.getAccountNumber(), () -> balanceEngine.cancelBalance(request));
+        }
+
+        return executeInTransaction("cancelBalance", List.of(request.getAccountNumber()),
+                () -> accountService.cancelBalance(request));
+    }
+
+    // 계좌 해지 (잔액 확인과 해지 사이에 취소 거래가 끼어들지 않도록 같은 방식으로 보호)
+    public CloseAccountResponse closeAccount(CloseAccountRequest request) {
+        BalanceEngine balanceEngine = balanceEngineProvider.getIfAvailable();
+        if (balanceEngine != null) {
+            return shardRouter.callOnAccountShard(request.getAccountNumber(), () -> balanceEngine.closeAccount(request));
+        }
+
+        return executeInTransaction("closeAccount", List.of(request.getAccountNumber()),
+                () -> accountService.closeAccount(request));
+    }
+
+    // 잔액 사용 일괄 처리
+    public BatchTransactionResponse useBalances(BatchTransactionRequest request) {
+        if (balanceEngineProvider.getIfAvailable() != null) {
+            return executeEach(request.getRequests(), request.isAllOrNothing(),
+                    ErrorCode.BATCH_ALL_OR_NOTHING_UNSUPPORTED, this::useBalance);
+        }
+
+        List<String> accountNumbers = request.getRequests().stream()
+                .map(TransactionRequest::getAccountNumber)
+                .collect(Collectors.toList());
+        if (shardRouter.commonShardOf(accountNumbers) < 0) {
+            return executeEach(request.getRequests(), request.isAllOrNothing(),
+                    ErrorCode.BATCH_CROSS_SHARD_ALL_OR_NOTHING, this::useBalance);
+        }
+        return executeInTransaction("useBalances", accountNumbers,
+                () -> batchTransactionService.useBalances(request));
+    }
+
+    // 잔액 사용 취소 일괄 처리
+    public BatchTransactionResponse cancelBalances(BatchCancelTransactionRequest request) {
+        if (balanceEngineProvider.getIfAvailable() != null) {
+            return executeEach(request.getRequests(), request.isAllOrNothing(),
+                    ErrorCode.BATCH_ALL_OR_NOTHING_UNSUPPORTED, this::cancelBalance);
+        }
+
+        List<String> accountNumbers = request.getRequests().stream()
+                .map(CancelTransactionRequest::getAccountNumber)
+                .collect(Collectors.toList());
+        if (shardRouter.commonShardOf(accountNumbers) < 0) {
+            return executeEach(request.getRequests(), request.isAllOrNothing(),
+                    ErrorCode.BATCH_CROSS_SHARD_ALL_OR_NOTHING, this::cancelBalance);
+        }
+        return executeInTransaction("cancelBalances", accountNumbers,
+                () -> batchTransactionService.cancelBalances(request));
+    }
+
+    // 계좌들의 샤드에서 동시성 제어 방식에 맞춰 트랜잭션 하나로 실행 (operation 은 재시도 정책과 메트릭 태그에 쓰인다)
+    // 샤드를 트랜잭션 시작 전에 정해야 커넥션이 해당 샤드에서 열린다
+    private <T> T executeInTransaction(String operation, List<String> accountNumbers, Supplier<T> action) {
+        return shardRouter.callOnShard(shardRouter.commonShardOf(accountNumbers),
+                () -> executeWithConcurrencyControl(operation, accountNumbers, action));
+    }
+
+    private <T> T executeWithConcurrencyControl(String operation, List<String> accountNumbers, Supplier<T> action) {
+        switch (concurrencyMode) {
+            case OPTIMISTIC:
+                return optimisticRetryExecutor.execute(operation,
+                        () -> transactionTemplate.execute(status -> action.get()));
+            case PESSIMISTIC:
+                return transactionTemplate.execute(status -> {
+                    // 잠근 계좌는 영속성 컨텍스트에 올라가므로 이후 조회는 같은 엔티티를 사용한다
+                    accountRepository.findAllForUpdateByAccountNumberIn(accountNumbers);
+                    return action.get();
+                });
+            default:
+                return accountLockManager.executeWithLocks(accountNumbers, locks ->
+                        transactionTemplate.execute(status -> {
+                            // 계좌 조회 전에 펜싱 토큰을 기록 (이후 읽기는 앞선 보유자의 커밋 결과를 본다)
+                            locks.forEach(this::advanceFenceToken);
+                            return action.get();
+                        }));
+        }
+    }
+
+    // 더 새 토큰을 가진 보유자가 이미 이 계좌를 썼으면 락이 만료된 것이므로 거절
+    // 계좌가 없으면 토큰을 기록하지 않고 진행 (사용자 → 계좌 → 소유주 순서의 검증 오류를 그대로 반환)
+    private void advanceFenceToken(AccountLock lock) {
+        if (accountRepository.advanceFenceToken(lock.getAccountNumber(), lock.getFencingToken()) > 0) {
+            return;
+        }
+        Optional<Long> recordedToken = accountRepository.findFenceTokenByAccountNumber(lock.getAccountNumber());
+        if (recordedToken.isPresent()) {
+            // 카운터가 DB 토큰보다 뒤처진 경우(카운터 유실 후 재시작 등) 다음 획득부터는 통과하도록 따라잡기
+            accountLockManager.raiseFencingToken(lock.getAccountNumber(), recordedToken.get());
+            throw ErrorCode.LOCK_EXPIRED.exception();
+        }
+    }
+
+    // BalanceEngine 모드나 여러 샤드에 걸친 일괄 처리: 건별로 원자적으로 처리하므로 전체 롤백은 지원하지 않는다
+    private <R> BatchTransactionResponse executeEach(List<R> requests, boolean allOrNothing, ErrorCode unsupported,
+                                                     Function<R, TransactionResponse> operation) {
+        if (allOrNothing) {
+            throw unsupported.exception();
+        }
+
+        List<BatchTransactionResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                results.add(BatchTransactionResult.success(i, operation.apply(requests.get(i))));
+            } catch (AccountException e) {
+                results.add(BatchTransactionResult.failure(i, e.getErrorCode()));
+            } catch (RuntimeException e) {
+                results.add(BatchTransactionResult.failure(i, e.getMessage()));
+            }
+        }
+        return BatchTransactionResponse.of(results);
+    }
+}
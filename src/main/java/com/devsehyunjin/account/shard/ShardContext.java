@@ -0,0 +1,36 @@
+package com.devsehyunjin.account.shard;
+
+/**
+ * 현재 스레드가 사용할 샤드 번호.
+ * 트랜잭션이 커넥션을 얻는 시점에 ShardRoutingDataSource 가 읽으므로, 트랜잭션 시작 전에 ShardRouter 로 지정한다.
+ */
+public final class ShardContext {
+
+    // 샤드를 지정하지 않은 작업(사용자, 계좌번호 발급 등 전역 데이터)은 0번 샤드를 사용
+    public static final int GLOBAL_SHARD = 0;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : GLOBAL_SHARD;
+    }
+
+    // 이전 값을 반환하므로 호출한 쪽에서 restore 로 되돌린다
+    static Integer set(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
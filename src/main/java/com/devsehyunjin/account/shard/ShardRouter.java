@@ -0,0 +1,173 @@
+package com.devsehyunjin.account.shard;
+
+import com.devsehyunjin.account.replica.ReplicaContext;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * 계좌번호 해시로 샤드를 고르고, 작업을 해당 샤드에서 실행한다.
+ * 계좌와 그 계좌의 거래·스냅샷·아웃박스는 같은 샤드에 있고, 사용자처럼 샤딩하지 않는 데이터는 0번 샤드에 있다.
+ * 샤드 수는 0번(spring.datasource) + account.sharding.shard-urls 개수이며, 1개면 모든 작업을 그대로 실행한다.
+ * 전체 샤드 조회의 팬아웃은 가상 스레드 모드가 아니면 (샤드 수 - 1) × 샤드당 스레드 수로 제한한 풀에서 실행하고,
+ * 풀이 모두 사용 중이면 호출 스레드가 직접 실행한다 (조회가 몰려도 스레드를 한없이 만들지 않도록).
+ */
+@Component
+public class ShardRouter {
+
+    private final int shardCount;
+    private final AsyncTaskExecutor executor;
+    private final TransactionTemplate globalTransactionTemplate;
+
+    public ShardRouter(@Value("${account.sharding.shard-urls:}") String shardUrls,
+                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                       @Value("${account.sharding.fan-out-threads-per-shard:${spring.datasource.hikari.maximum-pool-size:10}}")
+                       int threadsPerShard,
+                       PlatformTransactionManager transactionManager) {
+        this.shardCount = 1 + parseShardUrls(shardUrls).size();
+        this.executor = virtualThreads
+                ? virtualThreadExecutor()
+                : boundedExecutor((shardCount - 1) * Math.max(1, threadsPerShard));
+        // 다른 샤드의 트랜잭션 안에서도 0번 샤드를 읽을 수 있도록 별도 트랜잭션 사용
+        this.globalTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.globalTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.globalTransactionTemplate.setReadOnly(true);
+    }
+
+    // 가상 스레드는 JDBC 대기 중 carrier 를 점유하지 않으므로 요청마다 새로 만든다
+    private static AsyncTaskExecutor virtualThreadExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("shard-fan-out-");
+        executor.setVirtualThreads(true);
+        // 복제본 읽기 허용 여부를 팬아웃 스레드에도 전달
+        executor.setTaskDecorator(ReplicaContext::propagate);
+        return executor;
+    }
+
+    // 플랫폼 스레드는 풀 크기만큼만 만들고, 모두 사용 중이면 대기열 없이 호출 스레드에서 실행
+    // 샤드당 스레드 수는 기본으로 샤드 커넥션 풀 크기 (그보다 많으면 커넥션을 기다릴 뿐이다)
+    private static AsyncTaskExecutor boundedExecutor(int maxThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("shard-fan-out-");
+        executor.setCorePoolSize(Math.max(1, maxThreads));
+        executor.setMaxPoolSize(Math.max(1, maxThreads));
+        executor.setQueueCapacity(0);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setDaemon(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(ReplicaContext::propagate);
+        executor.initialize();
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    // 쉼표로 구분한 추가 샤드 JDBC URL 목록 (1번 샤드부터)
+    public static List<String> parseShardUrls(String shardUrls) {
+        return Arrays.stream(StringUtils.commaDelimitedListToStringArray(shardUrls))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(String accountNumber) {
+        return Math.floorMod(accountNumber.hashCode(), shardCount);
+    }
+
+    // 계좌번호들이 모두 같은 샤드에 있으면 그 샤드, 아니면 -1
+    public int commonShardOf(Collection<String> accountNumbers) {
+        int shard = -1;
+        for (String accountNumber : accountNumbers) {
+            int current = shardOf(accountNumber);
+            if (shard != -1 && shard != current) {
+                return -1;
+            }
+            shard = current;
+        }
+        return shard == -1 ? ShardContext.GLOBAL_SHARD : shard;
+    }
+
+    public <T> T callOnShard(int shard, Supplier<T> action) {
+        Integer previous = ShardContext.set(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    public void runOnShard(int shard, Runnable action) {
+        callOnShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T callOnAccountShard(String accountNumber, Supplier<T> action) {
+        return callOnShard(shardOf(accountNumber), action);
+    }
+
+    // 0번 샤드의 전역 데이터(사용자) 조회, 이미 다른 샤드의 트랜잭션 안이어도 된다
+    public <T> T callOnGlobalShard(Supplier<T> action) {
+        if (shardCount == 1) {
+            return action.get();
+        }
+        return callOnShard(ShardContext.GLOBAL_SHARD, () -> globalTransactionTemplate.execute(status -> action.get()));
+    }
+
+    // 모든 샤드에서 병렬로 실행하고 샤드 순서대로 결과를 모은다 (0번 샤드는 호출 스레드에서 실행)
+    public <T> List<T> callOnAllShards(Supplier<T> action) {
+        if (shardCount == 1) {
+            return List.of(callOnShard(ShardContext.GLOBAL_SHARD, action));
+        }
+
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount - 1);
+        for (int shard = 1; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> callOnShard(target, action), executor));
+        }
+
+        List<T> results = new ArrayList<>(shardCount);
+        results.add(callOnShard(ShardContext.GLOBAL_SHARD, action));
+        try {
+            futures.forEach(future -> results.add(future.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    // 배치 작업용: 샤드를 하나씩 차례로 실행
+    public void forEachShard(Runnable action) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            runOnShard(shard, action);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.devsehyunjin.account.shard;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.List;
+
+/**
+ * ShardContext 의 샤드 번호로 커넥션을 가져올 데이터소스를 고른다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    // 빈으로 등록되지 않은 샤드·복제본 커넥션 풀 (종료 시 직접 닫음)
+    private final List<? extends AutoCloseable> ownedDataSources;
+
+    public ShardRoutingDataSource(List<? extends AutoCloseable> ownedDataSources) {
+        this.ownedDataSources = ownedDataSources;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (AutoCloseable dataSource : ownedDataSources) {
+            dataSource.close();
+        }
+    }
+}
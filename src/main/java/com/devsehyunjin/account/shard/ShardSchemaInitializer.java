@@ -0,0 +1,67 @@
+package com.devsehyunjin.account.shard;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 추가 샤드(1번부터)의 스키마 생성.
+ * spring.jpa.hibernate.ddl-auto 는 기본(0번) 샤드에만 적용되므로, 테이블이 없는 샤드에 엔티티 스키마를 만든다.
+ * Flyway 를 쓰는 경우(prod 프로필)에는 모든 샤드에 기본 샤드와 같은 마이그레이션을 적용한다.
+ * 새로 만든 샤드의 시퀀스는 샤드마다 겹치지 않는 구간에서 시작시켜 ID 가 전역에서 유일하도록 한다
+ * (Hibernate 가 미리 받아 둔 ID 블록은 어느 샤드의 INSERT 에도 쓰일 수 있다).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+
+    static final long SHARD_ID_SPACING = 1L << 40;
+
+    private final ShardRouter shardRouter;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<Flyway> flyway;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (int shard = 1; shard < shardRouter.getShardCount(); shard++) {
+            int target = shard;
+            shardRouter.runOnShard(target, () -> initialize(target));
+        }
+    }
+
+    private void initialize(int shard) {
+        Integer tables = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.tables " +
+                        "where table_schema = current_schema and lower(table_name) = 'account'", Integer.class);
+        boolean created = tables == null || tables == 0;
+
+        // Flyway 데이터소스도 샤드 라우팅 데이터소스이므로 현재 샤드에 마이그레이션된다
+        Flyway migrations = flyway.getIfAvailable();
+        if (migrations != null) {
+            migrations.migrate();
+        } else if (created) {
+            entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().exportMappedObjects(true);
+        }
+        if (!created) {
+            return;
+        }
+
+        List<String> sequences = jdbcTemplate.queryForList(
+                "select sequence_name from information_schema.sequences where sequence_schema = current_schema",
+                String.class);
+        for (String sequence : sequences) {
+            jdbcTemplate.execute("alter sequence " + sequence + " restart with " + shard * SHARD_ID_SPACING);
+        }
+        log.info("샤드 스키마 생성 완료: shard={}, sequences={}", shard, sequences);
+    }
+}
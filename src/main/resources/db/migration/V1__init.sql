@@ -0,0 +1,76 @@
+-- 운영(prod) 프로필의 초기 스키마. 엔티티 매핑을 바꾸면 다음 버전 마이그레이션(V2__...)을 함께 추가한다.
+-- 기본 프로필은 Flyway 없이 Hibernate ddl-auto: update 로 같은 스키마를 만든다.
+
+-- 엔티티 ID 시퀀스 (증가 폭 = @SequenceGenerator allocationSize)
+create sequence users_seq start with 1 increment by 50;
+create sequence account_seq start with 1 increment by 50;
+create sequence transaction_seq start with 1 increment by 100;
+create sequence account_balance_snapshot_seq start with 1 increment by 1;
+
+-- 계좌번호 발급기(AccountNumberAllocator)가 노드별로 예약하는 카운터 블록 번호
+create sequence account_number_block_seq start with 0 minvalue 0;
+
+create table users (
+    id bigint not null,
+    name varchar(255) not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+-- 사용자는 0번 샤드에만 있으므로 user_id 에는 FK 를 두지 않는다
+create table account (
+    id bigint not null,
+    account_number varchar(10) not null,
+    user_id bigint not null,
+    balance bigint not null,
+    is_deleted boolean not null,
+    created_at timestamp(6),
+    closed_at timestamp(6),
+    status tinyint,
+    version bigint not null,
+    primary key (id),
+    constraint uk_account_account_number unique (account_number)
+);
+
+create table transaction (
+    id bigint not null,
+    account_id bigint not null,
+    amount bigint not null,
+    transaction_type varchar(255) not null,
+    transaction_result tinyint not null,
+    transaction_date timestamp(6),
+    original_transaction_id bigint,
+    cancellable_amount bigint not null,
+    primary key (id),
+    constraint fk_transaction_account foreign key (account_id) references account (id),
+    constraint fk_transaction_original foreign key (original_transaction_id) references transaction (id)
+);
+
+create index idx_transaction_account_date_id on transaction (account_id, transaction_date, id);
+create index idx_transaction_date on transaction (transaction_date);
+create index idx_transaction_original on transaction (original_transaction_id);
+
+create table account_balance_snapshot (
+    id bigint not null,
+    account_id bigint not null,
+    snapshot_date date not null,
+    balance bigint not null,
+    created_at timestamp(6),
+    primary key (id),
+    constraint uk_snapshot_account_date unique (account_id, snapshot_date),
+    constraint fk_snapshot_account foreign key (account_id) references account (id)
+);
+
+create index idx_snapshot_date on account_balance_snapshot (snapshot_date);
+
+create table transaction_outbox (
+    id bigint generated by default as identity,
+    transaction_id bigint not null,
+    account_id bigint not null,
+    amount bigint not null,
+    transaction_type varchar(255) not null,
+    transaction_result tinyint not null,
+    transaction_date timestamp(6),
+    created_at timestamp(6),
+    primary key (id)
+);
@@ -0,0 +1,5 @@
+-- 사용자별 계좌 수 (계좌 생성 시 조건부 UPDATE 로 상한 검사)
+alter table users add column account_count integer default 0 not null;
+
+-- 기존 사용자는 계좌 수로 채운다 (계좌가 다른 샤드에도 있으면 샤드별 계좌 수를 합쳐 따로 맞춰야 함)
+update users u set account_count = (select count(*) from account a where a.user_id = u.id);
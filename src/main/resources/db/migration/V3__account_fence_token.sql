@@ -0,0 +1,2 @@
+-- lock 모드 펜싱 토큰 (마지막으로 계좌를 쓴 락 보유자의 토큰, 더 오래된 토큰의 쓰기는 조건부 UPDATE 로 거절)
+alter table account add column fence_token bigint default 0 not null;
@@ -0,0 +1,2 @@
+-- 계좌번호 발급기(AccountNumberAllocator)가 노드별로 예약하는 카운터 블록 번호
+create sequence if not exists account_number_block_seq start with 0 minvalue 0;
@@ -0,0 +1,68 @@
+package com.devsehyunjin.account.benchmark;
+
+import com.devsehyunjin.account.seed.BulkDataSeeder;
+import com.devsehyunjin.account.seed.SeedPlan;
+import com.devsehyunjin.account.seed.SeedResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BulkDataSeeder 로 거래 1,000만 건(기본값)을 만드는 시간 측정.
+ * 메모리 DB 는 힙을 넘으므로 build/benchmark 아래 실행마다 새 파일 DB 를 쓴다.
+ * 실행: ./gradlew benchmarkTest --tests BulkSeedBenchmarkTest -Dbenchmark.transactions=10000000
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        // 파일 DB 는 내장 DB 로 보지 않으므로 schema.sql(계좌번호 시퀀스)을 항상 실행
+        "spring.sql.init.mode=always",
+        "account.seed.enabled=false",
+        "account.snapshot.cron=-",
+        "account.outbox.relay.enabled=false"
+})
+@DisplayName("대량 데이터 생성 벤치마크")
+class BulkSeedBenchmarkTest {
+
+    private static final long TRANSACTIONS = Long.getLong("benchmark.transactions", 10_000_000L);
+    private static final int TRANSACTIONS_PER_ACCOUNT = 9;
+    // 사용자당 평균 계좌 수 ((1 + 10) / 2)
+    private static final double ACCOUNTS_PER_USER = 5.5;
+
+    @Autowired
+    private BulkDataSeeder bulkDataSeeder;
+
+    @DynamicPropertySource
+    static void fileDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:./build/benchmark/seed-" + System.currentTimeMillis()
+                + ";MODE=MySQL;DB_CLOSE_ON_EXIT=FALSE");
+    }
+
+    @Test
+    void seed() {
+        int users = (int) Math.ceil(TRANSACTIONS / (TRANSACTIONS_PER_ACCOUNT * ACCOUNTS_PER_USER));
+
+        SeedResult result = bulkDataSeeder.seed(SeedPlan.builder()
+                .users(users)
+                .maxAccountsPerUser(10)
+                .transactionsPerAccount(TRANSACTIONS_PER_ACCOUNT)
+                .zipfExponent(1.0)
+                .cancelRatio(0.05)
+                .days(90)
+                .batchSize(5_000)
+                .threads(Runtime.getRuntime().availableProcessors())
+                .randomSeed(42)
+                .build());
+
+        System.out.printf("사용자 %,d명, 계좌 %,d개, 거래 %,d건: %,d ms (%,d건/초)%n",
+                result.getUsers(), result.getAccounts(), result.getTransactions(),
+                result.getElapsed().toMillis(), result.transactionsPerSecond());
+        assertThat(result.getTransactions()).isEqualTo(result.getAccounts() * TRANSACTIONS_PER_ACCOUNT);
+    }
+}
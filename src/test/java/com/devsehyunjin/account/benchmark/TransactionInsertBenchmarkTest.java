@@ -0,0 +1,112 @@
+package com.devsehyunjin.account.benchmark;
+
+import com.devsehyunjin.account.domain.Account;
+import com.devsehyunjin.account.domain.Transaction;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.TransactionRepository;
+import com.devsehyunjin.account.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TransactionRepository.saveAll 로 거래 100만 건을 저장하는 시간 측정.
+ * JDBC 배치를 켠 경우와 끈 경우(batch_size=1)를 비교한다.
+ * 실행: ./gradlew benchmarkTest --tests TransactionInsertBenchmarkTest -Dbenchmark.rows=1000000
+ */
+@Tag("benchmark")
+@DisplayName("거래 대량 저장 벤치마크")
+class TransactionInsertBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int CHUNK_SIZE = 10_000;
+
+    @Nested
+    @SpringBootTest(properties = {
+            "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.jdbc.batch_size=100"
+    })
+    @DisplayName("JDBC 배치 사용")
+    class Batched extends InsertBenchmark {
+    }
+
+    @Nested
+    @SpringBootTest(properties = {
+            "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.jdbc.batch_size=1"
+    })
+    @DisplayName("JDBC 배치 미사용")
+    class Unbatched extends InsertBenchmark {
+    }
+
+    abstract static class InsertBenchmark {
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private AccountRepository accountRepository;
+
+        @Autowired
+        private TransactionRepository transactionRepository;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @Test
+        void saveAll() {
+            User user = userRepository.save(new User("벤치마크"));
+            Account account = accountRepository.save(
+                    Account.createAccount(String.valueOf(System.nanoTime() % 10_000_000_000L), user, 0L));
+            long before = transactionRepository.count();
+
+            long startedAt = System.nanoTime();
+            for (int saved = 0; saved < ROWS; saved += CHUNK_SIZE) {
+                int size = Math.min(CHUNK_SIZE, ROWS - saved);
+                transactionTemplate.executeWithoutResult(status -> {
+                    transactionRepository.saveAll(chunk(account, size));
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+            }
+            long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+            System.out.printf("[%s] %,d rows in %,d ms (%,.0f rows/s)%n",
+                    getClass().getSimpleName(), ROWS, elapsedMillis, ROWS * 1000.0 / Math.max(1, elapsedMillis));
+            assertThat(transactionRepository.count() - before).isEqualTo(ROWS);
+        }
+
+        private List<Transaction> chunk(Account account, int size) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Transaction> transactions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                transactions.add(Transaction.builder()
+                        .account(account)
+                        .amount(1_000L)
+                        .transactionType(TransactionType.USE)
+                        .transactionResult(TransactionResult.SUCCESS)
+                        .transactionDate(now)
+                        .cancellableAmount(1_000L)
+                        .build());
+            }
+            return transactions;
+        }
+    }
+}
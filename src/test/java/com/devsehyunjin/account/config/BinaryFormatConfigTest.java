@@ -0,0 +1,56 @@
+package com.devsehyunjin.account.config;
+
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("바이너리 요청·응답 형식 테스트")
+class BinaryFormatConfigTest {
+
+    private final ObjectMapper json = new Jackson2ObjectMapperBuilder().build();
+
+    private final TransactionResponse response = TransactionResponse.builder()
+            .accountNumber("1234567890")
+            .transactionResult(TransactionResult.SUCCESS)
+            .transactionId(1_099_511_627_776L)
+            .amount(15_000L)
+            .transactionDate(LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000))
+            .transactionType(TransactionType.USE)
+            .build();
+
+    @Test
+    @DisplayName("CBOR 는 JSON 보다 작고 같은 값으로 복원된다")
+    void cbor_RoundTrip() throws IOException {
+        assertRoundTrip(BinaryFormatConfig.binaryObjectMapper(new Jackson2ObjectMapperBuilder(), new CBORFactory()));
+    }
+
+    @Test
+    @DisplayName("Smile 은 JSON 보다 작고 같은 값으로 복원된다")
+    void smile_RoundTrip() throws IOException {
+        assertRoundTrip(BinaryFormatConfig.binaryObjectMapper(new Jackson2ObjectMapperBuilder(), new SmileFactory()));
+    }
+
+    private void assertRoundTrip(ObjectMapper binary) throws IOException {
+        byte[] encoded = binary.writeValueAsBytes(response);
+        assertThat(encoded.length).isLessThan(json.writeValueAsBytes(response).length);
+
+        TransactionResponse decoded = binary.readValue(encoded, TransactionResponse.class);
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(response);
+
+        TransactionRequest request = binary.readValue(
+                binary.writeValueAsBytes(new TransactionRequest(1L, "1234567890", 1_000L)), TransactionRequest.class);
+        assertThat(request).usingRecursiveComparison().isEqualTo(new TransactionRequest(1L, "1234567890", 1_000L));
+    }
+}
@@ -0,0 +1,91 @@
+package com.devsehyunjin.account.config;
+
+import com.devsehyunjin.account.domain.Account;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.CancelTransactionRequest;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountService;
+import com.devsehyunjin.account.service.TransactionFacade;
+import com.devsehyunjin.account.shard.ShardRouter;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 다른 테스트와 공유하지 않는 새 DB 에 마이그레이션만으로 스키마를 만든다
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:accountdb_prod;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "account.sharding.shard-urls=jdbc:h2:mem:accountdb_prod_shard1;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "account.snapshot.cron=-",
+        "account.outbox.relay.enabled=false",
+        "account.concurrency.mode=optimistic"
+})
+@ActiveProfiles("prod")
+@DisplayName("빠른 기동(prod) 프로필 테스트")
+class ProdProfileTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionFacade transactionFacade;
+
+    @Test
+    @DisplayName("모든 샤드에 마이그레이션이 적용되고 예시 데이터는 저장하지 않는다")
+    void migrationsApplied_WithoutSeedData() {
+        assertThat(flyway.info().pending()).isEmpty();
+        int applied = flyway.info().applied().length;
+        assertThat(applied).isPositive();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            assertThat(shardRouter.callOnShard(shard, () -> jdbcTemplate.queryForObject(
+                    "select count(*) from flyway_schema_history where success = true", Integer.class)))
+                    .isEqualTo(applied);
+        }
+        assertThat(userRepository.findAll()).extracting(User::getName).doesNotContain("Alice", "Bob");
+    }
+
+    @Test
+    @DisplayName("마이그레이션으로 만든 스키마에서 계좌 생성, 사용, 부분 취소가 동작한다")
+    void balanceFlow_OnMigratedSchema() {
+        // given
+        User user = userRepository.save(new User("prod 프로필 테스트"));
+        String accountNumber = accountService.createAccount(new CreateAccountRequest(user.getId(), 10_000L))
+                .getAccountNumber();
+
+        // when
+        TransactionResponse used = transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        transactionFacade.cancelBalance(new CancelTransactionRequest(used.getTransactionId(), accountNumber, 400L));
+
+        // then
+        assertThatThrownBy(() -> transactionFacade.cancelBalance(
+                new CancelTransactionRequest(used.getTransactionId(), accountNumber, 700L)))
+                .hasMessage("취소 금액이 취소 가능 금액을 초과합니다.");
+        assertThat(shardRouter.callOnAccountShard(accountNumber, () -> accountRepository.findByAccountNumber(accountNumber))
+                .map(Account::getBalance)).contains(9_400L);
+    }
+}
@@ -0,0 +1,35 @@
+package com.devsehyunjin.account.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ErrorCode 테스트")
+class ErrorCodeTest {
+
+    @Test
+    @DisplayName("오류 코드별 예외는 미리 만든 하나의 인스턴스이고 스택 트레이스가 없다")
+    void exception_PreallocatedAndStackless() {
+        AccountException first = ErrorCode.INSUFFICIENT_BALANCE.exception();
+        AccountException second = ErrorCode.INSUFFICIENT_BALANCE.exception();
+
+        assertThat(first).isSameAs(second);
+        assertThat(first.getStackTrace()).isEmpty();
+        assertThat(first.getMessage()).isEqualTo("잔액이 부족합니다.");
+        assertThat(first.getErrorCode()).isEqualTo(ErrorCode.INSUFFICIENT_BALANCE);
+    }
+
+    @Test
+    @DisplayName("공유 인스턴스는 원인이나 억제된 예외가 추가되지 않는다")
+    void exception_Immutable() {
+        AccountException exception = ErrorCode.ACCOUNT_CLOSED.exception();
+
+        exception.addSuppressed(new RuntimeException("suppressed"));
+
+        assertThat(exception.getSuppressed()).isEmpty();
+        assertThatThrownBy(() -> exception.initCause(new RuntimeException("cause")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
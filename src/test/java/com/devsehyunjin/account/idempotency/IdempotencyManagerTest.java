@@ -0,0 +1,193 @@
+package com.devsehyunjin.account.idempotency;
+
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountService;
+import com.devsehyunjin.account.service.TransactionFacade;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.data.redis.port=16380",
+        "account.idempotency.pending-ttl=300ms",
+        "account.idempotency.wait-time=2s"
+})
+@DisplayName("IdempotencyManager 테스트")
+class IdempotencyManagerTest {
+
+    private static final int THREAD_COUNT = 8;
+
+    private static RedisServer redisServer;
+
+    @Autowired
+    private IdempotencyManager idempotencyManager;
+
+    @Autowired
+    private TransactionFacade transactionFacade;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(16380);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redisServer.stop();
+    }
+
+    @Test
+    @DisplayName("같은 키로 동시에 들어온 요청은 한 번만 차감되고 모두 같은 응답을 받는다")
+    void execute_ConcurrentDuplicates() throws Exception {
+        // given
+        User user = userRepository.save(new User("멱등성 테스트"));
+        String accountNumber = accountService.createAccount(new CreateAccountRequest(user.getId(), 10_000L))
+                .getAccountNumber();
+        TransactionRequest request = new TransactionRequest(user.getId(), accountNumber, 1_000L);
+        String key = UUID.randomUUID().toString();
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TransactionResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return idempotencyManager.execute(key, "use", request, TransactionResponse.class,
+                        () -> transactionFacade.useBalance(request));
+            }));
+        }
+        start.countDown();
+
+        List<Long> transactionIds = new ArrayList<>();
+        for (Future<TransactionResponse> future : futures) {
+            transactionIds.add(future.get().getTransactionId());
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(transactionIds).containsOnly(transactionIds.get(0));
+        assertThat(accountRepository.findByAccountNumber(accountNumber).orElseThrow().getBalance())
+                .isEqualTo(9_000L);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 요청이 오면 실패한다")
+    void execute_DifferentRequestWithSameKey() {
+        // given
+        User user = userRepository.save(new User("멱등성 테스트"));
+        String accountNumber = accountService.createAccount(new CreateAccountRequest(user.getId(), 10_000L))
+                .getAccountNumber();
+        String key = UUID.randomUUID().toString();
+        TransactionRequest first = new TransactionRequest(user.getId(), accountNumber, 1_000L);
+        idempotencyManager.execute(key, "use", first, TransactionResponse.class,
+                () -> transactionFacade.useBalance(first));
+
+        // when & then
+        TransactionRequest second = new TransactionRequest(user.getId(), accountNumber, 2_000L);
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                idempotencyManager.execute(key, "use", second, TransactionResponse.class,
+                        () -> transactionFacade.useBalance(second)));
+        assertThat(exception.getMessage()).isEqualTo("같은 Idempotency-Key 로 다른 요청이 전달되었습니다.");
+    }
+
+    @Test
+    @DisplayName("처리가 선점 TTL 보다 오래 걸려도 선점을 연장하므로 중복 요청이 다시 실행하지 않는다")
+    void execute_LongRunningAction_RenewsClaim() throws Exception {
+        // given: 선점 TTL(300ms)보다 오래 걸리는 처리
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> first = executor.submit(() -> idempotencyManager.execute(key, "test", "request", String.class, () -> {
+            executions.incrementAndGet();
+            sleep(1_000);
+            return "done";
+        }));
+
+        // when: 선점 TTL 이 두 번 지난 뒤 같은 키로 재시도
+        sleep(600);
+        String duplicate = idempotencyManager.execute(key, "test", "request", String.class, () -> {
+            executions.incrementAndGet();
+            return "duplicate";
+        });
+
+        // then
+        assertThat(first.get()).isEqualTo("done");
+        assertThat(duplicate).isEqualTo("done");
+        assertThat(executions.get()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("처리 뒤 응답을 저장하지 못해도 선점을 지우지 않으므로 재시도가 다시 실행하지 않는다")
+    void execute_StoreFailure_KeepsClaim() {
+        // given: 처리는 성공했지만 응답을 저장할 수 없는 경우
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+        idempotencyManager.execute(key, "test", "request", UnstorableResponse.class, () -> {
+            executions.incrementAndGet();
+            return new UnstorableResponse();
+        });
+
+        // when & then: 선점 TTL 이 지나도 재시도는 실행되지 않고 처리 중으로 거절된다
+        sleep(600);
+        assertThat(redisTemplate.opsForValue().get("account:idempotency:test:" + key).toString()).startsWith("PENDING|");
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                idempotencyManager.execute(key, "test", "request", UnstorableResponse.class, () -> {
+                    executions.incrementAndGet();
+                    return new UnstorableResponse();
+                }));
+        assertThat(exception.getMessage()).isEqualTo("동일한 요청을 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 직렬화할 수 없는 응답 (응답 저장 실패를 재현)
+    static class UnstorableResponse {
+        public String getValue() {
+            throw new IllegalStateException("직렬화 실패");
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.devsehyunjin.account.ledger;
+
+import com.devsehyunjin.account.domain.Account;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.domain.enums.AccountStatus;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.dto.CancelTransactionRequest;
+import com.devsehyunjin.account.dto.CheckAccountResponse;
+import com.devsehyunjin.account.dto.CloseAccountRequest;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.devsehyunjin.account.exception.AccountException;
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.TransactionIdAllocator;
+import com.devsehyunjin.account.repository.TransactionJdbcRepository;
+import com.devsehyunjin.account.repository.TransactionRepository;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountQueryFacade;
+import com.devsehyunjin.account.service.AccountService;
+import com.devsehyunjin.account.service.TransactionFacade;
+import com.devsehyunjin.account.shard.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "account.snapshot.cron=-",
+        "account.outbox.relay.enabled=false",
+        "account.balance.mode=hot-ledger",
+        "spring.data.redis.port=16383",
+        "account.ledger.max-attempts=5",
+        "account.ledger.retry-delay-ms=100",
+        // 내리기는 테스트에서 직접 호출 (거래가 끝난 계좌는 바로 내릴 수 있음)
+        "account.ledger.idle-timeout=0s",
+        "account.ledger.evict-interval-ms=3600000"
+})
+@DisplayName("메모리 원장 테스트")
+class HotBalanceLedgerTest {
+
+    private static RedisServer redisServer;
+
+    @Autowired
+    private TransactionFacade transactionFacade;
+
+    @Autowired
+    private HotBalanceLedger hotBalanceLedger;
+
+    @Autowired
+    private LedgerWriteBehindWriter writer;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountQueryFacade accountQueryFacade;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionJdbcRepository transactionJdbcRepository;
+
+    @Autowired
+    private TransactionIdAllocator transactionIdAllocator;
+
+    @Autowired
+    private HotLedgerInstanceLease instanceLease;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+    private String accountNumber;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(16383);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("메모리 원장 테스트"));
+        accountNumber = accountService.createAccount(new CreateAccountRequest(user.getId(), 5_000L))
+                .getAccountNumber();
+    }
+
+    @Test
+    @DisplayName("같은 계좌에 동시에 사용하고 그 사이 원장에서 계좌를 계속 내려도 잔액을 넘겨 차감하지 않는다")
+    void useBalance_ConcurrentWithEviction() throws InterruptedException {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread evictor = new Thread(() -> {
+            while (running.get()) {
+                hotBalanceLedger.evictIdle();
+            }
+        });
+
+        // when: 잔액 5,000원 계좌에 100원씩 100번
+        evictor.start();
+        for (int i = 0; i < 100; i++) {
+            executor.submit(() -> {
+                start.await();
+                transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 100L));
+                succeeded.incrementAndGet();
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        running.set(false);
+        evictor.join();
+        writer.flush();
+
+        // then
+        assertThat(succeeded.get()).isEqualTo(50);
+        assertThat(accountRepository.findByAccountNumber(accountNumber).map(Account::getBalance)).contains(0L);
+        assertThatThrownBy(() -> transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1L)))
+                .hasMessage("잔액이 부족합니다.");
+    }
+
+    @Test
+    @DisplayName("사용과 해지가 겹치면 해지는 모든 사용이 DB에 반영된 뒤에만 성공하고, 이후 사용은 거절한다")
+    void closeAccount_RacingWithDebits() throws InterruptedException {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        // when: 100원씩 80번 사용하는 동안 잔액이 0이 될 때까지 해지 시도
+        for (int i = 0; i < 80; i++) {
+            executor.submit(() -> {
+                start.await();
+                try {
+                    transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 100L));
+                    succeeded.incrementAndGet();
+                } catch (AccountException e) {
+                    assertThat(e.getErrorCode()).isIn(ErrorCode.INSUFFICIENT_BALANCE, ErrorCode.ACCOUNT_CLOSED);
+                }
+                return null;
+            });
+        }
+        executor.submit(() -> {
+            start.await();
+            while (!closed.get()) {
+                try {
+                    transactionFacade.closeAccount(new CloseAccountRequest(user.getId(), accountNumber));
+                    closed.set(true);
+                } catch (AccountException e) {
+                    assertThat(e.getErrorCode()).isEqualTo(ErrorCode.BALANCE_REMAINING);
+                }
+            }
+            return null;
+        });
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        // then
+        Account account = accountRepository.findByAccountNumber(accountNumber).orElseThrow();
+        assertThat(succeeded.get()).isEqualTo(50);
+        assertThat(account.isClosed()).isTrue();
+        assertThat(account.getBalance()).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from transaction where account_id = ?", Long.class,
+                account.getId())).isEqualTo(50L);
+        assertThatThrownBy(() -> transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1L)))
+                .hasMessage("이미 해지된 계좌입니다.");
+    }
+
+    @Test
+    @DisplayName("소유주가 아닌 해지 요청은 원장을 닫지 않으므로 소유주의 거래를 막지 않는다")
+    void closeAccount_NonOwner_DoesNotCloseEntry() {
+        // given: 잔액 0원인 계좌
+        User other = userRepository.save(new User("다른 사용자"));
+        TransactionResponse used = transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 5_000L));
+        writer.flush();
+
+        // when
+        assertThatThrownBy(() -> transactionFacade.closeAccount(new CloseAccountRequest(other.getId(), accountNumber)))
+                .hasMessage("계좌 소유주가 아닙니다.");
+
+        // then
+        transactionFacade.cancelBalance(new CancelTransactionRequest(used.getTransactionId(), accountNumber, 1_000L));
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        writer.flush();
+        assertThat(accountRepository.findByAccountNumber(accountNumber).map(Account::isClosed)).contains(false);
+    }
+
+    @Test
+    @DisplayName("DB 반영 전에 캐시된 계좌 조회는 작성기가 반영을 커밋하면 다시 무효화된다")
+    void getUserAccounts_EvictedAfterWriteBehind() {
+        // given: 반영 전 조회로 이전 DB 잔액이 캐시될 수 있음
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        accountQueryFacade.getUserAccounts(user.getId());
+
+        // when
+        writer.flush();
+
+        // then
+        assertThat(accountQueryFacade.getUserAccounts(user.getId()))
+                .extracting(CheckAccountResponse::getBalance)
+                .containsExactly(4_000L);
+    }
+
+    @Test
+    @DisplayName("DB 저장이 실패해도 재시도하다가 DB가 회복되면 반영한다")
+    void writer_RecoversAfterDatabaseFailure() throws InterruptedException {
+        // given: 아직 없는 계좌의 거래라 FK 위반으로 저장이 실패
+        long accountId = 900_000_000_000L + user.getId();
+        String missingAccountNumber = String.valueOf(9_000_000_000L + user.getId() % 1_000_000_000L);
+        double retries = retries();
+        long transactionId = transactionIdAllocator.nextId();
+        writer.reserve(accountId);
+        writer.enqueue(new PendingTransaction(shardRouter.shardOf(missingAccountNumber), transactionId, accountId,
+                user.getId(), missingAccountNumber, TransactionType.CANCEL, 700L, LocalDateTime.now(), null));
+
+        // when: 재시도가 시작된 뒤 계좌를 만들어 DB를 회복시킴
+        while (retries() == retries) {
+            Thread.sleep(5);
+        }
+        jdbcTemplate.update("insert into account (id, account_number, user_id, balance, is_deleted, created_at, status, version, fence_token) " +
+                        "values (?, ?, ?, 0, false, ?, ?, 0, 0)",
+                accountId, missingAccountNumber, user.getId(), LocalDateTime.now(), AccountStatus.ACTIVE.ordinal());
+        writer.flush();
+
+        // then
+        assertThat(transactionRepository.findById(transactionId)).isPresent();
+        assertThat(accountRepository.findById(accountId).map(Account::getBalance)).contains(700L);
+        assertThat(writer.hasUnwritten(accountId)).isFalse();
+    }
+
+    @Test
+    @DisplayName("끝내 저장하지 못한 거래는 dead-letter 로 옮기고, 뒤의 거래 반영과 flush 를 막지 않는다")
+    void writer_DeadLettersPoisonRow() {
+        // given: 존재하지 않는 계좌의 거래와 정상 거래
+        long poisonAccountId = 990_000_000_000L + user.getId();
+        long poisonId = transactionIdAllocator.nextId();
+        writer.reserve(poisonAccountId);
+        writer.enqueue(new PendingTransaction(0, poisonId, poisonAccountId, user.getId(), accountNumber,
+                TransactionType.USE, 100L, LocalDateTime.now(), null));
+        TransactionResponse used = transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+
+        // when
+        writer.flush();
+
+        // then
+        assertThat(transactionRepository.findById(used.getTransactionId())).isPresent();
+        assertThat(accountRepository.findByAccountNumber(accountNumber).map(Account::getBalance)).contains(4_000L);
+        assertThat(transactionRepository.findById(poisonId)).isEmpty();
+        assertThat(redisTemplate.opsForList().range(LedgerWriteBehindWriter.DEAD_LETTER_KEY, 0, -1))
+                .anySatisfy(record -> assertThat(record.toString()).startsWith(poisonId + "|"));
+        assertThat(writer.hasUnwritten(poisonAccountId)).isTrue();
+        assertThat(writer.hasDeadLetter(poisonAccountId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("작성기가 멈춰 있으면 flush 는 무한히 기다리지 않고 LEDGER_FLUSH_TIMEOUT 으로 실패한다")
+    void flush_WriterStopped_TimesOut() {
+        // given: 시작하지 않은 작성기
+        LedgerWriteBehindWriter stopped = new LedgerWriteBehindWriter(transactionJdbcRepository, transactionTemplate,
+                shardRouter, redisTemplate, eventPublisher, new SimpleMeterRegistry(), 10, 10, 10, 1, 0, Duration.ofMillis(100), false);
+        stopped.enqueue(new PendingTransaction(0, transactionIdAllocator.nextId(), 1L, user.getId(), accountNumber,
+                TransactionType.USE, 100L, LocalDateTime.now(), null));
+
+        // when & then
+        assertThatThrownBy(stopped::flush).hasMessage("밀린 거래를 저장하지 못했습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    @Test
+    @DisplayName("원장에서 내린 계좌와 재기동한 원장은 DB에 반영된 잔액으로 다시 적재한다")
+    void evictAndRestart_RebuildFromDatabase() {
+        // given
+        TransactionResponse used = transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 3_000L));
+        writer.flush();
+        transactionFacade.cancelBalance(new CancelTransactionRequest(used.getTransactionId(), accountNumber, 1_000L));
+        writer.flush();
+
+        // when: 내리고 다시 적재
+        hotBalanceLedger.evictIdle();
+
+        // then
+        assertThat(hotBalanceLedger.size()).isZero();
+        assertThatThrownBy(() -> transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 3_001L)))
+                .hasMessage("잔액이 부족합니다.");
+
+        // when: 재기동 (메모리 상태 없이 새 원장)
+        HotBalanceLedger restarted = new HotBalanceLedger(accountRepository, userRepository, transactionRepository,
+                accountService, writer, instanceLease, transactionIdAllocator, eventPublisher, shardRouter,
+                transactionManager, Duration.ofMinutes(10));
+
+        // then
+        assertThatThrownBy(() -> restarted.useBalance(new TransactionRequest(user.getId(), accountNumber, 3_001L)))
+                .hasMessage("잔액이 부족합니다.");
+        restarted.useBalance(new TransactionRequest(user.getId(), accountNumber, 3_000L));
+        writer.flush();
+        assertThat(accountRepository.findByAccountNumber(accountNumber).map(Account::getBalance)).contains(0L);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 메모리 원장을 실행 중이면 기동하지 않는다")
+    void instanceLease_SecondInstanceRefused() {
+        HotLedgerInstanceLease second = new HotLedgerInstanceLease(redisTemplate, Duration.ofSeconds(10));
+
+        assertThatThrownBy(second::acquire).isInstanceOf(IllegalStateException.class);
+        instanceLease.verify();
+    }
+
+    private double retries() {
+        return meterRegistry.get("account.ledger.write.retries").tag("mode", "hot-ledger").counter().count();
+    }
+}
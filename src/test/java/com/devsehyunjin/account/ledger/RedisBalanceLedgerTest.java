@@ -0,0 +1,303 @@
+package com.devsehyunjin.account.ledger;
+
+import com.devsehyunjin.account.domain.Account;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.dto.CancelTransactionRequest;
+import com.devsehyunjin.account.dto.CheckAccountResponse;
+import com.devsehyunjin.account.dto.CloseAccountRequest;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.TransactionRepository;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountQueryFacade;
+import com.devsehyunjin.account.service.AccountService;
+import com.devsehyunjin.account.service.TransactionFacade;
+import io.lettuce.core.cluster.SlotHash;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "account.snapshot.cron=-",
+        "account.outbox.relay.enabled=false",
+        "account.balance.mode=redis",
+        "spring.data.redis.port=16382",
+        "account.ledger.max-attempts=3",
+        "account.ledger.retry-delay-ms=50",
+        "account.ledger.flush-timeout=3s"
+})
+@DisplayName("Redis 원장 테스트")
+class RedisBalanceLedgerTest {
+
+    private static RedisServer redisServer;
+
+    @Autowired
+    private TransactionFacade transactionFacade;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountQueryFacade accountQueryFacade;
+
+    @Autowired
+    private RedisBalanceLedger redisBalanceLedger;
+
+    @Autowired
+    private RedisLedgerDrainer drainer;
+
+    @Autowired
+    private RedisLedgerKeys keys;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private User user;
+    private String accountNumber;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(16382);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Redis 원장 테스트"));
+        accountNumber = accountService.createAccount(new CreateAccountRequest(user.getId(), 5_000L))
+                .getAccountNumber();
+    }
+
+    @Test
+    @DisplayName("잔액 사용은 Redis 에서 바로 반영되고, 거래와 DB 잔액은 비동기로 반영된다")
+    void useBalance_DrainedToDatabase() {
+        // when
+        TransactionResponse used = transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        awaitDrained();
+
+        // then
+        assertThat(redisBalance()).isEqualTo(4_000L);
+        assertThat(accountRepository.findByAccountNumber(accountNumber).map(Account::getBalance)).contains(4_000L);
+        assertThat(transactionRepository.findById(used.getTransactionId()))
+                .hasValueSatisfying(transaction -> assertThat(transaction.getTransactionType()).isEqualTo(TransactionType.USE));
+    }
+
+    @Test
+    @DisplayName("DB 반영 전에 캐시된 계좌 조회는 작성기가 반영을 커밋하면 다시 무효화된다")
+    void getUserAccounts_EvictedAfterDrain() {
+        // given: 반영 전 조회로 이전 DB 잔액이 캐시될 수 있음
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        accountQueryFacade.getUserAccounts(user.getId());
+
+        // when
+        awaitDrained();
+
+        // then
+        assertThat(accountQueryFacade.getUserAccounts(user.getId()))
+                .extracting(CheckAccountResponse::getBalance)
+                .containsExactly(4_000L);
+    }
+
+    @Test
+    @DisplayName("같은 계좌에 동시에 사용해도 잔액을 넘겨 차감하지 않는다")
+    void useBalance_Concurrent() throws InterruptedException {
+        // given
+        int threads = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+
+        // when: 잔액 5,000원 계좌에 100원씩 100번
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 100L));
+                succeeded.incrementAndGet();
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        awaitDrained();
+
+        // then
+        assertThat(succeeded.get()).isEqualTo(50);
+        assertThat(redisBalance()).isZero();
+        assertThat(accountRepository.findByAccountNumber(accountNumber).map(Account::getBalance)).contains(0L);
+    }
+
+    @Test
+    @DisplayName("금액 한도, 잔액 부족, 소유주 불일치는 스크립트에서 거절한다")
+    void useBalance_Rejected() {
+        User other = userRepository.save(new User("다른 사용자"));
+
+        assertThatThrownBy(() -> transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000_001L)))
+                .hasMessage("거래 금액이 유효하지 않습니다.");
+        assertThatThrownBy(() -> transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 5_001L)))
+                .hasMessage("잔액이 부족합니다.");
+        assertThatThrownBy(() -> transactionFacade.useBalance(new TransactionRequest(other.getId(), accountNumber, 1_000L)))
+                .hasMessage("계좌 소유주가 아닙니다.");
+        assertThat(redisBalance()).isEqualTo(5_000L);
+    }
+
+    @Test
+    @DisplayName("DB에 반영된 거래는 나누어 취소할 수 있고, 취소 가능 금액을 넘으면 거절한다")
+    void cancelBalance_Partial() {
+        // given
+        TransactionResponse used = transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        awaitDrained();
+
+        // when
+        transactionFacade.cancelBalance(new CancelTransactionRequest(used.getTransactionId(), accountNumber, 600L));
+
+        // then
+        assertThat(redisBalance()).isEqualTo(4_600L);
+        assertThatThrownBy(() -> transactionFacade.cancelBalance(
+                new CancelTransactionRequest(used.getTransactionId(), accountNumber, 500L)))
+                .hasMessage("취소 금액이 취소 가능 금액을 초과합니다.");
+        awaitDrained();
+        assertThat(accountRepository.findByAccountNumber(accountNumber).map(Account::getBalance)).contains(4_600L);
+    }
+
+    @Test
+    @DisplayName("해지는 밀린 거래가 DB에 반영된 뒤 처리되고, 이후 거래는 거절한다")
+    void closeAccount_AfterDrain() {
+        // given
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 5_000L));
+
+        // when
+        transactionFacade.closeAccount(new CloseAccountRequest(user.getId(), accountNumber));
+
+        // then
+        assertThat(accountRepository.findByAccountNumber(accountNumber).map(Account::isClosed)).contains(true);
+        assertThatThrownBy(() -> transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1L)))
+                .hasMessage("이미 해지된 계좌입니다.");
+    }
+
+    @Test
+    @DisplayName("잔액이 남은 계좌는 해지하지 않는다")
+    void closeAccount_BalanceRemaining() {
+        assertThatThrownBy(() -> transactionFacade.closeAccount(new CloseAccountRequest(user.getId(), accountNumber)))
+                .hasMessage("잔액이 남아있어 계좌를 해지할 수 없습니다.");
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        assertThat(redisBalance()).isEqualTo(4_000L);
+    }
+
+    @Test
+    @DisplayName("기동 시 복구는 Redis 에 없는 계좌만 DB에서 적재한다")
+    void run_RebuildsMissingAccounts() {
+        // given: 한 계좌는 Redis 값이 DB보다 앞서 있고 (아직 반영 전인 거래), 다른 계좌는 Redis 에서 사라짐
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        awaitDrained();
+        redisTemplate.opsForHash().put(keys.account(accountNumber), "balance", "3000");
+        String lost = accountService.createAccount(new CreateAccountRequest(user.getId(), 7_000L)).getAccountNumber();
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), lost, 1L));
+        awaitDrained();
+        redisTemplate.delete(keys.account(lost));
+
+        // when
+        redisBalanceLedger.run(null);
+
+        // then
+        assertThat(redisBalance()).isEqualTo(3_000L);
+        assertThat(redisTemplate.opsForHash().get(keys.account(lost), "balance"))
+                .hasToString("6999");
+    }
+
+    @Test
+    @DisplayName("한 계좌의 스크립트가 다루는 키는 모두 같은 Redis Cluster 슬롯에 있고, 계좌는 여러 대기 목록에 나뉜다")
+    void keys_SameSlotPerAccount() {
+        int partition = keys.partitionOf(accountNumber);
+        int slot = SlotHash.getSlot(keys.account(accountNumber));
+
+        assertThat(List.of(keys.pending(partition), keys.sequence(partition), keys.drained(partition),
+                keys.deadLetter(partition), keys.lease(partition)))
+                .allSatisfy(key -> assertThat(SlotHash.getSlot(key)).isEqualTo(slot));
+        assertThat(IntStream.range(0, 1_000).mapToObj(i -> keys.pending(keys.partitionOf(String.valueOf(1_000_000_000L + i))))
+                .distinct()
+                .count()).isEqualTo(keys.getPartitions());
+    }
+
+    @Test
+    @DisplayName("끝내 저장하지 못한 거래는 dead-letter 로 옮기고, 뒤의 거래 반영을 막지 않으며 그 계좌는 해지하지 않는다")
+    void drainer_DeadLettersPoisonEntry() {
+        // given: 존재하지 않는 계좌 ID 를 가리켜 FK 위반으로 저장할 수 없는 대기 거래
+        int partition = keys.partitionOf(accountNumber);
+        long poisonSequence = redisTemplate.opsForValue().increment(keys.sequence(partition));
+        String poison = String.join("|", String.valueOf(poisonSequence), "9" + poisonSequence, accountNumber,
+                String.valueOf(990_000_000_000L + user.getId()), "USE", "100", LocalDateTime.now().toString(), "",
+                String.valueOf(user.getId()));
+        redisTemplate.opsForList().rightPush(keys.pending(partition), poison);
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 5_000L));
+
+        // when
+        awaitDrained();
+
+        // then
+        assertThat(accountRepository.findByAccountNumber(accountNumber).map(Account::getBalance)).contains(0L);
+        assertThat(redisTemplate.opsForList().range(keys.deadLetter(partition), 0, -1))
+                .anySatisfy(record -> assertThat(record).hasToString(poison));
+        assertThatThrownBy(() -> transactionFacade.closeAccount(new CloseAccountRequest(user.getId(), accountNumber)))
+                .hasMessage("밀린 거래를 저장하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        assertThat(accountRepository.findByAccountNumber(accountNumber).map(Account::isClosed)).contains(false);
+    }
+
+    @Test
+    @DisplayName("반영이 flush-timeout 안에 끝나지 않으면 무한히 기다리지 않고 LEDGER_FLUSH_TIMEOUT 으로 실패한다")
+    void awaitDrained_TimesOut() {
+        assertThatThrownBy(() -> drainer.awaitDrained(keys.partitionOf(accountNumber), Long.MAX_VALUE))
+                .hasMessage("밀린 거래를 저장하지 못했습니다. 잠시 후 다시 시도해주세요.");
+    }
+
+    private long redisBalance() {
+        Object balance = redisTemplate.opsForHash().get(keys.account(accountNumber), "balance");
+        return Long.parseLong(String.valueOf(balance));
+    }
+
+    private void awaitDrained() {
+        for (int partition = 0; partition < keys.getPartitions(); partition++) {
+            drainer.awaitDrained(partition, sequence(partition));
+        }
+    }
+
+    private long sequence(int partition) {
+        Object sequence = redisTemplate.opsForValue().get(keys.sequence(partition));
+        return sequence != null ? Long.parseLong(sequence.toString()) : 0;
+    }
+}
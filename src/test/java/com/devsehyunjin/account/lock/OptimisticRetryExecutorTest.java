@@ -0,0 +1,107 @@
+package com.devsehyunjin.account.lock;
+
+import com.devsehyunjin.account.exception.AccountException;
+import com.devsehyunjin.account.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OptimisticRetryExecutor 테스트")
+class OptimisticRetryExecutorTest {
+
+    private MeterRegistry meterRegistry;
+    private OptimisticRetryExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("account.concurrency.retry.max-attempts", "3")
+                .withProperty("account.concurrency.retry.initial-backoff", "1ms")
+                .withProperty("account.concurrency.retry.max-backoff", "2ms")
+                .withProperty("account.concurrency.retry.operations.cancelBalance.max-attempts", "1");
+        environment.setConversionService(new ApplicationConversionService());
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new OptimisticRetryExecutor(environment, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("버전 충돌이 나면 다시 실행하고 충돌·재시도 횟수를 기록한다")
+    void execute_RetriesOnConflict() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = executor.execute("useBalance", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw conflict();
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(count("account.optimistic.conflicts", "useBalance")).isEqualTo(2);
+        assertThat(count("account.optimistic.retries", "useBalance")).isEqualTo(2);
+        assertThat(count("account.optimistic.exhausted", "useBalance")).isZero();
+    }
+
+    @Test
+    @DisplayName("최대 시도 횟수를 넘기면 CONCURRENT_MODIFICATION 으로 실패한다")
+    void execute_Exhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute("useBalance", () -> {
+            attempts.incrementAndGet();
+            throw conflict();
+        }))
+                .isInstanceOf(AccountException.class)
+                .extracting(e -> ((AccountException) e).getErrorCode())
+                .isEqualTo(ErrorCode.CONCURRENT_MODIFICATION);
+
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(count("account.optimistic.exhausted", "useBalance")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("연산별 정책이 기본 정책을 덮어쓴다")
+    void execute_PerOperationPolicy() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute("cancelBalance", () -> {
+            attempts.incrementAndGet();
+            throw conflict();
+        })).isInstanceOf(AccountException.class);
+
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(count("account.optimistic.retries", "cancelBalance")).isZero();
+    }
+
+    @Test
+    @DisplayName("업무 오류는 재시도하지 않는다")
+    void execute_BusinessErrorNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute("useBalance", () -> {
+            attempts.incrementAndGet();
+            throw ErrorCode.INSUFFICIENT_BALANCE.exception();
+        })).isSameAs(ErrorCode.INSUFFICIENT_BALANCE.exception());
+
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException("Account", 1L);
+    }
+
+    private double count(String name, String operation) {
+        return meterRegistry.get(name).tag("operation", operation).counter().count();
+    }
+}
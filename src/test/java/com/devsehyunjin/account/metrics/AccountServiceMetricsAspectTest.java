@@ -0,0 +1,68 @@
+package com.devsehyunjin.account.metrics;
+
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "account.snapshot.cron=-")
+@DisplayName("AccountServiceMetricsAspect 테스트")
+class AccountServiceMetricsAspectTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("연산 결과와 실패 사유별로 처리 시간을 기록하고 리포지토리 호출 수를 센다")
+    void recordsOperationMetrics() {
+        // given
+        User user = userRepository.save(new User("메트릭 테스트"));
+        long successBefore = timerCount("createAccount", "success", "none");
+        long insufficientBefore = timerCount("useBalance", "failure", "insufficient_balance");
+
+        // when
+        String accountNumber = accountService.createAccount(new CreateAccountRequest(user.getId(), 1_000L))
+                .getAccountNumber();
+        assertThrows(RuntimeException.class, () ->
+                accountService.useBalance(new TransactionRequest(user.getId(), accountNumber, 5_000L)));
+
+        // then
+        assertThat(timerCount("createAccount", "success", "none")).isEqualTo(successBefore + 1);
+        assertThat(timerCount("useBalance", "failure", "insufficient_balance")).isEqualTo(insufficientBefore + 1);
+        assertThat(meterRegistry.get("account.service.repository.calls")
+                .tag("operation", "createAccount")
+                .summary()
+                .max()).isGreaterThan(0);
+        assertThat(meterRegistry.get("account.repository.calls")
+                .tag("operation", "useBalance")
+                .tag("repository", "AccountRepository")
+                .tag("method", "findByAccountNumber")
+                .counter()
+                .count()).isGreaterThan(0);
+    }
+
+    private long timerCount(String operation, String result, String reason) {
+        Timer timer = meterRegistry.find("account.service.operation")
+                .tag("operation", operation)
+                .tag("result", result)
+                .tag("reason", reason)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,150 @@
+package com.devsehyunjin.account.outbox;
+
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.dto.CancelTransactionRequest;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.devsehyunjin.account.event.TransactionEvent;
+import com.devsehyunjin.account.exception.AccountException;
+import com.devsehyunjin.account.repository.TransactionOutboxJdbcRepository;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountService;
+import com.devsehyunjin.account.service.TransactionFacade;
+import com.devsehyunjin.account.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = {
+        "account.snapshot.cron=-",
+        "account.outbox.relay.enabled=false",
+        "account.concurrency.mode=optimistic"
+})
+@DisplayName("거래 아웃박스 테스트")
+class TransactionOutboxTest {
+
+    @Autowired
+    private TransactionFacade transactionFacade;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionOutboxJdbcRepository outboxJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from transaction_outbox");
+        user = userRepository.save(new User("아웃박스 테스트"));
+        accountNumber = accountService.createAccount(new CreateAccountRequest(user.getId(), 10_000L))
+                .getAccountNumber();
+    }
+
+    @Test
+    @DisplayName("잔액 사용과 취소는 같은 트랜잭션에서 아웃박스에 이벤트를 남긴다")
+    void useAndCancel_WriteOutbox() {
+        // when
+        TransactionResponse used = transactionFacade.useBalance(
+                new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        TransactionResponse canceled = transactionFacade.cancelBalance(
+                new CancelTransactionRequest(used.getTransactionId(), accountNumber, 1_000L));
+
+        // then
+        List<TransactionEvent> events = List.copyOf(outboxJdbcRepository.findPending(10).values());
+        assertThat(events).extracting(TransactionEvent::getTransactionId)
+                .containsExactly(used.getTransactionId(), canceled.getTransactionId());
+        assertThat(events).extracting(TransactionEvent::getTransactionType)
+                .containsExactly(TransactionType.USE, TransactionType.CANCEL);
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.getAccountNumber()).isEqualTo(accountNumber);
+            assertThat(event.getAmount()).isEqualTo(1_000L);
+            assertThat(event.getTransactionResult()).isEqualTo(TransactionResult.SUCCESS);
+        });
+    }
+
+    @Test
+    @DisplayName("거절되어 롤백된 거래는 아웃박스에 남지 않는다")
+    void rejected_NoOutbox() {
+        assertThatThrownBy(() -> transactionFacade.useBalance(
+                new TransactionRequest(user.getId(), accountNumber, 20_000L)))
+                .isInstanceOf(AccountException.class);
+
+        assertThat(outboxJdbcRepository.findPending(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("발행에 성공한 이벤트만 아웃박스에서 지우고, 실패하면 다음 주기에 다시 발행한다")
+    @SuppressWarnings("unchecked")
+    void relay_AtLeastOnce() throws InterruptedException {
+        // given
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        given(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).willReturn(1L);
+        TransactionOutboxRelay relay = new TransactionOutboxRelay(outboxJdbcRepository, redisTemplate,
+                new ShardRouter("", false, 10, null), new SimpleMeterRegistry(),
+                "account:transactions", 1_000, 500, Duration.ofSeconds(5));
+
+        // when: Redis 장애로 발행 실패
+        given(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .willThrow(new RedisConnectionFailureException("down"));
+        relay.relay();
+
+        // then: 이벤트가 그대로 남아 있음
+        assertThat(outboxJdbcRepository.findPending(10)).hasSize(1);
+
+        // when: 복구 후 첫 실패 백오프(100ms)가 지나 다시 발행
+        given(redisTemplate.executePipelined(any(RedisCallback.class))).willReturn(List.of());
+        relay.relay();
+        assertThat(outboxJdbcRepository.findPending(10)).hasSize(1);
+        Thread.sleep(200);
+        relay.relay();
+
+        // then
+        assertThat(outboxJdbcRepository.findPending(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("스트림 메시지 필드로 변환한 이벤트는 그대로 복원된다")
+    void event_FieldsRoundTrip() {
+        TransactionResponse used = transactionFacade.useBalance(
+                new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        TransactionEvent event = outboxJdbcRepository.findPending(10).values().iterator().next();
+
+        Map<String, String> fields = event.toFields();
+        TransactionEvent restored = TransactionEvent.fromFields(fields);
+
+        assertThat(restored).usingRecursiveComparison().isEqualTo(event);
+        assertThat(restored.getTransactionId()).isEqualTo(used.getTransactionId());
+    }
+}
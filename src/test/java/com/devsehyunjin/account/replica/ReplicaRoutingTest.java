@@ -0,0 +1,116 @@
+package com.devsehyunjin.account.replica;
+
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountQueryFacade;
+import com.devsehyunjin.account.service.AccountService;
+import com.devsehyunjin.account.service.TransactionFacade;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import redis.embedded.RedisServer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 복제본 URL 을 주 DB 와 같은 DB 로 지정해 (복제 지연 0) 어느 쪽 커넥션을 열었는지만 확인
+@SpringBootTest(properties = {
+        "account.snapshot.cron=-",
+        "account.outbox.relay.enabled=false",
+        "account.concurrency.mode=optimistic",
+        "spring.data.redis.port=16381",
+        "account.replica.urls.0=jdbc:h2:mem:accountdb;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "account.replica.pin-after-write=300ms"
+})
+@DisplayName("복제본 조회 라우팅 테스트")
+class ReplicaRoutingTest {
+
+    private static final long PIN_EXPIRY_WAIT_MILLIS = 500;
+
+    private static RedisServer redisServer;
+
+    @Autowired
+    private AccountQueryFacade accountQueryFacade;
+
+    @Autowired
+    private TransactionFacade transactionFacade;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(16381);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redisServer.stop();
+    }
+
+    @Test
+    @DisplayName("쓰기 직후의 사용자 조회는 주 DB, 고정 시간이 지나면 복제본에서 조회한다")
+    void getUserAccounts_PinnedAfterWrite() throws InterruptedException {
+        // given: 계좌 생성 직후 (사용자·계좌가 주 DB 에 고정됨)
+        User user = userRepository.save(new User("복제본 테스트"));
+        String accountNumber = accountService.createAccount(new CreateAccountRequest(user.getId(), 10_000L))
+                .getAccountNumber();
+
+        // when & then: 고정 시간 안의 조회는 주 DB
+        double primaryBefore = reads("primary");
+        double replicaBefore = reads("replica");
+        accountQueryFacade.getUserAccounts(user.getId());
+        assertThat(reads("primary") - primaryBefore).isEqualTo(1);
+        assertThat(reads("replica") - replicaBefore).isZero();
+
+        // when & then: 고정이 풀린 뒤 잔액을 바꾸면 다시 주 DB (캐시도 무효화됨)
+        Thread.sleep(PIN_EXPIRY_WAIT_MILLIS);
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        primaryBefore = reads("primary");
+        assertThat(accountQueryFacade.getUserAccounts(user.getId()).get(0).getBalance()).isEqualTo(9_000L);
+        assertThat(reads("primary") - primaryBefore).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최근에 쓰지 않은 사용자와 거래 ID 조회는 복제본에서 읽고, 쓰기 트랜잭션은 복제본을 쓰지 않는다")
+    void reads_RoutedToReplica() throws InterruptedException {
+        // given
+        User user = userRepository.save(new User("복제본 테스트"));
+        String accountNumber = accountService.createAccount(new CreateAccountRequest(user.getId(), 10_000L))
+                .getAccountNumber();
+        Thread.sleep(PIN_EXPIRY_WAIT_MILLIS);
+
+        // when & then: 쓰기 트랜잭션
+        double replicaBefore = reads("replica");
+        double primaryBefore = reads("primary");
+        TransactionResponse used = transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        assertThat(reads("replica") - replicaBefore).isZero();
+        assertThat(reads("primary") - primaryBefore).isZero();
+
+        // when & then: 거래 ID 조회 (거래는 변경되지 않으므로 고정과 상관없이 복제본)
+        assertThat(accountQueryFacade.getTransaction(used.getTransactionId()).getAccountNumber()).isEqualTo(accountNumber);
+        assertThat(reads("replica") - replicaBefore).isEqualTo(1);
+
+        // when & then: 고정이 풀린 뒤 사용자 조회
+        Thread.sleep(PIN_EXPIRY_WAIT_MILLIS);
+        assertThat(accountQueryFacade.getUserAccounts(user.getId()).get(0).getBalance()).isEqualTo(9_000L);
+        assertThat(reads("replica") - replicaBefore).isEqualTo(2);
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("account.replica.reads").tag("shard", "0").tag("target", target).counter().count();
+    }
+}
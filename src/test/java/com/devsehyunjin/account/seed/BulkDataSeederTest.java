@@ -0,0 +1,170 @@
+package com.devsehyunjin.account.seed;
+
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.CancelTransactionRequest;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountService;
+import com.devsehyunjin.account.service.TransactionFacade;
+import com.devsehyunjin.account.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 생성 건수를 정확히 확인하도록 다른 테스트와 공유하지 않는 새 DB 사용
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:accountdb_seed;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "account.sharding.shard-urls=jdbc:h2:mem:accountdb_seed_shard1;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "account.seed.enabled=false",
+        "account.snapshot.cron=-",
+        "account.outbox.relay.enabled=false",
+        "account.concurrency.mode=optimistic"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+// 생성된 데이터를 바꾸는 테스트는 건수를 확인하는 테스트 뒤에 실행
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("대량 데이터 생성기 테스트")
+class BulkDataSeederTest {
+
+    private static final int USERS = 200;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 20;
+
+    @Autowired
+    private BulkDataSeeder bulkDataSeeder;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionFacade transactionFacade;
+
+    private SeedResult result;
+
+    @BeforeAll
+    void seed() {
+        result = bulkDataSeeder.seed(SeedPlan.builder()
+                .users(USERS)
+                .maxAccountsPerUser(10)
+                .transactionsPerAccount(TRANSACTIONS_PER_ACCOUNT)
+                .zipfExponent(1.0)
+                .cancelRatio(0.1)
+                .days(30)
+                .batchSize(500)
+                .threads(4)
+                .randomSeed(7)
+                .build());
+    }
+
+    @Test
+    @DisplayName("사용자, 사용자당 1~10개 계좌, 계좌당 평균 M건 거래를 샤드에 나누어 저장한다")
+    void seed_WritesPlannedRows() {
+        assertThat(result.getUsers()).isEqualTo(USERS);
+        assertThat(result.getAccounts()).isBetween((long) USERS, USERS * 10L);
+        assertThat(result.getTransactions()).isEqualTo(result.getAccounts() * TRANSACTIONS_PER_ACCOUNT);
+
+        assertThat(sumOverShards("select count(*) from account")).isEqualTo(result.getAccounts());
+        assertThat(sumOverShards("select count(*) from transaction")).isEqualTo(result.getTransactions());
+        assertThat(shardRouter.callOnAllShards(() -> jdbcTemplate.queryForObject("select count(*) from account", Long.class)))
+                .allSatisfy(count -> assertThat(count).isPositive());
+
+        // 사용자 행의 계좌 수는 모든 샤드의 실제 계좌 수와 같다
+        Map<Long, Long> accountsPerUser = shardRouter.callOnAllShards(
+                        () -> jdbcTemplate.queryForList("select user_id, count(*) as cnt from account group by user_id"))
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.groupingBy(row -> ((Number) row.get("USER_ID")).longValue(),
+                        Collectors.summingLong(row -> ((Number) row.get("CNT")).longValue())));
+        assertThat(accountsPerUser).hasSize(USERS).allSatisfy((userId, count) -> assertThat(count).isBetween(1L, 10L));
+        Map<Long, Long> accountCountColumn = jdbcTemplate.queryForList("select id, account_count from users").stream()
+                .collect(Collectors.toMap(row -> ((Number) row.get("ID")).longValue(),
+                        row -> ((Number) row.get("ACCOUNT_COUNT")).longValue()));
+        assertThat(accountCountColumn).isEqualTo(accountsPerUser);
+    }
+
+    @Test
+    @DisplayName("취소 거래는 원거래를 가리키고, 취소된 사용 거래의 취소 가능 금액은 0이다")
+    void seed_CancelsReferenceOriginals() {
+        assertThat(sumOverShards("select count(*) from transaction where transaction_type = 'CANCEL'")).isPositive();
+        assertThat(sumOverShards("select count(*) from transaction c join transaction u on u.id = c.original_transaction_id " +
+                "where c.transaction_type = 'CANCEL' and (u.cancellable_amount <> 0 or u.amount <> c.amount or u.account_id <> c.account_id)"))
+                .isZero();
+        assertThat(sumOverShards("select count(*) from transaction where transaction_type = 'CANCEL' and original_transaction_id is null"))
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("계좌별 거래 수는 Zipf 분포를 따라 상위 1% 계좌에 몰린다")
+    void assignZipfActivity_Skewed() {
+        List<BulkDataSeeder.SeedAccount> accounts = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            accounts.add(new BulkDataSeeder.SeedAccount(1L, String.valueOf(i), 0));
+        }
+
+        BulkDataSeeder.assignZipfActivity(accounts, 100_000, 1.0, new SplittableRandom(1));
+
+        List<Long> counts = accounts.stream().map(account -> account.transactions)
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        assertThat(counts.stream().mapToLong(Long::longValue).sum()).isEqualTo(100_000);
+        // H(1000) ≈ 7.49 이므로 1위는 약 13%, 상위 10개는 약 39%
+        assertThat(counts.get(0)).isBetween(13_000L, 14_000L);
+        assertThat(counts.subList(0, 10).stream().mapToLong(Long::longValue).sum()).isGreaterThan(35_000L);
+    }
+
+    @Test
+    @Order(Integer.MAX_VALUE)
+    @DisplayName("생성 후에도 JPA 저장 ID 가 겹치지 않고, 생성된 거래를 취소할 수 있다")
+    void seededData_UsableByService() {
+        // given: 취소되지 않은 사용 거래 하나 (일부 취소 후에도 남은 금액이 있도록 100원 초과)
+        Map<String, Object> use = shardRouter.callOnAllShards(() -> jdbcTemplate.queryForList(
+                        "select t.id, t.amount, a.account_number from transaction t join account a on a.id = t.account_id " +
+                                "where t.transaction_type = 'USE' and t.cancellable_amount = t.amount and t.amount > 100 limit 1"))
+                .stream()
+                .flatMap(List::stream)
+                .findFirst()
+                .orElseThrow();
+        long transactionId = ((Number) use.get("ID")).longValue();
+        long amount = ((Number) use.get("AMOUNT")).longValue();
+        String accountNumber = (String) use.get("ACCOUNT_NUMBER");
+
+        // when & then
+        transactionFacade.cancelBalance(new CancelTransactionRequest(transactionId, accountNumber, 100L));
+        User user = userRepository.save(new User("생성 이후 사용자"));
+        assertThat(accountService.createAccount(new CreateAccountRequest(user.getId(), 1_000L)).getAccountNumber()).hasSize(10);
+        assertThatThrownBy(() -> transactionFacade.cancelBalance(
+                new CancelTransactionRequest(transactionId, accountNumber, amount)))
+                .hasMessage("취소 금액이 취소 가능 금액을 초과합니다.");
+    }
+
+    private long sumOverShards(String sql) {
+        return shardRouter.callOnAllShards(() -> jdbcTemplate.queryForObject(sql, Long.class)).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+}
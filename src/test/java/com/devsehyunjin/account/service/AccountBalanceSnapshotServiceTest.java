@@ -0,0 +1,139 @@
+package com.devsehyunjin.account.service;
+
+import com.devsehyunjin.account.domain.Account;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.domain.enums.TransactionResult;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.dto.BalanceAsOfResponse;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.repository.AccountBalanceSnapshotRepository;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.TransactionJdbcRepository;
+import com.devsehyunjin.account.repository.TransactionRow;
+import com.devsehyunjin.account.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "account.snapshot.cron=-")
+@DisplayName("AccountBalanceSnapshotService 테스트")
+class AccountBalanceSnapshotServiceTest {
+
+    @Autowired
+    private AccountBalanceSnapshotService snapshotService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private TransactionJdbcRepository transactionJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("전날 스냅샷과 당일 거래로 일말 잔액을 만들고, 시점 잔액은 직전 스냅샷 이후 거래만 더한다")
+    void createSnapshots_Incremental() {
+        // given: 2025-01-01 개설 (초기 잔액 10,000), 이후 거래 반영된 현재 잔액 7,000
+        Account account = createAccount(LocalDateTime.of(2025, 1, 1, 9, 0), 7_000L, List.of(
+                row(TransactionType.USE, 1_000L, LocalDateTime.of(2025, 1, 2, 10, 0)),
+                row(TransactionType.USE, 3_000L, LocalDateTime.of(2025, 1, 3, 12, 0)),
+                row(TransactionType.CANCEL, 1_000L, LocalDateTime.of(2025, 1, 3, 15, 0))));
+
+        // when
+        snapshotService.createSnapshots(LocalDate.of(2025, 1, 1));
+        snapshotService.createSnapshots(LocalDate.of(2025, 1, 2));
+        snapshotService.createSnapshots(LocalDate.of(2025, 1, 3));
+
+        // then
+        assertThat(snapshotBalance(account, LocalDate.of(2025, 1, 1))).isEqualTo(10_000L);
+        assertThat(snapshotBalance(account, LocalDate.of(2025, 1, 2))).isEqualTo(9_000L);
+        assertThat(snapshotBalance(account, LocalDate.of(2025, 1, 3))).isEqualTo(7_000L);
+
+        BalanceAsOfResponse response = snapshotService.getBalanceAsOf(
+                account.getAccountNumber(), LocalDateTime.of(2025, 1, 3, 13, 0));
+        assertThat(response.getBalance()).isEqualTo(6_000L);
+        assertThat(response.getSnapshotDate()).isEqualTo(LocalDate.of(2025, 1, 2));
+
+        // 같은 일자를 다시 실행해도 중복 생성되지 않음
+        snapshotService.createSnapshots(LocalDate.of(2025, 1, 3));
+        assertThat(snapshotBalance(account, LocalDate.of(2025, 1, 3))).isEqualTo(7_000L);
+    }
+
+    @Test
+    @DisplayName("이전 스냅샷이 없으면 현재 잔액에서 이후 거래를 되돌려 계산한다")
+    void getBalanceAsOf_WithoutSnapshot() {
+        // given: 2024-06-01 개설 (초기 잔액 5,000), 현재 잔액 3,000
+        Account account = createAccount(LocalDateTime.of(2024, 6, 1, 9, 0), 3_000L, List.of(
+                row(TransactionType.USE, 500L, LocalDateTime.of(2024, 6, 1, 10, 0)),
+                row(TransactionType.USE, 1_500L, LocalDateTime.of(2024, 6, 1, 18, 0))));
+
+        // when
+        BalanceAsOfResponse response = snapshotService.getBalanceAsOf(
+                account.getAccountNumber(), LocalDateTime.of(2024, 6, 1, 10, 0));
+
+        // then
+        assertThat(response.getBalance()).isEqualTo(4_500L);
+        assertThat(response.getSnapshotDate()).isNull();
+    }
+
+    @Test
+    @DisplayName("계좌 개설 이전 시점은 조회할 수 없다")
+    void getBalanceAsOf_BeforeCreated() {
+        // given
+        Account account = createAccount(LocalDateTime.of(2024, 6, 1, 9, 0), 0L, List.of());
+
+        // when & then
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                snapshotService.getBalanceAsOf(account.getAccountNumber(), LocalDateTime.of(2024, 5, 31, 0, 0)));
+        assertThat(exception.getMessage()).isEqualTo("해당 시점에 계좌가 존재하지 않습니다.");
+    }
+
+    private Account createAccount(LocalDateTime createdAt, long currentBalance, List<TransactionRow.TransactionRowBuilder> rows) {
+        User user = userRepository.save(new User("스냅샷 테스트"));
+        String accountNumber = accountService.createAccount(new CreateAccountRequest(user.getId(), currentBalance))
+                .getAccountNumber();
+        Account account = accountRepository.findByAccountNumber(accountNumber).orElseThrow();
+
+        jdbcTemplate.update("update account set created_at = ? where id = ?", Timestamp.valueOf(createdAt), account.getId());
+        transactionJdbcRepository.batchInsert(rows.stream()
+                .map(row -> row.accountId(account.getId()).build())
+                .toList());
+        return accountRepository.findByAccountNumber(accountNumber).orElseThrow();
+    }
+
+    private TransactionRow.TransactionRowBuilder row(TransactionType type, long amount, LocalDateTime date) {
+        return TransactionRow.builder()
+                .amount(amount)
+                .transactionType(type)
+                .transactionResult(TransactionResult.SUCCESS)
+                .transactionDate(date);
+    }
+
+    private long snapshotBalance(Account account, LocalDate date) {
+        return snapshotRepository
+                .findFirstByAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(account.getId(), date)
+                .filter(snapshot -> snapshot.getSnapshotDate().equals(date))
+                .orElseThrow()
+                .getBalance();
+    }
+}
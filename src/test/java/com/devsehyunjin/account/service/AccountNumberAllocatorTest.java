@@ -0,0 +1,75 @@
+package com.devsehyunjin.account.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("AccountNumberAllocator 테스트")
+class AccountNumberAllocatorTest {
+
+    private static final int BLOCK_SIZE = 1000;
+
+    @Test
+    @DisplayName("블록을 넘나들며 발급해도 계좌번호가 중복되지 않는다")
+    void allocate_Unique() {
+        // given
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        given(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).willReturn(0L, 1L, 2L, 3L, 4L);
+        AccountNumberAllocator allocator = new AccountNumberAllocator(jdbcTemplate, BLOCK_SIZE, 7919L);
+
+        // when
+        Set<String> accountNumbers = new HashSet<>();
+        for (int i = 0; i < BLOCK_SIZE * 5; i++) {
+            accountNumbers.add(allocator.allocate());
+        }
+
+        // then
+        assertThat(accountNumbers).hasSize(BLOCK_SIZE * 5);
+        assertThat(accountNumbers).allMatch(number -> number.matches("\\d{10}"));
+        verify(jdbcTemplate, times(5)).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    @DisplayName("카운터 순열은 9자리 범위 안에서 일대일이다")
+    void permute_Bijective() {
+        // given
+        AccountNumberAllocator allocator = new AccountNumberAllocator(mock(JdbcTemplate.class), BLOCK_SIZE, 7919L);
+
+        // when
+        Set<Long> permuted = new HashSet<>();
+        for (long counter = 0; counter < 200_000; counter++) {
+            long value = allocator.permute(counter);
+            assertThat(value).isBetween(0L, AccountNumberAllocator.CAPACITY - 1);
+            permuted.add(value);
+        }
+
+        // then
+        assertThat(permuted).hasSize(200_000);
+    }
+
+    @Test
+    @DisplayName("발급된 계좌번호의 마지막 자리는 Luhn 검증 숫자다")
+    void allocate_LuhnCheckDigit() {
+        // given
+        AccountNumberAllocator allocator = new AccountNumberAllocator(mock(JdbcTemplate.class), BLOCK_SIZE, 7919L);
+
+        // when
+        String accountNumber = allocator.format(42L);
+
+        // then
+        int expected = AccountNumberAllocator.checkDigit(accountNumber.substring(0, 9));
+        assertThat(accountNumber.charAt(9) - '0').isEqualTo(expected);
+        assertThat(AccountNumberAllocator.checkDigit("7992739871")).isEqualTo(3);
+    }
+}
@@ -0,0 +1,125 @@
+package com.devsehyunjin.account.service;
+
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.CancelTransactionRequest;
+import com.devsehyunjin.account.dto.CloseAccountRequest;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "account.snapshot.cron=-",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.devsehyunjin.account.support.SqlStatementCounter"
+})
+@DisplayName("AccountService SQL 실행 횟수 테스트")
+class AccountServiceQueryCountTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("쿼리 수 테스트"));
+        accountNumber = accountService.createAccount(new CreateAccountRequest(user.getId(), 10_000L))
+                .getAccountNumber();
+    }
+
+    @Test
+    @DisplayName("계좌 생성은 사용자 계좌 수 조건부 증가, 계좌 저장 2개 문으로 처리한다")
+    void createAccount() {
+        SqlStatementCounter.reset();
+
+        accountService.createAccount(new CreateAccountRequest(user.getId(), 0L));
+
+        assertThat(SqlStatementCounter.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("잔액 사용은 계좌 조회, 잔액 갱신, 거래·아웃박스 저장 4개 문으로 처리한다")
+    void useBalance() {
+        SqlStatementCounter.reset();
+
+        accountService.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+
+        assertThat(SqlStatementCounter.count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소는 거래·계좌 조회, 취소 가능 금액 차감, 잔액 갱신, 거래·아웃박스 저장 5개 문으로 처리한다")
+    void cancelBalance() {
+        TransactionResponse used = accountService.useBalance(
+                new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        SqlStatementCounter.reset();
+
+        accountService.cancelBalance(
+                new CancelTransactionRequest(used.getTransactionId(), accountNumber, 1_000L));
+
+        assertThat(SqlStatementCounter.count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("부분 취소를 반복해도 검증은 원거래 한 행만 읽고, 취소 가능 금액을 넘으면 거절한다")
+    void cancelBalance_Partial() {
+        TransactionResponse used = accountService.useBalance(
+                new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        accountService.cancelBalance(new CancelTransactionRequest(used.getTransactionId(), accountNumber, 600L));
+        SqlStatementCounter.reset();
+
+        accountService.cancelBalance(new CancelTransactionRequest(used.getTransactionId(), accountNumber, 400L));
+
+        assertThat(SqlStatementCounter.count()).isEqualTo(5);
+        assertThatThrownBy(() -> accountService.cancelBalance(
+                new CancelTransactionRequest(used.getTransactionId(), accountNumber, 1L)))
+                .hasMessage("이미 전액 취소된 거래입니다.");
+    }
+
+    @Test
+    @DisplayName("거래 확인은 거래와 계좌를 한 번에 조회한다")
+    void getTransaction() {
+        TransactionResponse used = accountService.useBalance(
+                new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        SqlStatementCounter.reset();
+
+        accountService.getTransaction(used.getTransactionId());
+
+        assertThat(SqlStatementCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("계좌 해지는 계좌 조회와 상태 갱신 2개 문으로 처리한다")
+    void closeAccount() {
+        String emptyAccount = accountService.createAccount(new CreateAccountRequest(user.getId(), 0L))
+                .getAccountNumber();
+        SqlStatementCounter.reset();
+
+        accountService.closeAccount(new CloseAccountRequest(user.getId(), emptyAccount));
+
+        assertThat(SqlStatementCounter.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("계좌 확인은 사용자 계좌 목록만 조회한다")
+    void getUserAccounts() {
+        SqlStatementCounter.reset();
+
+        accountService.getUserAccounts(user.getId());
+
+        assertThat(SqlStatementCounter.count()).isEqualTo(1);
+    }
+}
@@ -2,20 +2,28 @@ package com.devsehyunjin.account.service;
 
 import com.devsehyunjin.account.domain.Account;
 import com.devsehyunjin.account.domain.Transaction;
+import com.devsehyunjin.account.domain.TransactionOutbox;
 import com.devsehyunjin.account.domain.User;
 import com.devsehyunjin.account.domain.enums.TransactionResult;
 import com.devsehyunjin.account.domain.enums.TransactionType;
 import com.devsehyunjin.account.dto.*;
+import com.devsehyunjin.account.exception.AccountException;
+import com.devsehyunjin.account.exception.ErrorCode;
 import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.TransactionOutboxRepository;
 import com.devsehyunjin.account.repository.TransactionRepository;
 import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.shard.ShardRouter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -39,6 +47,19 @@ class AccountServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private TransactionOutboxRepository transactionOutboxRepository;
+
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    // 샤드 1개: 모든 조회를 그대로 실행
+    @Spy
+    private ShardRouter shardRouter = new ShardRouter("", false, 10, null);
+
     @InjectMocks
     private AccountService accountService;
 
@@ -66,6 +87,7 @@ class AccountServiceTest {
                 .transactionType(TransactionType.USE)
                 .transactionResult(TransactionResult.SUCCESS)
                 .transactionDate(LocalDateTime.now())
+                .cancellableAmount(1000L)
                 .build();
     }
 
@@ -75,9 +97,9 @@ class AccountServiceTest {
         // given
         CreateAccountRequest request = new CreateAccountRequest(1L, 10000L);
 
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
-        given(accountRepository.findByUserId(1L)).willReturn(Arrays.asList());
-        given(accountRepository.existsByAccountNumber(anyString())).willReturn(false);
+        given(userRepository.incrementAccountCount(1L, User.MAX_ACCOUNT_COUNT)).willReturn(1);
+        given(userRepository.getReferenceById(1L)).willReturn(testUser);
+        given(accountNumberAllocator.allocate()).willReturn("1234567890");
         given(accountRepository.save(any(Account.class))).willReturn(testAccount);
 
         // when
@@ -86,8 +108,9 @@ class AccountServiceTest {
         // then
         assertThat(response).isNotNull();
         assertThat(response.getUserId()).isEqualTo(1L);
-        assertThat(response.getAccountNumber()).isNotEmpty(); // 계좌번호는 랜덤 생성되므로 비어있지 않기만 확인
+        assertThat(response.getAccountNumber()).isNotEmpty();
         verify(accountRepository).save(any(Account.class));
+        verify(accountRepository, never()).findByUserId(anyLong());
     }
 
     @Test
@@ -96,12 +119,13 @@ class AccountServiceTest {
         // given
         CreateAccountRequest request = new CreateAccountRequest(999L, 10000L);
 
-        given(userRepository.findById(999L)).willReturn(Optional.empty());
+        given(userRepository.incrementAccountCount(999L, User.MAX_ACCOUNT_COUNT)).willReturn(0);
+        given(userRepository.existsById(999L)).willReturn(false);
 
         // when & then
         assertThatThrownBy(() -> accountService.createAccount(request))
                 .isInstanceOf(RuntimeException.class)
-                .hasMessage("사용자를 찾을 수 없습니다.");
+                .hasMessage("사용자가 존재하지 않습니다.");
     }
 
     @Test
@@ -110,19 +134,32 @@ class AccountServiceTest {
         // given
         CreateAccountRequest request = new CreateAccountRequest(1L, 10000L);
 
-        // 10개 계좌가 이미 존재하는 상황
-        List<Account> existingAccounts = Arrays.asList(
-                createMockAccount(), createMockAccount(), createMockAccount(), createMockAccount(), createMockAccount(),
-                createMockAccount(), createMockAccount(), createMockAccount(), createMockAccount(), createMockAccount()
-        );
-
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
-        given(accountRepository.findByUserId(1L)).willReturn(existingAccounts);
+        // 10개 계좌를 이미 만들어 조건부 증가가 적용되지 않는 상황
+        given(userRepository.incrementAccountCount(1L, User.MAX_ACCOUNT_COUNT)).willReturn(0);
+        given(userRepository.existsById(1L)).willReturn(true);
 
         // when & then
         assertThatThrownBy(() -> accountService.createAccount(request))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("사용자가 생성 가능한 계좌 수를 초과했습니다.");
+        verify(accountNumberAllocator, never()).allocate();
+    }
+
+    @Test
+    @DisplayName("계좌 생성 실패 - 계좌 저장 실패 시 확보한 계좌 수를 되돌림")
+    void createAccount_SaveFailed_ReleasesCount() {
+        // given
+        CreateAccountRequest request = new CreateAccountRequest(1L, 10000L);
+
+        given(userRepository.incrementAccountCount(1L, User.MAX_ACCOUNT_COUNT)).willReturn(1);
+        given(userRepository.getReferenceById(1L)).willReturn(testUser);
+        given(accountNumberAllocator.allocate()).willReturn("1234567890");
+        given(accountRepository.save(any(Account.class))).willThrow(new IllegalStateException("DB 오류"));
+
+        // when & then
+        assertThatThrownBy(() -> accountService.createAccount(request))
+                .isInstanceOf(IllegalStateException.class);
+        verify(userRepository).decrementAccountCount(1L);
     }
 
     @Test
@@ -138,7 +175,6 @@ class AccountServiceTest {
                 .initialBalance(0L)
                 .build();
 
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
         given(accountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(accountWithZeroBalance));
         given(accountRepository.save(any(Account.class))).willReturn(accountWithZeroBalance);
 
@@ -158,12 +194,13 @@ class AccountServiceTest {
         // given
         CloseAccountRequest request = new CloseAccountRequest(999L, "1234567890");
 
-        given(userRepository.findById(999L)).willReturn(Optional.empty());
+        given(userRepository.existsById(999L)).willReturn(false);
 
         // when & then
         assertThatThrownBy(() -> accountService.closeAccount(request))
-                .isInstanceOf(IllegalArgumentException.class)
-                .hasMessage("사용자를 찾을 수 없습니다.");
+                .isInstanceOf(AccountException.class)
+                .hasMessage("사용자가 존재하지 않습니다.")
+                .extracting("errorCode").isEqualTo(ErrorCode.USER_NOT_FOUND);
     }
 
     @Test
@@ -172,13 +209,13 @@ class AccountServiceTest {
         // given
         CloseAccountRequest request = new CloseAccountRequest(1L, "9999999999");
 
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
+        given(userRepository.existsById(1L)).willReturn(true);
         given(accountRepository.findByAccountNumber("9999999999")).willReturn(Optional.empty());
 
         // when & then
         assertThatThrownBy(() -> accountService.closeAccount(request))
                 .isInstanceOf(RuntimeException.class)
-                .hasMessage("계좌를 찾을 수 없습니다.");
+                .hasMessage("계좌가 존재하지 않습니다.");
     }
 
     @Test
@@ -187,12 +224,6 @@ class AccountServiceTest {
         // given
         CloseAccountRequest request = new CloseAccountRequest(2L, "1234567890"); // 다른 사용자 ID
 
-        // 다른 사용자 생성
-        User otherUser = User.builder()
-                .id(2L)
-                .name("다른 사용자")
-                .build();
-
         // 잔액이 0인 계좌 생성 (잔액 검증을 통과하기 위해)
         Account accountWithZeroBalance = Account.builder()
                 .accountNumber("1234567890")
@@ -200,13 +231,13 @@ class AccountServiceTest {
                 .initialBalance(0L)
                 .build();
 
-        given(userRepository.findById(2L)).willReturn(Optional.of(otherUser));
+        given(userRepository.existsById(2L)).willReturn(true);
         given(accountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(accountWithZeroBalance));
 
         // when & then
         assertThatThrownBy(() -> accountService.closeAccount(request))
                 .isInstanceOf(RuntimeException.class)
-                .hasMessage("사용자 아이디와 계좌 소유주가 다릅니다.");
+                .hasMessage("계좌 소유주가 아닙니다.");
     }
 
     @Test
@@ -223,7 +254,6 @@ class AccountServiceTest {
                 .build();
         closedAccount.closeAccount(); // 계좌 해지
 
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
         given(accountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(closedAccount));
 
         // when & then
@@ -245,7 +275,6 @@ class AccountServiceTest {
                 .initialBalance(1000L) // 잔액이 남아있음
                 .build();
 
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
         given(accountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(accountWithBalance));
 
         // when & then
@@ -261,7 +290,6 @@ class AccountServiceTest {
         Long userId = 1L;
         List<Account> accounts = Arrays.asList(testAccount);
 
-        given(userRepository.existsById(userId)).willReturn(true);
         given(accountRepository.findByUserId(userId)).willReturn(accounts);
 
         // when
@@ -278,12 +306,13 @@ class AccountServiceTest {
     void getUserAccounts_UserNotFound() {
         // given
         Long userId = 999L;
+        given(accountRepository.findByUserId(userId)).willReturn(Arrays.asList());
         given(userRepository.existsById(userId)).willReturn(false);
 
         // when & then
         assertThatThrownBy(() -> accountService.getUserAccounts(userId))
                 .isInstanceOf(RuntimeException.class)
-                .hasMessage("User with ID 999 does not exist.");
+                .hasMessage("사용자가 존재하지 않습니다.");
     }
 
     @Test
@@ -297,7 +326,7 @@ class AccountServiceTest {
         // when & then
         assertThatThrownBy(() -> accountService.getUserAccounts(userId))
                 .isInstanceOf(RuntimeException.class)
-                .hasMessage("No accounts found for user ID 1");
+                .hasMessage("사용자의 계좌가 존재하지 않습니다.");
     }
 
     @Test
@@ -306,7 +335,6 @@ class AccountServiceTest {
         // given
         TransactionRequest request = new TransactionRequest(1L, "1234567890", 1000L);
 
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
         given(accountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(testAccount));
         given(accountRepository.save(any(Account.class))).willReturn(testAccount);
         given(transactionRepository.save(any(Transaction.class))).willReturn(testTransaction);
@@ -318,6 +346,7 @@ class AccountServiceTest {
         assertThat(response).isNotNull();
         verify(accountRepository).save(any(Account.class));
         verify(transactionRepository).save(any(Transaction.class));
+        verify(transactionOutboxRepository).save(any(TransactionOutbox.class));
     }
 
     @Test
@@ -326,7 +355,8 @@ class AccountServiceTest {
         // given
         TransactionRequest request = new TransactionRequest(999L, "1234567890", 1000L);
 
-        given(userRepository.findById(999L)).willReturn(Optional.empty());
+        given(accountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(testAccount));
+        given(userRepository.existsById(999L)).willReturn(false);
 
         // when & then
         assertThatThrownBy(() -> accountService.useBalance(request))
@@ -340,8 +370,8 @@ class AccountServiceTest {
         // given
         TransactionRequest request = new TransactionRequest(1L, "9999999999", 1000L);
 
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
         given(accountRepository.findByAccountNumber("9999999999")).willReturn(Optional.empty());
+        given(userRepository.existsById(1L)).willReturn(true);
 
         // when & then
         assertThatThrownBy(() -> accountService.useBalance(request))
@@ -355,10 +385,8 @@ class AccountServiceTest {
         // given
         TransactionRequest request = new TransactionRequest(2L, "1234567890", 1000L);
 
-        User otherUser = User.builder().id(2L).name("다른 사용자").build();
-
-        given(userRepository.findById(2L)).willReturn(Optional.of(otherUser));
         given(accountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(testAccount));
+        given(userRepository.existsById(2L)).willReturn(true);
 
         // when & then
         assertThatThrownBy(() -> accountService.useBalance(request))
@@ -380,7 +408,6 @@ class AccountServiceTest {
                 .build();
         closedAccount.closeAccount(); // 계좌 해지
 
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
         given(accountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(closedAccount));
 
         // when & then
@@ -395,7 +422,6 @@ class AccountServiceTest {
         // given
         TransactionRequest request = new TransactionRequest(1L, "1234567890", 0L); // 유효하지 않은 금액
 
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
         given(accountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(testAccount));
 
         // when & then
@@ -410,7 +436,6 @@ class AccountServiceTest {
         // given
         TransactionRequest request = new TransactionRequest(1L, "1234567890", 2000000L); // 1,000,000 초과
 
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
         given(accountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(testAccount));
 
         // when & then
@@ -425,7 +450,6 @@ class AccountServiceTest {
         // given
         TransactionRequest request = new TransactionRequest(1L, "1234567890", 20000L); // 잔액보다 큰 금액
 
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
         given(accountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(testAccount));
 
         // when & then
@@ -440,7 +464,8 @@ class AccountServiceTest {
         // given
         CancelTransactionRequest request = new CancelTransactionRequest(1L, "1234567890", 1000L);
 
-        given(transactionRepository.findById(1L)).willReturn(Optional.of(testTransaction));
+        given(transactionRepository.findWithAccountById(1L)).willReturn(Optional.of(testTransaction));
+        given(transactionRepository.deductCancellableAmount(1L, 1000L)).willReturn(1);
         given(accountRepository.save(any(Account.class))).willReturn(testAccount);
         given(transactionRepository.save(any(Transaction.class))).willReturn(testTransaction);
 
@@ -451,6 +476,31 @@ class AccountServiceTest {
         assertThat(response).isNotNull();
         verify(accountRepository).save(any(Account.class));
         verify(transactionRepository).save(any(Transaction.class));
+        verify(transactionOutboxRepository).save(any(TransactionOutbox.class));
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 성공 - 부분 취소는 원거래에 연결되고 잔액을 취소 금액만큼 복원")
+    void cancelBalance_Partial() {
+        // given
+        CancelTransactionRequest request = new CancelTransactionRequest(1L, "1234567890", 400L);
+
+        given(transactionRepository.findWithAccountById(1L)).willReturn(Optional.of(testTransaction));
+        given(transactionRepository.deductCancellableAmount(1L, 400L)).willReturn(1);
+        given(accountRepository.save(any(Account.class))).willReturn(testAccount);
+        given(transactionRepository.save(any(Transaction.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        accountService.cancelBalance(request);
+
+        // then
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+        verify(transactionRepository).save(captor.capture());
+        assertThat(captor.getValue().getTransactionType()).isEqualTo(TransactionType.CANCEL);
+        assertThat(captor.getValue().getAmount()).isEqualTo(400L);
+        assertThat(captor.getValue().getOriginalTransaction()).isSameAs(testTransaction);
+        assertThat(captor.getValue().getCancellableAmount()).isZero();
+        assertThat(testAccount.getBalance()).isEqualTo(10400L);
     }
 
     @Test
@@ -459,7 +509,7 @@ class AccountServiceTest {
         // given
         CancelTransactionRequest request = new CancelTransactionRequest(999L, "1234567890", 1000L);
 
-        given(transactionRepository.findById(999L)).willReturn(Optional.empty());
+        given(transactionRepository.findWithAccountById(999L)).willReturn(Optional.empty());
 
         // when & then
         assertThatThrownBy(() -> accountService.cancelBalance(request))
@@ -473,7 +523,7 @@ class AccountServiceTest {
         // given
         CancelTransactionRequest request = new CancelTransactionRequest(1L, "9999999999", 1000L); // 다른 계좌번호
 
-        given(transactionRepository.findById(1L)).willReturn(Optional.of(testTransaction));
+        given(transactionRepository.findWithAccountById(1L)).willReturn(Optional.of(testTransaction));
 
         // when & then
         assertThatThrownBy(() -> accountService.cancelBalance(request))
@@ -482,17 +532,81 @@ class AccountServiceTest {
     }
 
     @Test
-    @DisplayName("잔액 사용 취소 실패 - 금액 불일치")
-    void cancelBalance_AmountMismatch() {
+    @DisplayName("잔액 사용 취소 실패 - 취소 가능 금액 초과")
+    void cancelBalance_AmountExceeded() {
         // given
-        CancelTransactionRequest request = new CancelTransactionRequest(1L, "1234567890", 2000L); // 다른 금액
+        CancelTransactionRequest request = new CancelTransactionRequest(1L, "1234567890", 2000L); // 원거래보다 큰 금액
 
-        given(transactionRepository.findById(1L)).willReturn(Optional.of(testTransaction));
+        given(transactionRepository.findWithAccountById(1L)).willReturn(Optional.of(testTransaction));
 
         // when & then
         assertThatThrownBy(() -> accountService.cancelBalance(request))
                 .isInstanceOf(RuntimeException.class)
-                .hasMessage("원거래 금액과 취소 금액이 일치하지 않습니다.");
+                .hasMessage("취소 금액이 취소 가능 금액을 초과합니다.");
+        verify(transactionRepository, never()).deductCancellableAmount(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 실패 - 이미 전액 취소된 거래")
+    void cancelBalance_AlreadyCancelled() {
+        // given
+        Transaction cancelled = Transaction.builder()
+                .id(1L)
+                .account(testAccount)
+                .amount(1000L)
+                .transactionType(TransactionType.USE)
+                .transactionResult(TransactionResult.SUCCESS)
+                .transactionDate(LocalDateTime.now())
+                .cancellableAmount(0L)
+                .build();
+        CancelTransactionRequest request = new CancelTransactionRequest(1L, "1234567890", 1000L);
+
+        given(transactionRepository.findWithAccountById(1L)).willReturn(Optional.of(cancelled));
+
+        // when & then
+        assertThatThrownBy(() -> accountService.cancelBalance(request))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("이미 전액 취소된 거래입니다.");
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 실패 - 취소 거래는 취소할 수 없음")
+    void cancelBalance_NotUseTransaction() {
+        // given
+        Transaction cancelTransaction = Transaction.builder()
+                .id(2L)
+                .account(testAccount)
+                .amount(1000L)
+                .transactionType(TransactionType.CANCEL)
+                .transactionResult(TransactionResult.SUCCESS)
+                .transactionDate(LocalDateTime.now())
+                .originalTransaction(testTransaction)
+                .cancellableAmount(0L)
+                .build();
+        CancelTransactionRequest request = new CancelTransactionRequest(2L, "1234567890", 1000L);
+
+        given(transactionRepository.findWithAccountById(2L)).willReturn(Optional.of(cancelTransaction));
+
+        // when & then
+        assertThatThrownBy(() -> accountService.cancelBalance(request))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("취소할 수 없는 거래입니다.");
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 실패 - 동시에 다른 취소가 먼저 차감")
+    void cancelBalance_ConcurrentCancel() {
+        // given
+        CancelTransactionRequest request = new CancelTransactionRequest(1L, "1234567890", 1000L);
+
+        given(transactionRepository.findWithAccountById(1L)).willReturn(Optional.of(testTransaction));
+        given(transactionRepository.deductCancellableAmount(1L, 1000L)).willReturn(0);
+
+        // when & then
+        assertThatThrownBy(() -> accountService.cancelBalance(request))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("취소 금액이 취소 가능 금액을 초과합니다.");
+        verify(accountRepository, never()).save(any(Account.class));
     }
 
     @Test
@@ -500,7 +614,7 @@ class AccountServiceTest {
     void getTransaction_Success() {
         // given
         Long transactionId = 1L;
-        given(transactionRepository.findById(transactionId)).willReturn(Optional.of(testTransaction));
+        given(transactionRepository.findWithAccountById(transactionId)).willReturn(Optional.of(testTransaction));
 
         // when
         TransactionResponse response = accountService.getTransaction(transactionId);
@@ -514,7 +628,7 @@ class AccountServiceTest {
     void getTransaction_NotFound() {
         // given
         Long transactionId = 999L;
-        given(transactionRepository.findById(transactionId)).willReturn(Optional.empty());
+        given(transactionRepository.findWithAccountById(transactionId)).willReturn(Optional.empty());
 
         // when & then
         assertThatThrownBy(() -> accountService.getTransaction(transactionId))
@@ -522,12 +636,54 @@ class AccountServiceTest {
                 .hasMessage("거래가 존재하지 않습니다.");
     }
 
-    // 헬퍼 메서드
-    private Account createMockAccount() {
-        return Account.builder()
-                .accountNumber("1234567890")
-                .user(testUser)
-                .initialBalance(1000L)
+    @Test
+    @DisplayName("거래 내역 조회 성공 - 다음 페이지 커서 반환")
+    void getTransactionHistory_HasNext() {
+        // given
+        Transaction newer = Transaction.builder()
+                .id(3L)
+                .account(testAccount)
+                .amount(1000L)
+                .transactionType(TransactionType.USE)
+                .transactionResult(TransactionResult.SUCCESS)
+                .transactionDate(LocalDateTime.of(2025, 1, 2, 10, 0))
                 .build();
+        Transaction older = Transaction.builder()
+                .id(2L)
+                .account(testAccount)
+                .amount(500L)
+                .transactionType(TransactionType.USE)
+                .transactionResult(TransactionResult.SUCCESS)
+                .transactionDate(LocalDateTime.of(2025, 1, 1, 10, 0))
+                .build();
+
+        given(accountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(testAccount));
+        given(transactionRepository.findHistory(any(), isNull(), any(LocalDateTime.class), any(LocalDateTime.class),
+                anyLong(), any())).willReturn(Arrays.asList(newer, older, testTransaction));
+
+        // when
+        TransactionHistoryResponse response = accountService.getTransactionHistory(
+                "1234567890", null, null, null, null, 2);
+
+        // then
+        assertThat(response.isHasNext()).isTrue();
+        assertThat(response.getTransactions()).extracting(TransactionResponse::getTransactionId)
+                .containsExactly(3L, 2L);
+        TransactionCursor cursor = TransactionCursor.decode(response.getNextCursor());
+        assertThat(cursor.getTransactionDate()).isEqualTo(older.getTransactionDate());
+        assertThat(cursor.getTransactionId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("거래 내역 조회 실패 - 잘못된 커서")
+    void getTransactionHistory_InvalidCursor() {
+        // given
+        given(accountRepository.findByAccountNumber("1234567890")).willReturn(Optional.of(testAccount));
+
+        // when & then
+        assertThatThrownBy(() -> accountService.getTransactionHistory(
+                "1234567890", null, null, null, "not-a-cursor", 20))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("페이지 커서가 유효하지 않습니다.");
     }
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.devsehyunjin.account.service;
+
+import com.devsehyunjin.account.domain.Account;
+import com.devsehyunjin.account.domain.Transaction;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.BatchCancelTransactionRequest;
+import com.devsehyunjin.account.dto.BatchTransactionRequest;
+import com.devsehyunjin.account.dto.BatchTransactionResponse;
+import com.devsehyunjin.account.dto.BatchTransactionResult;
+import com.devsehyunjin.account.dto.CancelTransactionRequest;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.TransactionRepository;
+import com.devsehyunjin.account.repository.UserRepository;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "account.snapshot.cron=-",
+        "account.outbox.relay.enabled=false",
+        "account.concurrency.mode=optimistic"
+})
+@DisplayName("잔액 사용/취소 일괄 처리 테스트")
+class BatchTransactionServiceTest {
+
+    @Autowired
+    private TransactionFacade transactionFacade;
+
+    @Autowired
+    private BatchTransactionService batchTransactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    private User user;
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("일괄 처리 테스트"));
+        accountNumber = accountService.createAccount(new CreateAccountRequest(user.getId(), 1_000L))
+                .getAccountNumber();
+    }
+
+    @Test
+    @DisplayName("같은 계좌의 항목은 앞 항목의 차감을 반영한 잔액으로 검증한다")
+    void useBalances_RunningBalance() {
+        // when: 잔액 1,000원에 600원, 600원, 300원
+        BatchTransactionResponse response = transactionFacade.useBalances(new BatchTransactionRequest(List.of(
+                new TransactionRequest(user.getId(), accountNumber, 600L),
+                new TransactionRequest(user.getId(), accountNumber, 600L),
+                new TransactionRequest(user.getId(), accountNumber, 300L)), false));
+
+        // then
+        assertThat(response.getResults()).extracting(BatchTransactionResult::isSuccess).containsExactly(true, false, true);
+        assertThat(response.getResults().get(1).getErrorCode()).isEqualTo(ErrorCode.INSUFFICIENT_BALANCE.name());
+        assertThat(balance()).isEqualTo(100L);
+        assertThat(transactionCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("allOrNothing 이면 한 항목이 실패할 때 아무것도 반영하지 않는다")
+    void useBalances_AllOrNothing_RollsBack() {
+        // when
+        BatchTransactionResponse response = transactionFacade.useBalances(new BatchTransactionRequest(List.of(
+                new TransactionRequest(user.getId(), accountNumber, 300L),
+                new TransactionRequest(user.getId(), accountNumber, 0L),
+                new TransactionRequest(user.getId(), accountNumber, 300L)), true));
+
+        // then
+        assertThat(response.getSuccessCount()).isZero();
+        assertThat(response.getResults()).extracting(BatchTransactionResult::getErrorCode).containsExactly(
+                ErrorCode.BATCH_ROLLED_BACK.name(), ErrorCode.INVALID_AMOUNT.name(), ErrorCode.BATCH_ROLLED_BACK.name());
+        assertThat(balance()).isEqualTo(1_000L);
+        assertThat(transactionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 원거래를 여러 번 부분 취소하면 앞 항목의 취소액을 빼고 검증한다")
+    void cancelBalances_PartialCancelsOfSameOriginal() {
+        // given
+        TransactionResponse used = transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+
+        // when: 1,000원 사용 거래를 400원씩 세 번 취소
+        BatchTransactionResponse response = transactionFacade.cancelBalances(new BatchCancelTransactionRequest(List.of(
+                new CancelTransactionRequest(used.getTransactionId(), accountNumber, 400L),
+                new CancelTransactionRequest(used.getTransactionId(), accountNumber, 400L),
+                new CancelTransactionRequest(used.getTransactionId(), accountNumber, 400L)), false));
+
+        // then
+        assertThat(response.getResults()).extracting(BatchTransactionResult::isSuccess).containsExactly(true, true, false);
+        assertThat(response.getResults().get(2).getErrorCode()).isEqualTo(ErrorCode.CANCEL_AMOUNT_EXCEEDED.name());
+        assertThat(transactionRepository.findById(used.getTransactionId()).map(Transaction::getCancellableAmount))
+                .contains(200L);
+        assertThat(balance()).isEqualTo(800L);
+    }
+
+    @Test
+    @DisplayName("검증 뒤 다른 취소가 먼저 취소 가능 금액을 차감했으면 일괄 취소 전체를 롤백한다")
+    void cancelBalances_ConcurrentCancel_RollsBack() {
+        // given
+        TransactionResponse used = transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, 1_000L));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // when: 원거래를 읽은 뒤(영속성 컨텍스트에 남은 값으로 검증) 다른 취소가 먼저 전액을 차감
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            transactionRepository.findById(used.getTransactionId()).orElseThrow();
+            jdbcTemplate.update("update transaction set cancellable_amount = 0 where id = ?", used.getTransactionId());
+            batchTransactionService.cancelBalances(new BatchCancelTransactionRequest(List.of(
+                    new CancelTransactionRequest(used.getTransactionId(), accountNumber, 500L)), false));
+        })).hasMessage("취소 금액이 취소 가능 금액을 초과합니다.");
+
+        // then: 먼저 차감한 쪽도 같은 트랜잭션이라 함께 롤백되어 원래 상태
+        assertThat(transactionRepository.findById(used.getTransactionId()).map(Transaction::getCancellableAmount))
+                .contains(1_000L);
+        assertThat(balance()).isZero();
+        assertThat(transactionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("항목 수가 상한을 넘거나 항목이 비어 있으면 요청 검증에서 거절한다")
+    void batchRequest_Validation() {
+        List<TransactionRequest> tooMany = Collections.nCopies(BatchTransactionRequest.MAX_SIZE + 1,
+                new TransactionRequest(user.getId(), accountNumber, 1L));
+        List<CancelTransactionRequest> withNull = new ArrayList<>();
+        withNull.add(null);
+
+        assertThat(validator.validate(new BatchTransactionRequest(tooMany, false))).isNotEmpty();
+        assertThat(validator.validate(new BatchTransactionRequest(List.of(
+                new TransactionRequest(user.getId(), null, 1L)), false))).isNotEmpty();
+        assertThat(validator.validate(new BatchCancelTransactionRequest(withNull, false))).isNotEmpty();
+        assertThat(validator.validate(new BatchTransactionRequest(tooMany.subList(0, BatchTransactionRequest.MAX_SIZE),
+                false))).isEmpty();
+    }
+
+    private long balance() {
+        return accountRepository.findByAccountNumber(accountNumber).map(Account::getBalance).orElseThrow();
+    }
+
+    private long transactionCount() {
+        Long accountId = accountRepository.findByAccountNumber(accountNumber).map(Account::getId).orElseThrow();
+        return jdbcTemplate.queryForObject("select count(*) from transaction where account_id = ?", Long.class, accountId);
+    }
+}
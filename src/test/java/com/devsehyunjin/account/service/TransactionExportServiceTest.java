@@ -0,0 +1,92 @@
+package com.devsehyunjin.account.service;
+
+import com.devsehyunjin.account.domain.Account;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 500만 건 내보내기를 작은 힙(-Xmx192m)에서 실행해 메모리 사용량이 건수와 무관함을 확인.
+ * 데이터가 힙에 올라가지 않도록 파일 기반 H2를 사용한다.
+ * 실행: ./gradlew largeDataTest
+ */
+@Tag("large")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:${java.io.tmpdir}/account-export-test-${random.uuid};MODE=MySQL",
+        "spring.jpa.show-sql=false"
+})
+@DisplayName("TransactionExportService 대용량 테스트")
+class TransactionExportServiceTest {
+
+    private static final long ROWS = 5_000_000L;
+    private static final long CHUNK = 500_000L;
+    private static final long ID_OFFSET = 1_000_000_000L;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("500만 건을 작은 힙에서 NDJSON으로 내보낸다")
+    void export_FiveMillionRows() throws IOException {
+        // given
+        User user = userRepository.save(new User("내보내기 테스트"));
+        Account account = accountRepository.save(Account.createAccount("0000000001", user, 0L));
+        for (long start = 1; start <= ROWS; start += CHUNK) {
+            jdbcTemplate.update("insert into transaction (id, account_id, amount, transaction_type, transaction_result, transaction_date, " +
+                            "cancellable_amount) " +
+                            "select x + ?, ?, 1000, 'USE', 0, dateadd('MILLISECOND', x, timestamp '2025-01-01 00:00:00'), 1000 " +
+                            "from system_range(?, ?)",
+                    ID_OFFSET, account.getId(), start, start + CHUNK - 1);
+        }
+
+        // when
+        LineCountingOutputStream out = new LineCountingOutputStream();
+        long exported = transactionExportService.export(LocalDate.of(2025, 1, 1), TransactionExportService.Format.NDJSON, out);
+
+        // then
+        assertThat(exported).isEqualTo(ROWS);
+        assertThat(out.lines).isEqualTo(ROWS);
+    }
+
+    // 내용은 버리고 줄 수만 센다
+    private static class LineCountingOutputStream extends OutputStream {
+        long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
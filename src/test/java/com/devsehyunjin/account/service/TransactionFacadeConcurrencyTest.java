@@ -0,0 +1,193 @@
+package com.devsehyunjin.account.service;
+
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import redis.embedded.RedisServer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.data.redis.port=16379",
+        "account.lock.wait-time=30s"
+})
+@DisplayName("TransactionFacade 동시성 테스트")
+class TransactionFacadeConcurrencyTest {
+
+    private static final int THREAD_COUNT = 32;
+    private static final int REQUESTS_PER_THREAD = 20;
+    private static final long AMOUNT = 100L;
+
+    private static RedisServer redisServer;
+
+    @Autowired
+    private TransactionFacade transactionFacade;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(16379);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redisServer.stop();
+    }
+
+    @Test
+    @DisplayName("한 계좌에 동시에 잔액 사용 요청이 몰려도 잔액이 정확히 차감된다")
+    void useBalance_ConcurrentOnSingleAccount() throws InterruptedException {
+        // given
+        User user = userRepository.save(new User("동시성 테스트"));
+        long initialBalance = THREAD_COUNT * REQUESTS_PER_THREAD * AMOUNT;
+        String accountNumber = createAccount(user, initialBalance);
+
+        // when
+        AtomicInteger failures = runConcurrently(user, accountNumber, accountNumber);
+
+        // then
+        assertThat(failures.get()).isZero();
+        assertThat(accountRepository.findByAccountNumber(accountNumber).orElseThrow().getBalance())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("서로 다른 계좌는 락을 공유하지 않고 각각 정확히 차감된다")
+    void useBalance_ConcurrentOnDifferentAccounts() throws InterruptedException {
+        // given
+        User user = userRepository.save(new User("동시성 테스트"));
+        long initialBalance = THREAD_COUNT * REQUESTS_PER_THREAD * AMOUNT;
+        String first = createAccount(user, initialBalance);
+        String second = createAccount(user, initialBalance);
+
+        // when
+        AtomicInteger failures = runConcurrently(user, first, second);
+
+        // then
+        long expected = initialBalance - (THREAD_COUNT / 2) * REQUESTS_PER_THREAD * AMOUNT;
+        assertThat(failures.get()).isZero();
+        assertThat(accountRepository.findByAccountNumber(first).orElseThrow().getBalance()).isEqualTo(expected);
+        assertThat(accountRepository.findByAccountNumber(second).orElseThrow().getBalance()).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("더 새 펜싱 토큰으로 이미 쓴 계좌에는 오래된 토큰의 쓰기가 반영되지 않는다")
+    void useBalance_StaleFencingToken_Rejected() {
+        // given: 락이 만료된 사이 다음 보유자가 훨씬 큰 토큰으로 계좌를 쓴 상태
+        User user = userRepository.save(new User("펜싱 테스트"));
+        String accountNumber = createAccount(user, 10_000L);
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, AMOUNT));
+        jdbcTemplate.update("update account set fence_token = fence_token + 1000 where account_number = ?", accountNumber);
+
+        // when & then
+        assertThatThrownBy(() -> transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, AMOUNT)))
+                .hasMessage("계좌 락 보유 시간이 만료되었습니다. 다시 시도해주세요.");
+        assertThat(accountRepository.findByAccountNumber(accountNumber).orElseThrow().getBalance())
+                .isEqualTo(10_000L - AMOUNT);
+
+        // 거절하면서 카운터를 DB 토큰까지 올렸으므로 다음 요청은 통과
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, AMOUNT));
+        assertThat(accountRepository.findByAccountNumber(accountNumber).orElseThrow().getBalance())
+                .isEqualTo(10_000L - 2 * AMOUNT);
+    }
+
+    @Test
+    @DisplayName("Redis 펜싱 카운터가 사라져도 DB 에 기록된 토큰 다음 값부터 발급한다")
+    void useBalance_FenceCounterLost_SeededFromAccount() {
+        // given: 계좌에 큰 토큰이 기록된 뒤 Redis 카운터가 사라진 상태 (재시작, 장애 조치, eviction)
+        User user = userRepository.save(new User("펜싱 테스트"));
+        String accountNumber = createAccount(user, 10_000L);
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, AMOUNT));
+        jdbcTemplate.update("update account set fence_token = 1000000 where account_number = ?", accountNumber);
+        redisTemplate.delete("account:lock:fence:{" + accountNumber + "}");
+
+        // when
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, AMOUNT));
+
+        // then
+        assertThat(accountRepository.findByAccountNumber(accountNumber).orElseThrow().getFenceToken()).isEqualTo(1_000_001L);
+        assertThat(accountRepository.findByAccountNumber(accountNumber).orElseThrow().getBalance())
+                .isEqualTo(10_000L - 2 * AMOUNT);
+    }
+
+    @Test
+    @DisplayName("잔액을 바꾼 계좌에는 마지막 락 보유자의 펜싱 토큰이 기록된다")
+    void useBalance_RecordsFencingToken() {
+        // given
+        User user = userRepository.save(new User("펜싱 테스트"));
+        String accountNumber = createAccount(user, 10_000L);
+
+        // when
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, AMOUNT));
+        long first = accountRepository.findByAccountNumber(accountNumber).orElseThrow().getFenceToken();
+        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, AMOUNT));
+
+        // then
+        assertThat(first).isPositive();
+        assertThat(accountRepository.findByAccountNumber(accountNumber).orElseThrow().getFenceToken()).isGreaterThan(first);
+    }
+
+    private String createAccount(User user, long initialBalance) {
+        return accountService.createAccount(new CreateAccountRequest(user.getId(), initialBalance))
+                .getAccountNumber();
+    }
+
+    // 짝수 스레드는 first, 홀수 스레드는 second 계좌에 요청
+    private AtomicInteger runConcurrently(User user, String first, String second) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            String accountNumber = (i % 2 == 0) ? first : second;
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                    try {
+                        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, AMOUNT));
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        return failures;
+    }
+}
@@ -0,0 +1,115 @@
+package com.devsehyunjin.account.service;
+
+import com.devsehyunjin.account.domain.Account;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.domain.enums.TransactionType;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.exception.AccountException;
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.TransactionRepository;
+import com.devsehyunjin.account.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "account.snapshot.cron=-",
+        "account.concurrency.mode=optimistic",
+        "account.concurrency.retry.max-attempts=50"
+})
+@DisplayName("TransactionFacade 낙관적 락 동시성 테스트")
+class TransactionFacadeOptimisticConcurrencyTest {
+
+    private static final int THREAD_COUNT = 16;
+    private static final int REQUESTS_PER_THREAD = 20;
+    private static final long AMOUNT = 100L;
+
+    @Autowired
+    private TransactionFacade transactionFacade;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("락 없이 한 계좌에 요청이 몰려도 잔액이 보존되고 충돌은 재시도로 해소된다")
+    void useBalance_BalanceConserved() throws InterruptedException {
+        // given: 전체 요청의 절반만 성공할 수 있는 잔액
+        User user = userRepository.save(new User("낙관적 락 테스트"));
+        long initialBalance = THREAD_COUNT * REQUESTS_PER_THREAD * AMOUNT / 2;
+        String accountNumber = accountService.createAccount(new CreateAccountRequest(user.getId(), initialBalance))
+                .getAccountNumber();
+        double conflictsBefore = conflicts();
+
+        // when
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger insufficient = new AtomicInteger();
+        AtomicInteger otherFailures = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                    try {
+                        transactionFacade.useBalance(new TransactionRequest(user.getId(), accountNumber, AMOUNT));
+                        successes.incrementAndGet();
+                    } catch (AccountException e) {
+                        if (e.getErrorCode() == ErrorCode.INSUFFICIENT_BALANCE) {
+                            insufficient.incrementAndGet();
+                        } else {
+                            otherFailures.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+
+        // then: 성공한 거래만큼만 차감되고, 잃어버린 갱신 없이 잔액을 정확히 소진한다
+        Account account = accountRepository.findByAccountNumber(accountNumber).orElseThrow();
+        long recordedDelta = transactionRepository.sumBalanceDelta(account.getId(), TransactionType.USE,
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
+
+        assertThat(otherFailures.get()).isZero();
+        assertThat(successes.get()).isEqualTo(THREAD_COUNT * REQUESTS_PER_THREAD / 2);
+        assertThat(successes.get() + insufficient.get()).isEqualTo(THREAD_COUNT * REQUESTS_PER_THREAD);
+        assertThat(account.getBalance()).isEqualTo(initialBalance - successes.get() * AMOUNT).isZero();
+        assertThat(recordedDelta).isEqualTo(-successes.get() * AMOUNT);
+        assertThat(account.getVersion()).isEqualTo((long) successes.get());
+        assertThat(conflicts()).isGreaterThan(conflictsBefore);
+    }
+
+    private double conflicts() {
+        Counter counter = meterRegistry.find("account.optimistic.conflicts").tag("operation", "useBalance").counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -0,0 +1,185 @@
+package com.devsehyunjin.account.shard;
+
+import com.devsehyunjin.account.domain.Account;
+import com.devsehyunjin.account.domain.User;
+import com.devsehyunjin.account.dto.BatchTransactionRequest;
+import com.devsehyunjin.account.dto.BatchTransactionResponse;
+import com.devsehyunjin.account.dto.CheckAccountResponse;
+import com.devsehyunjin.account.dto.CreateAccountRequest;
+import com.devsehyunjin.account.dto.TransactionRequest;
+import com.devsehyunjin.account.dto.TransactionResponse;
+import com.devsehyunjin.account.exception.AccountException;
+import com.devsehyunjin.account.exception.ErrorCode;
+import com.devsehyunjin.account.repository.AccountRepository;
+import com.devsehyunjin.account.repository.TransactionRepository;
+import com.devsehyunjin.account.repository.UserRepository;
+import com.devsehyunjin.account.service.AccountService;
+import com.devsehyunjin.account.service.TransactionFacade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "account.snapshot.cron=-",
+        "account.outbox.relay.enabled=false",
+        "account.concurrency.mode=optimistic",
+        "account.sharding.shard-urls=jdbc:h2:mem:accountdb_shard1;MODE=MySQL;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:accountdb_shard2;MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+@DisplayName("계좌 샤딩 테스트")
+class ShardRoutingTest {
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionFacade transactionFacade;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("계좌는 계좌번호 해시가 가리키는 샤드에만 저장되고, 사용자 계좌 조회와 한도 검사는 모든 샤드를 합친다")
+    void createAccount_RoutedByAccountNumber() {
+        // given
+        assertThat(shardRouter.getShardCount()).isEqualTo(3);
+        User user = userRepository.save(new User("샤딩 테스트"));
+
+        // when
+        List<String> accountNumbers = createAccounts(user, 10);
+
+        // then
+        for (String accountNumber : accountNumbers) {
+            int shard = shardRouter.shardOf(accountNumber);
+            for (int other = 0; other < shardRouter.getShardCount(); other++) {
+                Optional<Account> found = shardRouter.callOnShard(other, () -> accountRepository.findByAccountNumber(accountNumber));
+                assertThat(found.isPresent()).isEqualTo(other == shard);
+            }
+        }
+        assertThat(accountService.getUserAccounts(user.getId()))
+                .extracting(CheckAccountResponse::getAccountNumber)
+                .containsExactlyInAnyOrderElementsOf(accountNumbers);
+        assertThatThrownBy(() -> accountService.createAccount(new CreateAccountRequest(user.getId(), 0L)))
+                .isInstanceOf(AccountException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.ACCOUNT_LIMIT_EXCEEDED);
+    }
+
+    @Test
+    @DisplayName("같은 사용자가 여러 샤드에 동시에 계좌를 만들어도 10개까지만 만들어진다")
+    void createAccount_ConcurrentLimit() throws InterruptedException {
+        // given
+        User user = userRepository.save(new User("동시 계좌 생성 테스트"));
+        int threads = 30;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                try {
+                    accountService.createAccount(new CreateAccountRequest(user.getId(), 0L));
+                    created.incrementAndGet();
+                } catch (AccountException e) {
+                    if (e.getErrorCode() == ErrorCode.ACCOUNT_LIMIT_EXCEEDED) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        // then
+        assertThat(created.get()).isEqualTo(User.MAX_ACCOUNT_COUNT);
+        assertThat(rejected.get()).isEqualTo(threads - User.MAX_ACCOUNT_COUNT);
+        assertThat(accountService.getUserAccounts(user.getId())).hasSize(User.MAX_ACCOUNT_COUNT);
+        assertThat(userRepository.findById(user.getId()).map(User::getAccountCount)).contains(User.MAX_ACCOUNT_COUNT);
+    }
+
+    @Test
+    @DisplayName("거래는 계좌와 같은 샤드에 저장되고, 거래 ID 로 조회하면 모든 샤드에서 찾는다")
+    void useBalance_StoredOnAccountShard() {
+        // given
+        User user = userRepository.save(new User("샤딩 거래 테스트"));
+        List<String> accountNumbers = createAccounts(user, 6);
+
+        for (String accountNumber : accountNumbers) {
+            // when
+            TransactionResponse response = transactionFacade.useBalance(
+                    new TransactionRequest(user.getId(), accountNumber, 1_000L));
+
+            // then
+            int shard = shardRouter.shardOf(accountNumber);
+            assertThat(shardRouter.callOnShard(shard, () -> transactionRepository.existsById(response.getTransactionId())))
+                    .isTrue();
+            assertThat(shardRouter.callOnShard(shard, () -> accountRepository.findByAccountNumber(accountNumber))
+                    .orElseThrow().getBalance()).isEqualTo(9_000L);
+            assertThat(accountService.getTransaction(response.getTransactionId()).getAccountNumber())
+                    .isEqualTo(accountNumber);
+        }
+    }
+
+    @Test
+    @DisplayName("여러 샤드에 걸친 일괄 처리는 건별로 처리하고, 전체 롤백 요청은 거절한다")
+    void useBalances_CrossShard() {
+        // given: 서로 다른 샤드의 계좌 두 개
+        User user = userRepository.save(new User("샤딩 일괄 테스트"));
+        List<String> accountNumbers = createAccounts(user, 10);
+        String first = accountNumbers.get(0);
+        String second = accountNumbers.stream()
+                .filter(number -> shardRouter.shardOf(number) != shardRouter.shardOf(first))
+                .findFirst()
+                .orElseThrow();
+        List<TransactionRequest> requests = List.of(
+                new TransactionRequest(user.getId(), first, 1_000L),
+                new TransactionRequest(user.getId(), second, 20_000L));
+
+        // when
+        BatchTransactionResponse response = transactionFacade.useBalances(new BatchTransactionRequest(requests, false));
+
+        // then
+        assertThat(response.getSuccessCount()).isEqualTo(1);
+        assertThat(response.getResults().get(1).getErrorCode()).isEqualTo(ErrorCode.INSUFFICIENT_BALANCE.name());
+        assertThatThrownBy(() -> transactionFacade.useBalances(new BatchTransactionRequest(requests, true)))
+                .isInstanceOf(AccountException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.BATCH_CROSS_SHARD_ALL_OR_NOTHING);
+    }
+
+    private List<String> createAccounts(User user, int count) {
+        List<String> accountNumbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accountNumbers.add(accountService.createAccount(new CreateAccountRequest(user.getId(), 10_000L))
+                    .getAccountNumber());
+        }
+        return accountNumbers;
+    }
+}
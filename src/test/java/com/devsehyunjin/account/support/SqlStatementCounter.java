@@ -0,0 +1,30 @@
+package com.devsehyunjin.account.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hibernate 가 실행하는 SQL 문 수를 세는 테스트용 StatementInspector.
+ * 시퀀스 조회(next value for)는 allocationSize 에 따라 가끔만 실행되므로 세지 않는다.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final AtomicInteger COUNT = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        if (!sql.toLowerCase().contains("next value for")) {
+            COUNT.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    public static int count() {
+        return COUNT.get();
+    }
+}